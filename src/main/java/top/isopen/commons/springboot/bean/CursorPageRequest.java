@@ -0,0 +1,28 @@
+package top.isopen.commons.springboot.bean;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+/**
+ * 游标分页请求体
+ * <p>
+ * cursor 为上一页响应中的 {@link CursorPageResponse#getNext()}，为空时查询第一页
+ *
+ * @author TimeChaser
+ * @version 1.0
+ * @since 2026/10/18 00:40
+ */
+@Data
+@EqualsAndHashCode(callSuper = true)
+@AllArgsConstructor
+@NoArgsConstructor
+public class CursorPageRequest extends BaseRequest {
+
+    private static final long serialVersionUID = 5280311760733284571L;
+
+    private String cursor;
+    private Integer size;
+
+}
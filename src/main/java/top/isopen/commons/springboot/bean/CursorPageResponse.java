@@ -0,0 +1,37 @@
+package top.isopen.commons.springboot.bean;
+
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+import java.util.List;
+
+/**
+ * 游标分页响应体
+ * <p>
+ * 不统计总数；next 为查询下一页的游标，没有下一页时为 null
+ *
+ * @author TimeChaser
+ * @version 1.0
+ * @since 2026/10/18 00:40
+ */
+@Data
+@EqualsAndHashCode(callSuper = true)
+public class CursorPageResponse<T> extends BaseResponse {
+
+    private static final long serialVersionUID = -1905236147716905934L;
+
+    private String next;
+    private Long size;
+    private Boolean hasNext;
+    private List<T> data;
+
+    public static <T> CursorPageResponse<T> of(String next, Long size, Boolean hasNext, List<T> data) {
+        CursorPageResponse<T> cursorPageResponse = new CursorPageResponse<>();
+        cursorPageResponse.setNext(next);
+        cursorPageResponse.setSize(size);
+        cursorPageResponse.setHasNext(hasNext);
+        cursorPageResponse.setData(data);
+        return cursorPageResponse;
+    }
+
+}
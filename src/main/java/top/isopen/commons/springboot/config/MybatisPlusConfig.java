@@ -3,20 +3,28 @@ package top.isopen.commons.springboot.config;
 import com.baomidou.mybatisplus.annotation.DbType;
 import com.baomidou.mybatisplus.extension.plugins.MybatisPlusInterceptor;
 import com.baomidou.mybatisplus.extension.plugins.inner.PaginationInnerInterceptor;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import top.isopen.commons.springboot.repository.support.QueryPlanCache;
 
 /**
  * MybatisPlus 配置类
  * <p>
- * 用于注册 分页器 {@link MybatisPlusInterceptor}
+ * 用于注册 分页器 {@link MybatisPlusInterceptor}、按配置创建的查询计划缓存 {@link QueryPlanCache}（注入每个 Repository）
  *
  * @author TimeChaser
  * @version 1.0
  * @since 2023/7/7 17:02
  */
 @Configuration(proxyBeanMethods = false)
+@EnableConfigurationProperties({RepositoryProperties.class})
 public class MybatisPlusConfig {
 
     @Bean
@@ -27,4 +35,43 @@ public class MybatisPlusConfig {
         return mybatisPlusInterceptor;
     }
 
+    @Bean
+    @ConditionalOnMissingBean({QueryPlanCache.class})
+    public QueryPlanCache queryPlanCache(RepositoryProperties repositoryProperties) {
+        RepositoryProperties.PlanCache planCache = repositoryProperties.getPlanCache();
+        QueryPlanCache queryPlanCache = new QueryPlanCache(planCache.getMaximumSize());
+        queryPlanCache.setEnabled(planCache.isEnabled());
+        return queryPlanCache;
+    }
+
+    /**
+     * 查询计划缓存指标配置
+     * <p>
+     * 仅在 classpath 中存在 Micrometer 时生效：
+     * <ul>
+     *     <li>cache.gets、cache.size、cache.evictions 等：Caffeine 缓存指标，cache 标签为 commons.repository.query.plan</li>
+     *     <li>commons.repository.query.plan.hit.ratio：查询计划的命中率</li>
+     * </ul>
+     *
+     * @author TimeChaser
+     * @since 2026/10/18 00:10
+     */
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass({MeterRegistry.class})
+    static class QueryPlanMetricsConfig {
+
+        private static final String CACHE_NAME = "commons.repository.query.plan";
+
+        @Bean
+        public MeterBinder queryPlanCacheMetrics(QueryPlanCache queryPlanCache) {
+            return registry -> {
+                CaffeineCacheMetrics.monitor(registry, queryPlanCache.getCache(), CACHE_NAME);
+                Gauge.builder(CACHE_NAME + ".hit.ratio", queryPlanCache, QueryPlanCache::hitRate)
+                        .description("hit ratio of the query plan cache")
+                        .register(registry);
+            };
+        }
+
+    }
+
 }
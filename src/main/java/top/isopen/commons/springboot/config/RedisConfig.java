@@ -1,78 +1,363 @@
 package top.isopen.commons.springboot.config;
 
-import com.fasterxml.jackson.annotation.JsonAutoDetect;
-import com.fasterxml.jackson.annotation.JsonTypeInfo;
-import com.fasterxml.jackson.annotation.PropertyAccessor;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.jsontype.impl.LaissezFaireSubTypeValidator;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.redisson.api.RedissonClient;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.ReactiveRedisConnectionFactory;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
 import org.springframework.data.redis.core.RedisTemplate;
-import org.springframework.data.redis.serializer.Jackson2JsonRedisSerializer;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.serializer.RedisSerializationContext;
+import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
+import org.springframework.util.ClassUtils;
+import reactor.core.publisher.Flux;
+import top.isopen.commons.springboot.enums.RedisValueCodecEnum;
+import top.isopen.commons.springboot.enums.RedisValueCompressorEnum;
+import top.isopen.commons.springboot.helper.ReactiveRedisHelper;
 import top.isopen.commons.springboot.helper.RedisHelper;
+import top.isopen.commons.springboot.helper.RedisLockNotifier;
+import top.isopen.commons.springboot.helper.RedisLockWaitStrategy;
+import top.isopen.commons.springboot.helper.RedisNearCache;
+import top.isopen.commons.springboot.helper.RedisScriptRegistry;
+import top.isopen.commons.springboot.helper.codec.*;
+import top.isopen.commons.springboot.lock.AbstractRedLockAspect;
+import top.isopen.commons.springboot.lock.LockMetrics;
+import top.isopen.commons.springboot.lock.MicrometerLockMetrics;
 import top.isopen.commons.springboot.lock.RedLockAspect;
+import top.isopen.commons.springboot.lock.RedLockEndpoint;
+import top.isopen.commons.springboot.lock.RedLockObserver;
 import top.isopen.commons.springboot.lock.RedLocksAspect;
+import top.isopen.commons.springboot.lock.RedReadWriteLockAspect;
+import top.isopen.commons.springboot.lock.RedSemaphoreAspect;
+import top.isopen.commons.springboot.lock.SingleFlightAspect;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.stream.Collectors;
 
 /**
  * Redis 配置类
  * <p>
- * 用于注册 Redis 工具类 {@link RedisHelper}、Redis 分布式锁 {@link RedLockAspect} {@link RedLocksAspect}
+ * 用于注册 Redis 工具类 {@link RedisHelper} {@link ReactiveRedisHelper} {@link RedisNearCache}、Redis 分布式锁 {@link RedLockAspect} {@link RedLocksAspect} {@link RedReadWriteLockAspect}、Redis 分布式信号量 {@link RedSemaphoreAspect}、合并重复调用 {@link SingleFlightAspect}、分布式锁的观测 {@link RedLockObserver} {@link RedLockEndpoint}
  *
  * @author TimeChaser
  * @version 1.0
  * @since 2023/7/7 17:03
  */
 @Configuration(proxyBeanMethods = false)
+@EnableConfigurationProperties({RedisValueProperties.class, RedisLockProperties.class, RedisNearCacheProperties.class})
 public class RedisConfig {
 
+    @Bean
+    @ConditionalOnMissingBean({RedisValueCodec.class})
+    public RedisValueCodec redisValueCodec(RedisValueProperties redisValueProperties) {
+        return createCodec(redisValueProperties.getCodec(), redisValueProperties);
+    }
+
+    /**
+     * value 序列化器
+     * <p>
+     * {@link RedisTemplate} 与 {@link ReactiveRedisTemplate} 共用，保证两者读写的数据可以互通
+     */
+    @Bean
+    @ConditionalOnMissingBean({RedisValueSerializer.class})
+    public RedisValueSerializer redisValueSerializer(RedisValueCodec redisValueCodec, RedisValueProperties redisValueProperties) {
+        List<RedisValueCodec> fallbackReaders = new ArrayList<>();
+        if (redisValueProperties.isMigration()) {
+            for (RedisValueCodecEnum codec : RedisValueCodecEnum.values()) {
+                if (codec != redisValueProperties.getCodec()) {
+                    fallbackReaders.add(createCodec(codec, redisValueProperties));
+                }
+            }
+        }
+        return new RedisValueSerializer(redisValueCodec, fallbackReaders, createCompression(redisValueProperties));
+    }
+
     @Bean
     @ConditionalOnBean({RedisConnectionFactory.class})
     @ConditionalOnMissingBean(name = "serializedRedisTemplate")
-    public RedisTemplate<String, Object> serializedRedisTemplate(RedisConnectionFactory redisConnectionFactory) {
+    public RedisTemplate<String, Object> serializedRedisTemplate(RedisConnectionFactory redisConnectionFactory,
+                                                                 RedisValueSerializer redisValueSerializer) {
         RedisTemplate<String, Object> redisTemplate = new RedisTemplate<>();
         redisTemplate.setConnectionFactory(redisConnectionFactory);
 
-        /*使用 Jackson2JsonRedisSerialize 替换默认序列化*/
-        Jackson2JsonRedisSerializer<Object> jackson2JsonRedisSerializer = new Jackson2JsonRedisSerializer<>(Object.class);
-        /*JSON 转对象类，不设置，默认的会将 JSON 转成 HashMap*/
-        ObjectMapper mapper = new ObjectMapper();
-        mapper.setVisibility(PropertyAccessor.ALL, JsonAutoDetect.Visibility.ANY);
-        mapper.activateDefaultTyping(LaissezFaireSubTypeValidator.instance,
-                ObjectMapper.DefaultTyping.NON_FINAL,
-                JsonTypeInfo.As.WRAPPER_ARRAY);
-        jackson2JsonRedisSerializer.setObjectMapper(mapper);
-
         /*设置 key 和 value 的序列化器*/
         redisTemplate.setKeySerializer(new StringRedisSerializer());
-        redisTemplate.setValueSerializer(jackson2JsonRedisSerializer);
+        redisTemplate.setValueSerializer(redisValueSerializer);
         redisTemplate.afterPropertiesSet();
         return redisTemplate;
     }
 
+    @Bean
+    @ConditionalOnBean(name = "serializedRedisTemplate")
+    @ConditionalOnMissingBean({RedisScriptRegistry.class})
+    public RedisScriptRegistry redisScriptRegistry(RedisTemplate<String, Object> serializedRedisTemplate) {
+        return new RedisScriptRegistry(serializedRedisTemplate);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "commons.redis.lock.notification", name = "enabled", havingValue = "true")
+    @ConditionalOnMissingBean({RedisLockNotifier.class})
+    public RedisLockNotifier redisLockNotifier(RedisLockProperties redisLockProperties) {
+        return new RedisLockNotifier(redisLockProperties.getNotification().getChannel());
+    }
+
+    /**
+     * 订阅锁释放通知
+     */
+    @Bean
+    @ConditionalOnBean({RedisLockNotifier.class, RedisConnectionFactory.class})
+    @ConditionalOnMissingBean(name = "redisLockListenerContainer")
+    public RedisMessageListenerContainer redisLockListenerContainer(RedisConnectionFactory redisConnectionFactory,
+                                                                    RedisLockNotifier redisLockNotifier) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(redisConnectionFactory);
+        container.addMessageListener(redisLockNotifier, new ChannelTopic(redisLockNotifier.getChannel()));
+        return container;
+    }
+
+    @Bean
+    @ConditionalOnMissingBean({RedisLockWaitStrategy.class})
+    public RedisLockWaitStrategy redisLockWaitStrategy(RedisLockProperties redisLockProperties,
+                                                       ObjectProvider<RedisLockNotifier> redisLockNotifier) {
+        return new RedisLockWaitStrategy(redisLockProperties.getInitialBackoffMillis(),
+                redisLockProperties.getMaxBackoffMillis(),
+                redisLockNotifier.getIfAvailable());
+    }
+
     @Bean
     @ConditionalOnBean(name = "serializedRedisTemplate")
     @ConditionalOnMissingBean({RedisHelper.class})
-    public RedisHelper redisHelper(RedisTemplate<String, Object> serializedRedisTemplate) {
-        return new RedisHelper(serializedRedisTemplate);
+    public RedisHelper redisHelper(RedisTemplate<String, Object> serializedRedisTemplate,
+                                   RedisScriptRegistry redisScriptRegistry,
+                                   RedisLockWaitStrategy redisLockWaitStrategy) {
+        return new RedisHelper(serializedRedisTemplate, redisScriptRegistry, redisLockWaitStrategy);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean({RedLockObserver.class})
+    public RedLockObserver redLockObserver(RedisLockProperties redisLockProperties,
+                                           ObjectProvider<LockMetrics> lockMetrics) {
+        RedisLockProperties.Observation observation = redisLockProperties.getObservation();
+        return new RedLockObserver(lockMetrics.getIfAvailable(() -> LockMetrics.NOOP),
+                observation.getLogSampleRate(),
+                observation.getContendedThresholdMillis(),
+                observation.getContentionSampleRate(),
+                observation.getContentionCapacity());
+    }
+
+    /**
+     * 锁注解异步加锁（方法返回 CompletableFuture）成功后调用方法的线程池，可注册同名 bean 替换
+     */
+    @Bean
+    @ConditionalOnBean({RedissonClient.class})
+    @ConditionalOnMissingBean(name = "redLockAsyncExecutor")
+    public ExecutorService redLockAsyncExecutor(RedisLockProperties redisLockProperties) {
+        RedisLockProperties.Async async = redisLockProperties.getAsync();
+        return AbstractRedLockAspect.newAsyncExecutor(async.getPoolSize(), async.getQueueCapacity());
     }
 
     @Bean
     @ConditionalOnBean({RedissonClient.class})
     @ConditionalOnMissingBean({RedLockAspect.class})
-    public RedLockAspect redLockAspect(RedissonClient redissonClient) {
-        return new RedLockAspect(redissonClient);
+    public RedLockAspect redLockAspect(RedissonClient redissonClient, RedLockObserver redLockObserver,
+                                       @Qualifier("redLockAsyncExecutor") Executor redLockAsyncExecutor) {
+        return new RedLockAspect(redissonClient, redLockObserver, redLockAsyncExecutor);
     }
 
     @Bean
     @ConditionalOnBean({RedissonClient.class})
     @ConditionalOnMissingBean({RedLocksAspect.class})
-    public RedLocksAspect redLocksAspect(RedissonClient redissonClient) {
-        return new RedLocksAspect(redissonClient);
+    public RedLocksAspect redLocksAspect(RedissonClient redissonClient, RedLockObserver redLockObserver,
+                                         @Qualifier("redLockAsyncExecutor") Executor redLockAsyncExecutor,
+                                         RedisLockWaitStrategy redisLockWaitStrategy) {
+        return new RedLocksAspect(redissonClient, redLockObserver, redLockAsyncExecutor, redisLockWaitStrategy);
+    }
+
+    @Bean
+    @ConditionalOnBean({RedissonClient.class})
+    @ConditionalOnMissingBean({RedReadWriteLockAspect.class})
+    public RedReadWriteLockAspect redReadWriteLockAspect(RedissonClient redissonClient, RedLockObserver redLockObserver,
+                                                         @Qualifier("redLockAsyncExecutor") Executor redLockAsyncExecutor) {
+        return new RedReadWriteLockAspect(redissonClient, redLockObserver, redLockAsyncExecutor);
+    }
+
+    @Bean
+    @ConditionalOnBean({RedissonClient.class})
+    @ConditionalOnMissingBean({RedSemaphoreAspect.class})
+    public RedSemaphoreAspect redSemaphoreAspect(RedissonClient redissonClient, RedLockObserver redLockObserver,
+                                                 @Qualifier("redLockAsyncExecutor") Executor redLockAsyncExecutor,
+                                                 RedisLockProperties redisLockProperties) {
+        return new RedSemaphoreAspect(redissonClient, redLockObserver, redLockAsyncExecutor,
+                redisLockProperties.getObservation().getPermitsRefreshMillis());
+    }
+
+    @Bean
+    @ConditionalOnBean({RedissonClient.class})
+    @ConditionalOnMissingBean({SingleFlightAspect.class})
+    public SingleFlightAspect singleFlightAspect(RedissonClient redissonClient) {
+        return new SingleFlightAspect(redissonClient);
+    }
+
+    private static RedisValueCodec createCodec(RedisValueCodecEnum codec, RedisValueProperties redisValueProperties) {
+        if (codec == RedisValueCodecEnum.SMILE) {
+            Map<String, Class<?>> typeAliases = new LinkedHashMap<>();
+            redisValueProperties.getTypeAliases().forEach((alias, className) ->
+                    typeAliases.put(alias, ClassUtils.resolveClassName(className, RedisConfig.class.getClassLoader())));
+            return new SmileRedisValueCodec(typeAliases);
+        }
+        return new JsonRedisValueCodec();
+    }
+
+    private static RedisValueCompression createCompression(RedisValueProperties redisValueProperties) {
+        RedisValueProperties.Compression compression = redisValueProperties.getCompression();
+        if (!compression.isEnabled() && !redisValueProperties.isMigration()) {
+            return null;
+        }
+        RedisValueCompressor lz4 = new Lz4RedisValueCompressor();
+        RedisValueCompressor deflate = new DeflateRedisValueCompressor();
+        RedisValueCompressor writer = null;
+        if (compression.isEnabled()) {
+            writer = compression.getAlgorithm() == RedisValueCompressorEnum.DEFLATE ? deflate : lz4;
+        }
+        return new RedisValueCompression(writer, compression.getThreshold(), lz4, deflate);
+    }
+
+    /**
+     * Redis 近端缓存配置
+     * <p>
+     * 仅在 classpath 中存在 Caffeine 且开启了 commons.redis.near-cache.enabled 时生效，用于注册 {@link RedisNearCache}
+     *
+     * @author TimeChaser
+     * @since 2026/10/17 18:04
+     */
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass({Caffeine.class})
+    @ConditionalOnProperty(prefix = "commons.redis.near-cache", name = "enabled", havingValue = "true")
+    static class RedisNearCacheConfig {
+
+        @Bean
+        @ConditionalOnMissingBean({RedisNearCache.class})
+        public RedisNearCache redisNearCache(RedisHelper redisHelper,
+                                             RedisTemplate<String, Object> serializedRedisTemplate,
+                                             RedisNearCacheProperties redisNearCacheProperties) {
+            return new RedisNearCache(redisHelper, serializedRedisTemplate,
+                    redisNearCacheProperties.getMaximumSize(),
+                    redisNearCacheProperties.getTtl(),
+                    redisNearCacheProperties.getChannel());
+        }
+
+        /**
+         * 订阅近端缓存失效通知
+         */
+        @Bean
+        @ConditionalOnBean({RedisNearCache.class, RedisConnectionFactory.class})
+        @ConditionalOnMissingBean(name = "redisNearCacheListenerContainer")
+        public RedisMessageListenerContainer redisNearCacheListenerContainer(RedisConnectionFactory redisConnectionFactory,
+                                                                             RedisNearCache redisNearCache) {
+            RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+            container.setConnectionFactory(redisConnectionFactory);
+            container.addMessageListener(redisNearCache, new ChannelTopic(redisNearCache.getChannel()));
+            return container;
+        }
+
+    }
+
+    /**
+     * 分布式锁指标配置
+     * <p>
+     * 仅在 classpath 中存在 Micrometer 时生效，用于注册 {@link MicrometerLockMetrics}
+     *
+     * @author TimeChaser
+     * @since 2026/10/17 22:50
+     */
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass({MeterRegistry.class})
+    static class RedLockMetricsConfig {
+
+        @Bean
+        @ConditionalOnMissingBean({LockMetrics.class})
+        public MicrometerLockMetrics micrometerLockMetrics(ObjectProvider<RedLockObserver> redLockObserver) {
+            return new MicrometerLockMetrics(redLockObserver::getObject);
+        }
+
+    }
+
+    /**
+     * 分布式锁 actuator 端点配置
+     * <p>
+     * 仅在 classpath 中存在 spring-boot-actuator 时生效，用于注册 {@link RedLockEndpoint}
+     *
+     * @author TimeChaser
+     * @since 2026/10/17 22:50
+     */
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass({Endpoint.class})
+    static class RedLockEndpointConfig {
+
+        @Bean
+        @ConditionalOnMissingBean({RedLockEndpoint.class})
+        public RedLockEndpoint redLockEndpoint(RedLockObserver redLockObserver,
+                                               ObjectProvider<AbstractRedLockAspect> redLockAspects,
+                                               ObjectProvider<RedSemaphoreAspect> redSemaphoreAspects) {
+            return new RedLockEndpoint(redLockObserver,
+                    redLockAspects.orderedStream().collect(Collectors.toList()),
+                    redSemaphoreAspects.orderedStream().collect(Collectors.toList()));
+        }
+
+    }
+
+    /**
+     * 响应式 Redis 配置
+     * <p>
+     * 仅在 classpath 中存在 Reactor 时生效，用于注册 {@link ReactiveRedisHelper}
+     *
+     * @author TimeChaser
+     * @since 2026/10/17 11:40
+     */
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass({ReactiveRedisTemplate.class, Flux.class})
+    static class ReactiveRedisConfig {
+
+        @Bean
+        @ConditionalOnBean({ReactiveRedisConnectionFactory.class})
+        @ConditionalOnMissingBean(name = "serializedReactiveRedisTemplate")
+        public ReactiveRedisTemplate<String, Object> serializedReactiveRedisTemplate(ReactiveRedisConnectionFactory reactiveRedisConnectionFactory,
+                                                                                   RedisValueSerializer redisValueSerializer) {
+            /*hash 的序列化器与 RedisTemplate 的默认值（JDK 序列化）保持一致*/
+            RedisSerializationContext<String, Object> serializationContext = RedisSerializationContext
+                    .<String, Object>newSerializationContext(RedisSerializer.java())
+                    .key(StringRedisSerializer.UTF_8)
+                    .value(redisValueSerializer)
+                    .build();
+            return new ReactiveRedisTemplate<>(reactiveRedisConnectionFactory, serializationContext);
+        }
+
+        @Bean
+        @ConditionalOnBean(name = "serializedReactiveRedisTemplate")
+        @ConditionalOnMissingBean({ReactiveRedisHelper.class})
+        public ReactiveRedisHelper reactiveRedisHelper(ReactiveRedisTemplate<String, Object> serializedReactiveRedisTemplate,
+                                                       RedisLockWaitStrategy redisLockWaitStrategy) {
+            return new ReactiveRedisHelper(serializedReactiveRedisTemplate, redisLockWaitStrategy.getNotifier());
+        }
+
     }
 
 }
@@ -0,0 +1,119 @@
+package top.isopen.commons.springboot.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import top.isopen.commons.springboot.helper.RedisLockNotifier;
+import top.isopen.commons.springboot.helper.RedisLockWaitStrategy;
+import top.isopen.commons.springboot.lock.AbstractRedLockAspect;
+import top.isopen.commons.springboot.lock.RedLockObserver;
+import top.isopen.commons.springboot.lock.RedSemaphoreAspect;
+
+/**
+ * Redis 分布式锁（{@link top.isopen.commons.springboot.helper.RedisHelper#getLockUntilTimeout}、锁注解的观测 {@link RedLockObserver}）配置
+ * <p>
+ * 示例：
+ * <pre>
+ * commons:
+ *   redis:
+ *     lock:
+ *       initial-backoff-millis: 5
+ *       max-backoff-millis: 200
+ *       notification:
+ *         enabled: true
+ *         channel: commons:lock:release
+ *       async:
+ *         pool-size: 16
+ *         queue-capacity: 1024
+ *       observation:
+ *         log-sample-rate: 0.01
+ *         contended-threshold-millis: 10
+ *         contention-sample-rate: 0.1
+ *         contention-capacity: 1024
+ * </pre>
+ *
+ * @author TimeChaser
+ * @version 1.0
+ * @since 2026/10/17 17:24
+ */
+@Data
+@ConfigurationProperties(prefix = "commons.redis.lock")
+public class RedisLockProperties {
+
+    /**
+     * 首次退避时长（ms）
+     */
+    private long initialBackoffMillis = RedisLockWaitStrategy.DEFAULT_INITIAL_BACKOFF_MILLIS;
+    /**
+     * 最大退避时长（ms）
+     */
+    private long maxBackoffMillis = RedisLockWaitStrategy.DEFAULT_MAX_BACKOFF_MILLIS;
+    /**
+     * 锁释放通知配置
+     */
+    private Notification notification = new Notification();
+    /**
+     * 锁注解异步加锁后调用方法的线程池配置
+     */
+    private Async async = new Async();
+    /**
+     * 锁注解的观测配置
+     */
+    private Observation observation = new Observation();
+
+    @Data
+    public static class Notification {
+
+        /**
+         * 是否开启锁释放通知
+         * <p>
+         * 开启后释放锁时会向 channel 发布锁名，等待者收到后立即重试；每个应用实例额外占用一条订阅连接
+         */
+        private boolean enabled = false;
+        /**
+         * 锁释放通知 channel
+         */
+        private String channel = RedisLockNotifier.DEFAULT_CHANNEL;
+
+    }
+
+    @Data
+    public static class Async {
+
+        /**
+         * 线程数，默认为 CPU 核数的 2 倍（至少 4）
+         */
+        private int poolSize = AbstractRedLockAspect.DEFAULT_ASYNC_POOL_SIZE;
+        /**
+         * 等待队列的容量，队列满时调用以拒绝异常失败
+         */
+        private int queueCapacity = AbstractRedLockAspect.DEFAULT_ASYNC_QUEUE_CAPACITY;
+
+    }
+
+    @Data
+    public static class Observation {
+
+        /**
+         * 每次加锁、解锁输出 debug 日志的概率，[0, 1]
+         */
+        private double logSampleRate = RedLockObserver.DEFAULT_LOG_SAMPLE_RATE;
+        /**
+         * 获取锁的等待超过该时长（ms）即视为发生了竞争
+         */
+        private long contendedThresholdMillis = RedLockObserver.DEFAULT_CONTENDED_THRESHOLD_MILLIS;
+        /**
+         * 记录竞争的采样率，(0, 1]
+         */
+        private double contentionSampleRate = RedLockObserver.DEFAULT_CONTENTION_SAMPLE_RATE;
+        /**
+         * 最多记录的竞争 key 数
+         */
+        private int contentionCapacity = RedLockObserver.DEFAULT_CONTENTION_CAPACITY;
+        /**
+         * 信号量可用许可数（指标与端点）的刷新间隔（ms）
+         */
+        private long permitsRefreshMillis = RedSemaphoreAspect.DEFAULT_PERMITS_REFRESH_MILLIS;
+
+    }
+
+}
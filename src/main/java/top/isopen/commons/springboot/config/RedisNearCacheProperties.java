@@ -0,0 +1,48 @@
+package top.isopen.commons.springboot.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import top.isopen.commons.springboot.helper.RedisNearCache;
+
+import java.time.Duration;
+
+/**
+ * Redis 近端缓存（{@link RedisNearCache}）配置
+ * <p>
+ * 示例：
+ * <pre>
+ * commons:
+ *   redis:
+ *     near-cache:
+ *       enabled: true
+ *       maximum-size: 10000
+ *       ttl: 60s
+ *       channel: commons:near-cache:invalidate
+ * </pre>
+ *
+ * @author TimeChaser
+ * @version 1.0
+ * @since 2026/10/17 18:02
+ */
+@Data
+@ConfigurationProperties(prefix = "commons.redis.near-cache")
+public class RedisNearCacheProperties {
+
+    /**
+     * 是否开启近端缓存
+     */
+    private boolean enabled = false;
+    /**
+     * 本地缓存的最大条目数
+     */
+    private long maximumSize = 10000;
+    /**
+     * 本地缓存条目写入后的存活时长，也是丢失失效通知时读到旧值的最长时间
+     */
+    private Duration ttl = Duration.ofSeconds(60);
+    /**
+     * 失效通知 channel
+     */
+    private String channel = RedisNearCache.DEFAULT_CHANNEL;
+
+}
@@ -0,0 +1,78 @@
+package top.isopen.commons.springboot.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import top.isopen.commons.springboot.enums.RedisValueCodecEnum;
+import top.isopen.commons.springboot.enums.RedisValueCompressorEnum;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Redis value 序列化配置
+ * <p>
+ * 示例：
+ * <pre>
+ * commons:
+ *   redis:
+ *     value:
+ *       codec: smile
+ *       migration: true
+ *       type-aliases:
+ *         order: com.example.model.OrderModel
+ *       compression:
+ *         enabled: true
+ *         threshold: 2048
+ *         algorithm: lz4
+ * </pre>
+ *
+ * @author TimeChaser
+ * @version 1.0
+ * @since 2026/10/17 13:58
+ */
+@Data
+@ConfigurationProperties(prefix = "commons.redis.value")
+public class RedisValueProperties {
+
+    /**
+     * 写入使用的编码格式
+     */
+    private RedisValueCodecEnum codec = RedisValueCodecEnum.JSON;
+    /**
+     * 迁移模式
+     * <p>
+     * 开启后，读取时除当前编码格式外，还能识别其他内置编码格式写入的旧数据
+     */
+    private boolean migration = false;
+    /**
+     * 类型别名（别名 -> 全限定类名），仅 {@link RedisValueCodecEnum#SMILE} 生效
+     * <p>
+     * 别名一旦写入 Redis 便不能再修改
+     */
+    private Map<String, String> typeAliases = new LinkedHashMap<>();
+    /**
+     * 压缩配置
+     */
+    private Compression compression = new Compression();
+
+    @Data
+    public static class Compression {
+
+        /**
+         * 是否压缩大 value
+         * <p>
+         * 未开启但开启了迁移模式时，仍能读取之前压缩写入的数据
+         */
+        private boolean enabled = false;
+        /**
+         * 压缩阈值（byte），编码后的 value 长度超过该值才压缩
+         */
+        private int threshold = 1024;
+        /**
+         * 压缩算法
+         */
+        private RedisValueCompressorEnum algorithm = RedisValueCompressorEnum.LZ4;
+
+    }
+
+}
@@ -0,0 +1,46 @@
+package top.isopen.commons.springboot.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import top.isopen.commons.springboot.repository.support.QueryPlanCache;
+
+/**
+ * Repository（{@link top.isopen.commons.springboot.repository.AbstractRepository}）配置
+ * <p>
+ * 示例：
+ * <pre>
+ * commons:
+ *   repository:
+ *     plan-cache:
+ *       enabled: true
+ *       maximum-size: 1024
+ * </pre>
+ *
+ * @author TimeChaser
+ * @version 1.0
+ * @since 2026/10/18 00:10
+ */
+@Data
+@ConfigurationProperties(prefix = "commons.repository")
+public class RepositoryProperties {
+
+    /**
+     * 查询计划缓存配置
+     */
+    private PlanCache planCache = new PlanCache();
+
+    @Data
+    public static class PlanCache {
+
+        /**
+         * 是否缓存按查询形状编译的查询计划
+         */
+        private boolean enabled = true;
+        /**
+         * 最多缓存的查询形状数
+         */
+        private long maximumSize = QueryPlanCache.DEFAULT_MAXIMUM_SIZE;
+
+    }
+
+}
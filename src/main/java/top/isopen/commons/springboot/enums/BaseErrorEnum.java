@@ -19,6 +19,7 @@ public enum BaseErrorEnum {
     INVALID_ORDER_BY_TYPE_ERROR(5, "invalid order by type", "", HttpStatus.BAD_REQUEST),
     INVALID_QUERY_COLUMN_ERROR(6, "invalid query column", "", HttpStatus.BAD_REQUEST),
     INVALID_QUERY_TYPE_ERROR(7, "invalid query type", "", HttpStatus.BAD_REQUEST),
+    INVALID_CURSOR_ERROR(8, "invalid cursor", "", HttpStatus.BAD_REQUEST),
 
     INVALID_PRIMARY_ID_ERROR(501, "invalid model primary id", "", HttpStatus.INTERNAL_SERVER_ERROR),
     INVALID_APPLICATION_CONTEXT_ERROR(502, "invalid application context", "", HttpStatus.INTERNAL_SERVER_ERROR),
@@ -26,6 +27,10 @@ public enum BaseErrorEnum {
     INVALID_RED_LOCK_ASPECT_PARAMETER_ERROR(504, "invalid red lock aspect parameter", "", HttpStatus.INTERNAL_SERVER_ERROR),
     INVALID_RED_LOCK_TRY_ERROR(505, "failed to try lock", "", HttpStatus.INTERNAL_SERVER_ERROR),
     INVALID_SP_EL_ERROR(506, "invalid spEl", "", HttpStatus.INTERNAL_SERVER_ERROR),
+    INVALID_RED_SEMAPHORE_TRY_ERROR(507, "failed to try acquire semaphore permit", "", HttpStatus.INTERNAL_SERVER_ERROR),
+    INVALID_CURSOR_ID_ERROR(508, "no primary id column to order cursor page", "", HttpStatus.INTERNAL_SERVER_ERROR),
+    INVALID_CURSOR_KEY_VALUE_ERROR(509, "null value of cursor order by column", "", HttpStatus.INTERNAL_SERVER_ERROR),
+    INVALID_REDIS_CROSS_SLOT_ERROR(510, "keys must be in the same slot in cluster mode", "", HttpStatus.INTERNAL_SERVER_ERROR),
 
     ;
 
@@ -42,7 +47,14 @@ public enum BaseErrorEnum {
     }
 
     public void throwException() {
-        throw new BaseException(this.code, this.message, this.description, this.httpStatus);
+        throw this.exception();
+    }
+
+    /**
+     * 构造对应的异常但不抛出，用于以异常结束 {@link java.util.concurrent.CompletableFuture} 等异步场景
+     */
+    public BaseException exception() {
+        return new BaseException(this.code, this.message, this.description, this.httpStatus);
     }
 
 }
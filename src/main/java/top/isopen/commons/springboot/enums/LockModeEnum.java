@@ -0,0 +1,32 @@
+package top.isopen.commons.springboot.enums;
+
+/**
+ * 读写锁模式枚举
+ *
+ * @author TimeChaser
+ * @version 1.0
+ * @since 2026/10/17 21:00
+ */
+public enum LockModeEnum {
+
+    READ("read", "读锁，多个读者可同时持有，与写锁互斥"),
+    WRITE("write", "写锁，与读锁、写锁均互斥"),
+    ;
+
+    private final String value;
+    private final String description;
+
+    LockModeEnum(String value, String description) {
+        this.value = value;
+        this.description = description;
+    }
+
+    public String getValue() {
+        return value;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+}
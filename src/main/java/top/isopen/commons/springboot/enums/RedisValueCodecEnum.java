@@ -0,0 +1,32 @@
+package top.isopen.commons.springboot.enums;
+
+/**
+ * Redis value 编码格式枚举
+ *
+ * @author TimeChaser
+ * @version 1.0
+ * @since 2026/10/17 13:55
+ */
+public enum RedisValueCodecEnum {
+
+    JSON("json", "携带完整类名的 JSON"),
+    SMILE("smile", "Jackson Smile 二进制"),
+    ;
+
+    private final String value;
+    private final String description;
+
+    RedisValueCodecEnum(String value, String description) {
+        this.value = value;
+        this.description = description;
+    }
+
+    public String getValue() {
+        return value;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+}
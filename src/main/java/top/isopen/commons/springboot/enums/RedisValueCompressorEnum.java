@@ -0,0 +1,32 @@
+package top.isopen.commons.springboot.enums;
+
+/**
+ * Redis value 压缩算法枚举
+ *
+ * @author TimeChaser
+ * @version 1.0
+ * @since 2026/10/17 14:40
+ */
+public enum RedisValueCompressorEnum {
+
+    LZ4("lz4", "LZ4，优先使用 JNI，不可用时退化为纯 Java 实现"),
+    DEFLATE("deflate", "JDK 内置 Deflate"),
+    ;
+
+    private final String value;
+    private final String description;
+
+    RedisValueCompressorEnum(String value, String description) {
+        this.value = value;
+        this.description = description;
+    }
+
+    public String getValue() {
+        return value;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+}
@@ -0,0 +1,104 @@
+package top.isopen.commons.springboot.helper;
+
+import org.springframework.data.redis.connection.RedisClusterConnection;
+import org.springframework.data.redis.connection.RedisClusterNode;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import top.isopen.commons.logging.Log;
+import top.isopen.commons.logging.LogFactory;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * 基于 SCAN 游标的 key 迭代器
+ * <p>
+ * 单机模式下直接使用连接上的 SCAN 游标；集群模式下依次在每个 master 节点上 SCAN，
+ * 每次只在客户端保留一页 key
+ * <p>
+ * 迭代器独占一条连接，迭代结束或调用 {@link #close()} 时释放
+ *
+ * @author TimeChaser
+ * @version 1.0
+ * @since 2026/10/17 15:32
+ */
+class KeyScanIterator implements Iterator<String>, Closeable {
+
+    private static final Log log = LogFactory.getLog(KeyScanIterator.class);
+
+    private final RedisConnection connection;
+    private final RedisSerializer<?> keySerializer;
+    private final ScanOptions options;
+    private final Iterator<RedisClusterNode> nodes;
+    private Cursor<byte[]> cursor;
+    private boolean closed;
+
+    KeyScanIterator(RedisConnection connection, RedisSerializer<?> keySerializer, ScanOptions options) {
+        this.connection = connection;
+        this.keySerializer = keySerializer;
+        this.options = options;
+        if (connection instanceof RedisClusterConnection) {
+            List<RedisClusterNode> masters = new ArrayList<>();
+            for (RedisClusterNode node : ((RedisClusterConnection) connection).clusterGetNodes()) {
+                if (node.isMaster()) {
+                    masters.add(node);
+                }
+            }
+            this.nodes = masters.iterator();
+        } else {
+            this.nodes = null;
+            this.cursor = connection.scan(options);
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (!closed) {
+            if (cursor != null && cursor.hasNext()) {
+                return true;
+            }
+            if (nodes == null || !nodes.hasNext()) {
+                close();
+                return false;
+            }
+            cursor = ((RedisClusterConnection) connection).scan(nodes.next(), options);
+        }
+        return false;
+    }
+
+    @Override
+    public String next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        return (String) keySerializer.deserialize(cursor.next());
+    }
+
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            if (cursor != null && !cursor.isClosed()) {
+                cursor.close();
+            }
+        } catch (Exception e) {
+            log.warn("close(...) => close scan cursor failure! e.getMessage -> {}", e.getMessage());
+        }
+        try {
+            if (!connection.isClosed()) {
+                connection.close();
+            }
+        } catch (Exception e) {
+            log.warn("close(...) => close scan connection failure! e.getMessage -> {}", e.getMessage());
+        }
+    }
+
+}
@@ -0,0 +1,74 @@
+package top.isopen.commons.springboot.helper;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * 基于下标窗口的分页迭代器
+ * <p>
+ * 每次以 [offset, offset + pageSize - 1] 的窗口（LRANGE / ZRANGE 语义）拉取一页原始数据，
+ * 元素在 {@link #next()} 时才反序列化，客户端同一时刻只保留一页原始数据
+ * <p>
+ * 注：窗口之间不具备原子性，迭代期间集合被修改时元素可能被跳过或重复返回
+ *
+ * @param <R> 原始数据类型
+ * @param <T> 反序列化后的元素类型
+ * @author TimeChaser
+ * @version 1.0
+ * @since 2026/10/17 16:05
+ */
+class RangeIterator<R, T> implements Iterator<T> {
+
+    private final BiFunction<Long, Long, Collection<R>> fetcher;
+    private final Function<R, T> converter;
+    private final int pageSize;
+    private Iterator<R> page = Collections.emptyIterator();
+    private long offset;
+    private boolean exhausted;
+
+    /**
+     * @param fetcher   按 (start, end) 闭区间拉取一页原始数据
+     * @param converter 原始数据的反序列化
+     * @param pageSize  每页的元素个数
+     */
+    RangeIterator(BiFunction<Long, Long, Collection<R>> fetcher, Function<R, T> converter, int pageSize) {
+        if (pageSize <= 0) {
+            throw new IllegalArgumentException("pageSize must be positive");
+        }
+        this.fetcher = fetcher;
+        this.converter = converter;
+        this.pageSize = pageSize;
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (!page.hasNext()) {
+            if (exhausted) {
+                return false;
+            }
+            Collection<R> rows = fetcher.apply(offset, offset + pageSize - 1);
+            if (rows == null || rows.size() < pageSize) {
+                exhausted = true;
+            }
+            if (rows == null || rows.isEmpty()) {
+                return false;
+            }
+            offset += rows.size();
+            page = rows.iterator();
+        }
+        return true;
+    }
+
+    @Override
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        return converter.apply(page.next());
+    }
+
+}
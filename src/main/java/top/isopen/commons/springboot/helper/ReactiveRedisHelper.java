@@ -0,0 +1,710 @@
+package top.isopen.commons.springboot.helper;
+
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.connection.DataType;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.core.types.Expiration;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import top.isopen.commons.logging.Log;
+import top.isopen.commons.logging.LogFactory;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 响应式 Redis 工具类
+ * <p>
+ * {@link RedisHelper} 的非阻塞版本，基于 {@link ReactiveRedisTemplate}，所有操作返回 {@link Mono} 或 {@link Flux}，
+ * 订阅后才会真正发送命令
+ * <p>
+ * 与 {@link RedisHelper} 使用相同的 key、value 序列化方式，两者读写的数据可以互通；分布式锁的 value 同样以 UTF-8 原文存储，
+ * 因此两者加的锁也可以互相识别
+ *
+ * @author TimeChaser
+ * @version 1.0
+ * @since 2026/10/17 11:05
+ */
+@SuppressWarnings("unused")
+public class ReactiveRedisHelper {
+
+    /**
+     * 分布式锁默认（最大）存活时长
+     */
+    public final Duration DEFAULT_LOCK_TIMEOUT = Duration.ofSeconds(3);
+    private final Log log = LogFactory.getLog(ReactiveRedisHelper.class);
+
+    private final ReactiveRedisTemplate<String, Object> redisTemplate;
+    /**
+     * lua 脚本, 保证 释放锁脚本 的原子性（以避免, 并发场景下, 释放了别人的锁）
+     */
+    private final ByteBuffer RELEASE_LOCK_LUA;
+    /**
+     * lua 脚本, 释放锁后向 {@link RedisLockNotifier} 的 channel 发布锁名
+     */
+    private final ByteBuffer RELEASE_LOCK_NOTIFY_LUA;
+
+    {
+        RELEASE_LOCK_LUA = ByteBuffer.wrap(("if redis.call('get',KEYS[1]) == ARGV[1] " + "then " + "    return redis.call('del',KEYS[1]) " + "else " + "    return 0 " + "end ").getBytes(StandardCharsets.UTF_8));
+        RELEASE_LOCK_NOTIFY_LUA = ByteBuffer.wrap(("if redis.call('get',KEYS[1]) == ARGV[1] " + "then " + "    redis.call('del',KEYS[1]) " + "    redis.call('publish',ARGV[2],KEYS[1]) " + "    return 1 " + "else " + "    return 0 " + "end ").getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 锁释放通知的 channel，为 null 时释放锁不发布通知
+     */
+    private final ByteBuffer rawNotifyChannel;
+
+    public ReactiveRedisHelper(ReactiveRedisTemplate<String, Object> redisTemplate) {
+        this(redisTemplate, null);
+    }
+
+    /**
+     * @param redisTemplate 响应式 RedisTemplate
+     * @param notifier      锁释放通知，与 {@link RedisHelper} 使用同一个时，释放锁会唤醒本地与其他节点上等待该锁的线程；为 null 时不发布通知
+     */
+    public ReactiveRedisHelper(ReactiveRedisTemplate<String, Object> redisTemplate, RedisLockNotifier notifier) {
+        this.redisTemplate = redisTemplate;
+        this.rawNotifyChannel = notifier == null ? null : ByteBuffer.wrap(notifier.getChannel().getBytes(StandardCharsets.UTF_8));
+    }
+
+    // ====================== key 相关操作 ======================
+
+    /**
+     * @see RedisHelper#delete(String)
+     */
+    public Mono<Boolean> delete(String key) {
+        return trace(redisTemplate.delete(key).map(count -> count > 0), "delete", key);
+    }
+
+    /**
+     * @see RedisHelper#delete(Collection)
+     */
+    public Mono<Long> delete(Collection<String> keys) {
+        return trace(redisTemplate.delete(Flux.fromIterable(keys)), "delete", keys);
+    }
+
+    /**
+     * @see RedisHelper#hasKey(String)
+     */
+    public Mono<Boolean> hasKey(String key) {
+        return trace(redisTemplate.hasKey(key), "hasKey", key);
+    }
+
+    /**
+     * @see RedisHelper#expire(String, long, TimeUnit)
+     */
+    public Mono<Boolean> expire(String key, Duration timeToLive) {
+        return trace(redisTemplate.expire(key, timeToLive), "expire", key);
+    }
+
+    /**
+     * @see RedisHelper#expireAt(String, java.util.Date)
+     */
+    public Mono<Boolean> expireAt(String key, Instant instant) {
+        return trace(redisTemplate.expireAt(key, instant), "expireAt", key);
+    }
+
+    /**
+     * 找到所有匹配 pattern 的 key
+     * <p>
+     * 注：使用 SCAN 逐批返回，不会像 KEYS 一样阻塞 redis
+     *
+     * @param pattern 匹配模板
+     * @param count   每批 SCAN 的数量提示
+     * @return 匹配 pattern 的 key
+     */
+    public Flux<String> scanKeys(String pattern, long count) {
+        return redisTemplate.scan(ScanOptions.scanOptions().match(pattern).count(count).build());
+    }
+
+    /**
+     * @see RedisHelper#persist(String)
+     */
+    public Mono<Boolean> persist(String key) {
+        return trace(redisTemplate.persist(key), "persist", key);
+    }
+
+    /**
+     * 获取 key 对应的 key-value 的剩余存活时长
+     * <p>
+     * 注：key-value 永不过期时返回 {@link Duration#ZERO}
+     *
+     * @see RedisHelper#getExpire(String, TimeUnit)
+     */
+    public Mono<Duration> getExpire(String key) {
+        return trace(redisTemplate.getExpire(key), "getExpire", key);
+    }
+
+    /**
+     * @see RedisHelper#rename(String, String)
+     */
+    public Mono<Boolean> rename(String oldKey, String newKey) {
+        return trace(redisTemplate.rename(oldKey, newKey), "rename", oldKey);
+    }
+
+    /**
+     * @see RedisHelper#renameIfAbsent(String, String)
+     */
+    public Mono<Boolean> renameIfAbsent(String oldKey, String newKey) {
+        return trace(redisTemplate.renameIfAbsent(oldKey, newKey), "renameIfAbsent", oldKey);
+    }
+
+    /**
+     * @see RedisHelper#type(String)
+     */
+    public Mono<DataType> type(String key) {
+        return trace(redisTemplate.type(key), "type", key);
+    }
+
+    // ====================== string 相关操作 ======================
+
+    /**
+     * @see RedisHelper#set(String, Object)
+     */
+    public Mono<Boolean> set(String key, Object value) {
+        return trace(redisTemplate.opsForValue().set(key, value), "set", key);
+    }
+
+    /**
+     * @see RedisHelper#setEx(String, Object, long, TimeUnit)
+     */
+    public Mono<Boolean> setEx(String key, Object value, Duration timeToLive) {
+        return trace(redisTemplate.opsForValue().set(key, value, timeToLive), "setEx", key);
+    }
+
+    /**
+     * @see RedisHelper#setIfAbsent(String, Object)
+     */
+    public Mono<Boolean> setIfAbsent(String key, Object value) {
+        return trace(redisTemplate.opsForValue().setIfAbsent(key, value), "setIfAbsent", key);
+    }
+
+    /**
+     * @see RedisHelper#setIfAbsent(String, Object, long, TimeUnit)
+     */
+    public Mono<Boolean> setIfAbsent(String key, Object value, Duration timeToLive) {
+        return trace(redisTemplate.opsForValue().setIfAbsent(key, value, timeToLive), "setIfAbsent", key);
+    }
+
+    /**
+     * @see RedisHelper#get(String)
+     */
+    public Mono<Object> get(String key) {
+        return trace(redisTemplate.opsForValue().get(key), "get", key);
+    }
+
+    /**
+     * @see RedisHelper#getAndSet(String, Object)
+     */
+    public Mono<Object> getAndSet(String key, Object newValue) {
+        return trace(redisTemplate.opsForValue().getAndSet(key, newValue), "getAndSet", key);
+    }
+
+    /**
+     * @see RedisHelper#multiSet(Map)
+     */
+    public Mono<Boolean> multiSet(Map<String, Object> maps) {
+        return trace(redisTemplate.opsForValue().multiSet(maps), "multiSet", maps.keySet());
+    }
+
+    /**
+     * @see RedisHelper#multiSetIfAbsent(Map)
+     */
+    public Mono<Boolean> multiSetIfAbsent(Map<String, Object> maps) {
+        return trace(redisTemplate.opsForValue().multiSetIfAbsent(maps), "multiSetIfAbsent", maps.keySet());
+    }
+
+    /**
+     * @see RedisHelper#multiGet(Collection)
+     */
+    public Mono<List<Object>> multiGet(Collection<String> keys) {
+        return trace(redisTemplate.opsForValue().multiGet(keys), "multiGet", keys);
+    }
+
+    /**
+     * @see RedisHelper#incrBy(String, long)
+     */
+    public Mono<Long> incrBy(String key, long increment) {
+        return trace(redisTemplate.opsForValue().increment(key, increment), "incrBy", key);
+    }
+
+    /**
+     * @see RedisHelper#incrByFloat(String, double)
+     */
+    public Mono<Double> incrByFloat(String key, double increment) {
+        return trace(redisTemplate.opsForValue().increment(key, increment), "incrByFloat", key);
+    }
+
+    /**
+     * @see RedisHelper#append(String, String)
+     */
+    public Mono<Long> append(String key, String value) {
+        return trace(redisTemplate.opsForValue().append(key, value), "append", key);
+    }
+
+    /**
+     * @see RedisHelper#size(String)
+     */
+    public Mono<Long> size(String key) {
+        return trace(redisTemplate.opsForValue().size(key), "size", key);
+    }
+
+    // ====================== hash 相关操作 ======================
+
+    /**
+     * @see RedisHelper#hPut(String, String, Object)
+     */
+    public Mono<Boolean> hPut(String key, String entryKey, Object entryValue) {
+        return trace(redisTemplate.opsForHash().put(key, entryKey, entryValue), "hPut", key);
+    }
+
+    /**
+     * @see RedisHelper#hPutAll(String, Map)
+     */
+    public Mono<Boolean> hPutAll(String key, Map<String, Object> maps) {
+        return trace(redisTemplate.opsForHash().putAll(key, maps), "hPutAll", key);
+    }
+
+    /**
+     * @see RedisHelper#hPutIfAbsent(String, String, Object)
+     */
+    public Mono<Boolean> hPutIfAbsent(String key, String entryKey, Object entryValue) {
+        return trace(redisTemplate.opsForHash().putIfAbsent(key, entryKey, entryValue), "hPutIfAbsent", key);
+    }
+
+    /**
+     * @see RedisHelper#hGet(String, String)
+     */
+    public Mono<Object> hGet(String key, String entryKey) {
+        return trace(redisTemplate.opsForHash().get(key, entryKey), "hGet", key);
+    }
+
+    /**
+     * 获取(key对应的)hash中的所有entry
+     * <p>
+     * 注：以 {@link Flux} 逐条返回，不会一次性组装成 Map
+     *
+     * @see RedisHelper#hGetAll(String)
+     */
+    public Flux<Map.Entry<Object, Object>> hGetAll(String key) {
+        return redisTemplate.opsForHash().entries(key);
+    }
+
+    /**
+     * @see RedisHelper#hMultiGet(String, Collection)
+     */
+    public Mono<List<Object>> hMultiGet(String key, Collection<Object> entryKeys) {
+        return trace(redisTemplate.opsForHash().multiGet(key, entryKeys), "hMultiGet", key);
+    }
+
+    /**
+     * @see RedisHelper#hDelete(String, Object...)
+     */
+    public Mono<Long> hDelete(String key, Object... entryKeys) {
+        return trace(redisTemplate.opsForHash().remove(key, entryKeys), "hDelete", key);
+    }
+
+    /**
+     * @see RedisHelper#hExists(String, String)
+     */
+    public Mono<Boolean> hExists(String key, String entryKey) {
+        return trace(redisTemplate.opsForHash().hasKey(key, entryKey), "hExists", key);
+    }
+
+    /**
+     * @see RedisHelper#hIncrBy(String, Object, long)
+     */
+    public Mono<Long> hIncrBy(String key, Object entryKey, long increment) {
+        return trace(redisTemplate.opsForHash().increment(key, entryKey, increment), "hIncrBy", key);
+    }
+
+    /**
+     * @see RedisHelper#hIncrByFloat(String, Object, double)
+     */
+    public Mono<Double> hIncrByFloat(String key, Object entryKey, double increment) {
+        return trace(redisTemplate.opsForHash().increment(key, entryKey, increment), "hIncrByFloat", key);
+    }
+
+    /**
+     * @see RedisHelper#hKeys(String)
+     */
+    public Flux<Object> hKeys(String key) {
+        return redisTemplate.opsForHash().keys(key);
+    }
+
+    /**
+     * @see RedisHelper#hValues(String)
+     */
+    public Flux<Object> hValues(String key) {
+        return redisTemplate.opsForHash().values(key);
+    }
+
+    /**
+     * @see RedisHelper#hSize(String)
+     */
+    public Mono<Long> hSize(String key) {
+        return trace(redisTemplate.opsForHash().size(key), "hSize", key);
+    }
+
+    /**
+     * @see RedisHelper#hScan(String, ScanOptions)
+     */
+    public Flux<Map.Entry<Object, Object>> hScan(String key, ScanOptions options) {
+        return redisTemplate.opsForHash().scan(key, options);
+    }
+
+    // ====================== list 相关操作 ======================
+
+    /**
+     * @see RedisHelper#lLeftPush(String, Object)
+     */
+    public Mono<Long> lLeftPush(String key, Object item) {
+        return trace(redisTemplate.opsForList().leftPush(key, item), "lLeftPush", key);
+    }
+
+    /**
+     * @see RedisHelper#lLeftPushAll(String, Collection)
+     */
+    public Mono<Long> lLeftPushAll(String key, Collection<Object> items) {
+        return trace(redisTemplate.opsForList().leftPushAll(key, items), "lLeftPushAll", key);
+    }
+
+    /**
+     * @see RedisHelper#lRightPush(String, Object)
+     */
+    public Mono<Long> lRightPush(String key, Object item) {
+        return trace(redisTemplate.opsForList().rightPush(key, item), "lRightPush", key);
+    }
+
+    /**
+     * @see RedisHelper#lRightPushAll(String, Collection)
+     */
+    public Mono<Long> lRightPushAll(String key, Collection<Object> items) {
+        return trace(redisTemplate.opsForList().rightPushAll(key, items), "lRightPushAll", key);
+    }
+
+    /**
+     * @see RedisHelper#lLeftPop(String)
+     */
+    public Mono<Object> lLeftPop(String key) {
+        return trace(redisTemplate.opsForList().leftPop(key), "lLeftPop", key);
+    }
+
+    /**
+     * 阻塞式出队在响应式版本中不会占用线程，等待期间只占用一条连接
+     *
+     * @see RedisHelper#lLeftPop(String, long, TimeUnit)
+     */
+    public Mono<Object> lLeftPop(String key, Duration timeout) {
+        return trace(redisTemplate.opsForList().leftPop(key, timeout), "lLeftPop", key);
+    }
+
+    /**
+     * @see RedisHelper#lRightPop(String)
+     */
+    public Mono<Object> lRightPop(String key) {
+        return trace(redisTemplate.opsForList().rightPop(key), "lRightPop", key);
+    }
+
+    /**
+     * @see RedisHelper#lRightPop(String, long, TimeUnit)
+     */
+    public Mono<Object> lRightPop(String key, Duration timeout) {
+        return trace(redisTemplate.opsForList().rightPop(key, timeout), "lRightPop", key);
+    }
+
+    /**
+     * @see RedisHelper#lSet(String, long, Object)
+     */
+    public Mono<Boolean> lSet(String key, long index, Object item) {
+        return trace(redisTemplate.opsForList().set(key, index, item), "lSet", key);
+    }
+
+    /**
+     * @see RedisHelper#lIndex(String, long)
+     */
+    public Mono<Object> lIndex(String key, long index) {
+        return trace(redisTemplate.opsForList().index(key, index), "lIndex", key);
+    }
+
+    /**
+     * @see RedisHelper#lRange(String, long, long)
+     */
+    public Flux<Object> lRange(String key, long start, long end) {
+        return redisTemplate.opsForList().range(key, start, end);
+    }
+
+    /**
+     * @see RedisHelper#lSize(String)
+     */
+    public Mono<Long> lSize(String key) {
+        return trace(redisTemplate.opsForList().size(key), "lSize", key);
+    }
+
+    /**
+     * @see RedisHelper#lRemove(String, long, Object)
+     */
+    public Mono<Long> lRemove(String key, long expectCount, Object item) {
+        return trace(redisTemplate.opsForList().remove(key, expectCount, item), "lRemove", key);
+    }
+
+    /**
+     * @see RedisHelper#lTrim(String, long, long)
+     */
+    public Mono<Boolean> lTrim(String key, long start, long end) {
+        return trace(redisTemplate.opsForList().trim(key, start, end), "lTrim", key);
+    }
+
+    // ====================== set 相关操作 ======================
+
+    /**
+     * @see RedisHelper#sAdd(String, Object...)
+     */
+    public Mono<Long> sAdd(String key, Object... items) {
+        return trace(redisTemplate.opsForSet().add(key, items), "sAdd", key);
+    }
+
+    /**
+     * @see RedisHelper#sRemove(String, Object...)
+     */
+    public Mono<Long> sRemove(String key, Object... items) {
+        return trace(redisTemplate.opsForSet().remove(key, items), "sRemove", key);
+    }
+
+    /**
+     * @see RedisHelper#sPop(String)
+     */
+    public Mono<Object> sPop(String key) {
+        return trace(redisTemplate.opsForSet().pop(key), "sPop", key);
+    }
+
+    /**
+     * @see RedisHelper#sMove(String, Object, String)
+     */
+    public Mono<Boolean> sMove(String sourceKey, Object item, String destinationKey) {
+        return trace(redisTemplate.opsForSet().move(sourceKey, item, destinationKey), "sMove", sourceKey);
+    }
+
+    /**
+     * @see RedisHelper#sSize(String)
+     */
+    public Mono<Long> sSize(String key) {
+        return trace(redisTemplate.opsForSet().size(key), "sSize", key);
+    }
+
+    /**
+     * @see RedisHelper#sIsMember(String, Object)
+     */
+    public Mono<Boolean> sIsMember(String key, Object item) {
+        return trace(redisTemplate.opsForSet().isMember(key, item), "sIsMember", key);
+    }
+
+    /**
+     * @see RedisHelper#sMembers(String)
+     */
+    public Flux<Object> sMembers(String key) {
+        return redisTemplate.opsForSet().members(key);
+    }
+
+    /**
+     * @see RedisHelper#sRandomMember(String)
+     */
+    public Mono<Object> sRandomMember(String key) {
+        return trace(redisTemplate.opsForSet().randomMember(key), "sRandomMember", key);
+    }
+
+    /**
+     * @see RedisHelper#sScan(String, ScanOptions)
+     */
+    public Flux<Object> sScan(String key, ScanOptions options) {
+        return redisTemplate.opsForSet().scan(key, options);
+    }
+
+    // ====================== ZSet 相关操作 ======================
+
+    /**
+     * @see RedisHelper#zAdd(String, Object, double)
+     */
+    public Mono<Boolean> zAdd(String key, Object item, double score) {
+        return trace(redisTemplate.opsForZSet().add(key, item, score), "zAdd", key);
+    }
+
+    /**
+     * @see RedisHelper#zAdd(String, java.util.Set)
+     */
+    public Mono<Long> zAdd(String key, Collection<ZSetOperations.TypedTuple<Object>> entries) {
+        return trace(redisTemplate.opsForZSet().addAll(key, entries), "zAdd", key);
+    }
+
+    /**
+     * @see RedisHelper#zRemove(String, Object...)
+     */
+    public Mono<Long> zRemove(String key, Object... items) {
+        return trace(redisTemplate.opsForZSet().remove(key, items), "zRemove", key);
+    }
+
+    /**
+     * @see RedisHelper#zRemoveRange(String, long, long)
+     */
+    public Mono<Long> zRemoveRange(String key, long startRange, long endRange) {
+        return trace(redisTemplate.opsForZSet().removeRange(key, Range.closed(startRange, endRange)), "zRemoveRange", key);
+    }
+
+    /**
+     * @see RedisHelper#zRemoveRangeByScore(String, double, double)
+     */
+    public Mono<Long> zRemoveRangeByScore(String key, double minScore, double maxScore) {
+        return trace(redisTemplate.opsForZSet().removeRangeByScore(key, Range.closed(minScore, maxScore)), "zRemoveRangeByScore", key);
+    }
+
+    /**
+     * @see RedisHelper#zIncrementScore(String, Object, double)
+     */
+    public Mono<Double> zIncrementScore(String key, Object item, double delta) {
+        return trace(redisTemplate.opsForZSet().incrementScore(key, item, delta), "zIncrementScore", key);
+    }
+
+    /**
+     * @see RedisHelper#zRank(String, Object)
+     */
+    public Mono<Long> zRank(String key, Object item) {
+        return trace(redisTemplate.opsForZSet().rank(key, item), "zRank", key);
+    }
+
+    /**
+     * @see RedisHelper#zReverseRank(String, Object)
+     */
+    public Mono<Long> zReverseRank(String key, Object item) {
+        return trace(redisTemplate.opsForZSet().reverseRank(key, item), "zReverseRank", key);
+    }
+
+    /**
+     * @see RedisHelper#zRange(String, long, long)
+     */
+    public Flux<Object> zRange(String key, long start, long end) {
+        return redisTemplate.opsForZSet().range(key, Range.closed(start, end));
+    }
+
+    /**
+     * @see RedisHelper#zRangeWithScores(String, long, long)
+     */
+    public Flux<ZSetOperations.TypedTuple<Object>> zRangeWithScores(String key, long start, long end) {
+        return redisTemplate.opsForZSet().rangeWithScores(key, Range.closed(start, end));
+    }
+
+    /**
+     * @see RedisHelper#zRangeByScore(String, double, double)
+     */
+    public Flux<Object> zRangeByScore(String key, double minScore, double maxScore) {
+        return redisTemplate.opsForZSet().rangeByScore(key, Range.closed(minScore, maxScore));
+    }
+
+    /**
+     * @see RedisHelper#zRangeByScoreWithScores(String, double, double)
+     */
+    public Flux<ZSetOperations.TypedTuple<Object>> zRangeByScoreWithScores(String key, double minScore, double maxScore) {
+        return redisTemplate.opsForZSet().rangeByScoreWithScores(key, Range.closed(minScore, maxScore));
+    }
+
+    /**
+     * @see RedisHelper#zReverseRange(String, long, long)
+     */
+    public Flux<Object> zReverseRange(String key, long start, long end) {
+        return redisTemplate.opsForZSet().reverseRange(key, Range.closed(start, end));
+    }
+
+    /**
+     * @see RedisHelper#zCount(String, double, double)
+     */
+    public Mono<Long> zCount(String key, double minScore, double maxScore) {
+        return trace(redisTemplate.opsForZSet().count(key, Range.closed(minScore, maxScore)), "zCount", key);
+    }
+
+    /**
+     * @see RedisHelper#zSize(String)
+     */
+    public Mono<Long> zSize(String key) {
+        return trace(redisTemplate.opsForZSet().size(key), "zSize", key);
+    }
+
+    /**
+     * @see RedisHelper#zScore(String, Object)
+     */
+    public Mono<Double> zScore(String key, Object item) {
+        return trace(redisTemplate.opsForZSet().score(key, item), "zScore", key);
+    }
+
+    // ====================== 分布式锁(单机版) 相关操作 ======================
+
+    /**
+     * 获取(分布式)锁，锁的最大存活时长采用默认值
+     *
+     * @see #getLock(String, String, Duration)
+     */
+    public Mono<Boolean> getLock(final String key, final String value) {
+        return getLock(key, value, DEFAULT_LOCK_TIMEOUT);
+    }
+
+    /**
+     * 获取(分布式)锁
+     * <p>
+     * 注: 获取结果是即时返回的、是非阻塞的。
+     *
+     * @param key     锁名
+     * @param value   锁名对应的value，一般采用全局唯一的值，释放锁时用于校验
+     * @param timeout 锁的(最大)存活时长
+     * @return 是否成功
+     * @see RedisHelper#getLock(String, String, long, TimeUnit, boolean)
+     */
+    public Mono<Boolean> getLock(final String key, final String value, final Duration timeout) {
+        ByteBuffer rawKey = ByteBuffer.wrap(key.getBytes(StandardCharsets.UTF_8));
+        ByteBuffer rawValue = ByteBuffer.wrap(value.getBytes(StandardCharsets.UTF_8));
+        return trace(redisTemplate.execute(connection -> connection.stringCommands().set(rawKey, rawValue,
+                                Expiration.from(timeout.toMillis(), TimeUnit.MILLISECONDS), RedisStringCommands.SetOption.SET_IF_ABSENT))
+                        .next()
+                        .defaultIfEmpty(false),
+                "getLock", key);
+    }
+
+    /**
+     * 释放(分布式)锁
+     * <p>
+     * 注: 此方式能(通过value的唯一性)保证: 自己加的锁, 只能被自己释放。
+     * 配置了 {@link RedisLockNotifier} 时，与 {@link RedisHelper#releaseLock(String, String)} 一样在同一个脚本中发布锁释放通知
+     *
+     * @param key   锁名
+     * @param value 锁名对应的value
+     * @return 释放锁是否成功
+     * @see RedisHelper#releaseLock(String, String)
+     */
+    public Mono<Boolean> releaseLock(final String key, final String value) {
+        ByteBuffer rawKey = ByteBuffer.wrap(key.getBytes(StandardCharsets.UTF_8));
+        ByteBuffer rawValue = ByteBuffer.wrap(value.getBytes(StandardCharsets.UTF_8));
+        return trace(redisTemplate.execute(connection -> rawNotifyChannel == null
+                                ? connection.scriptingCommands()
+                                .<Boolean>eval(RELEASE_LOCK_LUA.duplicate(), ReturnType.BOOLEAN, 1, rawKey, rawValue)
+                                : connection.scriptingCommands()
+                                .<Boolean>eval(RELEASE_LOCK_NOTIFY_LUA.duplicate(), ReturnType.BOOLEAN, 1, rawKey, rawValue, rawNotifyChannel.duplicate()))
+                        .next()
+                        .defaultIfEmpty(false),
+                "releaseLock", key);
+    }
+
+    private <T> Mono<T> trace(Mono<T> mono, String method, Object key) {
+        if (!log.isDebugEnabled()) {
+            return mono;
+        }
+        return mono.doOnNext(result -> log.debug("{}(...) => key -> {}, result -> {}", method, key, result));
+    }
+
+}
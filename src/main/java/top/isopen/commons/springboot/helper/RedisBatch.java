@@ -0,0 +1,421 @@
+package top.isopen.commons.springboot.helper;
+
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import top.isopen.commons.logging.Log;
+import top.isopen.commons.logging.LogFactory;
+import top.isopen.commons.springboot.enums.BaseErrorEnum;
+
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Redis 管道批量操作
+ * <p>
+ * 将 key、string、hash、list、set、zset 相关命令缓存在本地，执行 {@link #execute()} 时通过
+ * {@link RedisTemplate#executePipelined(SessionCallback)} 一次性发送，省去逐条命令的网络往返
+ * <p>
+ * 命令数量超过 batchSize 时自动分块，每块一次往返；返回结果与命令入队顺序一致，
+ * 也可以通过入队时返回的 {@link Response} 取得对应命令的结果
+ * <p>
+ * 注：返回状态（OK）的命令在管道结果中可能被连接过滤，无法与入队顺序对齐。Spring Data Redis 2.7 的 Lettuce 连接过滤
+ * HMSET、LSET、LTRIM、RENAME、RESTORE、SETRANGE 及服务端命令；Redisson 的连接（redisson-spring-data-27）过滤
+ * SET（含 SET NX PX）、SETEX、MSET、HMSET、LSET、LTRIM、RENAME、RESTORE、SETRANGE、FLUSHDB。
+ * 因此这些命令中只收录 {@link #set}、{@link #setEx}，二者都以 SET 发送：结果被过滤时记为 true（失败时整个管道抛出异常）；
+ * {@link #setIfAbsent(String, Object, long, TimeUnit)} 以脚本执行，两种连接下都能得到是否设置成功
+ * <p>
+ * 注：{@link Response} 的类型与连接返回的原始类型一致，如 DEL 为删除的 key 数（{@link Long}）
+ * <p>
+ * 使用方式(示例):
+ * <pre>
+ *     RedisBatch batch = redisHelper.pipeline();
+ *     batch.set("k1", v1);
+ *     RedisBatch.Response&lt;Object&gt; v2 = batch.get("k2");
+ *     batch.expire("k1", 10, TimeUnit.SECONDS);
+ *     List&lt;Object&gt; results = batch.execute();
+ * </pre>
+ *
+ * @author TimeChaser
+ * @version 1.0
+ * @since 2026/10/17 10:21
+ */
+@SuppressWarnings("unused")
+public class RedisBatch {
+
+    /**
+     * 默认每次管道往返发送的命令数
+     */
+    public static final int DEFAULT_BATCH_SIZE = 1000;
+
+    private static final Log log = LogFactory.getLog(RedisBatch.class);
+
+    private static final byte[] SET_IF_ABSENT_SCRIPT = ("if redis.call('set', KEYS[1], ARGV[1], 'PX', ARGV[2], 'NX') then " +
+            "return 1 else return 0 end").getBytes(StandardCharsets.UTF_8);
+
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final int batchSize;
+    private final List<Command<?>> commands = new ArrayList<>();
+
+    RedisBatch(RedisTemplate<String, Object> redisTemplate, int batchSize) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("batchSize must be positive");
+        }
+        this.redisTemplate = redisTemplate;
+        this.batchSize = batchSize;
+    }
+
+    // ====================== key 相关操作 ======================
+
+    public Response<Long> delete(String key) {
+        return enqueue(operations -> operations.delete(key));
+    }
+
+    public Response<Boolean> hasKey(String key) {
+        return enqueue(operations -> operations.hasKey(key));
+    }
+
+    public Response<Boolean> expire(String key, long timeToLive, TimeUnit unit) {
+        return enqueue(operations -> operations.expire(key, timeToLive, unit));
+    }
+
+    public Response<Boolean> expireAt(String key, Date date) {
+        return enqueue(operations -> operations.expireAt(key, date));
+    }
+
+    public Response<Boolean> persist(String key) {
+        return enqueue(operations -> operations.persist(key));
+    }
+
+    public Response<Long> getExpire(String key, TimeUnit unit) {
+        return enqueue(operations -> operations.getExpire(key, unit));
+    }
+
+    // ====================== string 相关操作 ======================
+
+    public Response<Boolean> set(String key, Object value) {
+        return enqueueStatus(operations -> operations.opsForValue().set(key, value));
+    }
+
+    /**
+     * 统一以 SET PX 发送，避免 {@link RedisOperations#opsForValue()} 按单位选择 SETEX / PSETEX 时不同命令的回复是否被过滤不一致
+     */
+    public Response<Boolean> setEx(String key, Object value, long timeToLive, TimeUnit unit) {
+        return enqueueStatus(operations -> {
+            byte[] rawKey = rawKey(operations, key);
+            byte[] rawValue = rawValue(operations, value);
+            operations.execute((RedisCallback<Boolean>) connection ->
+                    connection.set(rawKey, rawValue, Expiration.from(timeToLive, unit), RedisStringCommands.SetOption.upsert()));
+        });
+    }
+
+    public Response<Boolean> setIfAbsent(String key, Object value) {
+        return enqueue(operations -> operations.opsForValue().setIfAbsent(key, value));
+    }
+
+    /**
+     * SET NX PX 的回复会被部分连接过滤，因此以脚本执行
+     */
+    public Response<Boolean> setIfAbsent(String key, Object value, long timeToLive, TimeUnit unit) {
+        return enqueue(operations -> {
+            byte[] rawKey = rawKey(operations, key);
+            byte[] rawValue = rawValue(operations, value);
+            byte[] rawTimeToLive = String.valueOf(unit.toMillis(timeToLive)).getBytes(StandardCharsets.UTF_8);
+            operations.execute((RedisCallback<Boolean>) connection ->
+                    connection.eval(SET_IF_ABSENT_SCRIPT, ReturnType.BOOLEAN, 1, rawKey, rawValue, rawTimeToLive));
+        });
+    }
+
+    public Response<Object> get(String key) {
+        return enqueue(operations -> operations.opsForValue().get(key));
+    }
+
+    public Response<Object> getAndSet(String key, Object newValue) {
+        return enqueue(operations -> operations.opsForValue().getAndSet(key, newValue));
+    }
+
+    public Response<Long> incrBy(String key, long increment) {
+        return enqueue(operations -> operations.opsForValue().increment(key, increment));
+    }
+
+    public Response<Double> incrByFloat(String key, double increment) {
+        return enqueue(operations -> operations.opsForValue().increment(key, increment));
+    }
+
+    // ====================== hash 相关操作 ======================
+
+    public Response<Boolean> hPut(String key, String entryKey, Object entryValue) {
+        return enqueue(operations -> operations.opsForHash().put(key, entryKey, entryValue));
+    }
+
+    public Response<Boolean> hPutIfAbsent(String key, String entryKey, Object entryValue) {
+        return enqueue(operations -> operations.opsForHash().putIfAbsent(key, entryKey, entryValue));
+    }
+
+    public Response<Object> hGet(String key, String entryKey) {
+        return enqueue(operations -> operations.opsForHash().get(key, entryKey));
+    }
+
+    public Response<Map<Object, Object>> hGetAll(String key) {
+        return enqueue(operations -> operations.opsForHash().entries(key));
+    }
+
+    public Response<Long> hDelete(String key, Object... entryKeys) {
+        return enqueue(operations -> operations.opsForHash().delete(key, entryKeys));
+    }
+
+    public Response<Boolean> hExists(String key, String entryKey) {
+        return enqueue(operations -> operations.opsForHash().hasKey(key, entryKey));
+    }
+
+    public Response<Long> hIncrBy(String key, Object entryKey, long increment) {
+        return enqueue(operations -> operations.opsForHash().increment(key, entryKey, increment));
+    }
+
+    // ====================== list 相关操作 ======================
+
+    public Response<Long> lLeftPush(String key, Object item) {
+        return enqueue(operations -> operations.opsForList().leftPush(key, item));
+    }
+
+    public Response<Long> lLeftPushAll(String key, Collection<Object> items) {
+        return enqueue(operations -> operations.opsForList().leftPushAll(key, items));
+    }
+
+    public Response<Long> lRightPush(String key, Object item) {
+        return enqueue(operations -> operations.opsForList().rightPush(key, item));
+    }
+
+    public Response<Long> lRightPushAll(String key, Collection<Object> items) {
+        return enqueue(operations -> operations.opsForList().rightPushAll(key, items));
+    }
+
+    public Response<Object> lLeftPop(String key) {
+        return enqueue(operations -> operations.opsForList().leftPop(key));
+    }
+
+    public Response<Object> lRightPop(String key) {
+        return enqueue(operations -> operations.opsForList().rightPop(key));
+    }
+
+    public Response<List<Object>> lRange(String key, long start, long end) {
+        return enqueue(operations -> operations.opsForList().range(key, start, end));
+    }
+
+    public Response<Long> lSize(String key) {
+        return enqueue(operations -> operations.opsForList().size(key));
+    }
+
+    // ====================== set 相关操作 ======================
+
+    public Response<Long> sAdd(String key, Object... items) {
+        return enqueue(operations -> operations.opsForSet().add(key, items));
+    }
+
+    public Response<Long> sRemove(String key, Object... items) {
+        return enqueue(operations -> operations.opsForSet().remove(key, items));
+    }
+
+    public Response<Boolean> sIsMember(String key, Object item) {
+        return enqueue(operations -> operations.opsForSet().isMember(key, item));
+    }
+
+    public Response<Set<Object>> sMembers(String key) {
+        return enqueue(operations -> operations.opsForSet().members(key));
+    }
+
+    public Response<Long> sSize(String key) {
+        return enqueue(operations -> operations.opsForSet().size(key));
+    }
+
+    // ====================== zset 相关操作 ======================
+
+    public Response<Boolean> zAdd(String key, Object item, double score) {
+        return enqueue(operations -> operations.opsForZSet().add(key, item, score));
+    }
+
+    public Response<Long> zAdd(String key, Set<ZSetOperations.TypedTuple<Object>> entries) {
+        return enqueue(operations -> operations.opsForZSet().add(key, entries));
+    }
+
+    public Response<Long> zRemove(String key, Object... items) {
+        return enqueue(operations -> operations.opsForZSet().remove(key, items));
+    }
+
+    public Response<Double> zIncrementScore(String key, Object item, double delta) {
+        return enqueue(operations -> operations.opsForZSet().incrementScore(key, item, delta));
+    }
+
+    public Response<Double> zScore(String key, Object item) {
+        return enqueue(operations -> operations.opsForZSet().score(key, item));
+    }
+
+    public Response<Set<Object>> zRange(String key, long start, long end) {
+        return enqueue(operations -> operations.opsForZSet().range(key, start, end));
+    }
+
+    public Response<Long> zSize(String key) {
+        return enqueue(operations -> operations.opsForZSet().zCard(key));
+    }
+
+    /**
+     * 已入队的命令数
+     */
+    public int size() {
+        return commands.size();
+    }
+
+    /**
+     * 发送所有已入队的命令并清空队列
+     * <p>
+     * 注：命令按 batchSize 分块，每块一次管道往返；块之间不具备原子性
+     *
+     * @return 与入队顺序一致的命令结果
+     * @author TimeChaser
+     * @since 2026/10/17 10:42
+     */
+    public List<Object> execute() {
+        List<Object> results = new ArrayList<>(commands.size());
+        for (int from = 0, n = commands.size(); from < n; from += batchSize) {
+            List<Command<?>> chunk = commands.subList(from, Math.min(from + batchSize, n));
+            List<Object> chunkResults = redisTemplate.executePipelined(new SessionCallback<Object>() {
+                @Override
+                @SuppressWarnings("unchecked")
+                public <K, V> Object execute(RedisOperations<K, V> operations) throws DataAccessException {
+                    RedisOperations<String, Object> redisOperations = (RedisOperations<String, Object>) operations;
+                    for (Command<?> command : chunk) {
+                        command.operation.apply(redisOperations);
+                    }
+                    return null;
+                }
+            });
+            results.addAll(align(chunk, chunkResults));
+        }
+        if (log.isDebugEnabled()) {
+            log.debug("execute(...) => commands -> {}, batchSize -> {}", commands.size(), batchSize);
+        }
+        commands.clear();
+        return results;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static byte[] rawKey(RedisOperations<String, Object> operations, String key) {
+        return ((RedisSerializer<String>) operations.getKeySerializer()).serialize(key);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static byte[] rawValue(RedisOperations<String, Object> operations, Object value) {
+        return ((RedisSerializer<Object>) operations.getValueSerializer()).serialize(value);
+    }
+
+    /**
+     * 将管道结果按入队顺序对应到命令；连接过滤了状态回复时，被过滤的命令结果记为 true
+     */
+    private List<Object> align(List<Command<?>> chunk, List<Object> chunkResults) {
+        int statusCount = 0;
+        for (Command<?> command : chunk) {
+            if (command.status) {
+                statusCount++;
+            }
+        }
+        boolean filtered = chunkResults.size() != chunk.size();
+        if (filtered && chunkResults.size() != chunk.size() - statusCount) {
+            log.warn("execute(...) => pipelined result size mismatch, expected -> {}, actual -> {}", chunk.size(), chunkResults.size());
+            BaseErrorEnum.INVALID_REDIS_RESULT_ERROR.throwException();
+        }
+
+        List<Object> aligned = new ArrayList<>(chunk.size());
+        Iterator<Object> iterator = chunkResults.iterator();
+        for (Command<?> command : chunk) {
+            Object result = filtered && command.status ? Boolean.TRUE : iterator.next();
+            command.response.set(result);
+            aligned.add(result);
+        }
+        return aligned;
+    }
+
+    private <T> Response<T> enqueue(Operation operation) {
+        return enqueue(operation, false);
+    }
+
+    /**
+     * 入队返回状态回复的命令，其结果可能被连接过滤
+     */
+    private <T> Response<T> enqueueStatus(Operation operation) {
+        return enqueue(operation, true);
+    }
+
+    private <T> Response<T> enqueue(Operation operation, boolean status) {
+        Response<T> response = new Response<>();
+        commands.add(new Command<>(operation, response, status));
+        return response;
+    }
+
+    @FunctionalInterface
+    private interface Operation {
+
+        void apply(RedisOperations<String, Object> operations);
+
+    }
+
+    private static class Command<T> {
+
+        private final Operation operation;
+        private final Response<T> response;
+        private final boolean status;
+
+        private Command(Operation operation, Response<T> response, boolean status) {
+            this.operation = operation;
+            this.response = response;
+            this.status = status;
+        }
+
+    }
+
+    /**
+     * 单条命令的结果，在 {@link #execute()} 之后可用
+     *
+     * @author TimeChaser
+     * @since 2026/10/17 10:30
+     */
+    public static class Response<T> {
+
+        private T value;
+        private boolean done;
+
+        Response() {
+        }
+
+        /**
+         * 获取命令结果
+         *
+         * @throws IllegalStateException 若所属批次尚未执行
+         */
+        public T get() {
+            if (!done) {
+                throw new IllegalStateException("pipeline has not been executed yet");
+            }
+            return value;
+        }
+
+        public boolean isDone() {
+            return done;
+        }
+
+        @SuppressWarnings("unchecked")
+        void set(Object value) {
+            this.value = (T) value;
+            this.done = true;
+        }
+
+    }
+
+}
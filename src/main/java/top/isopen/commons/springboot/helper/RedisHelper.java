@@ -1,24 +1,38 @@
 package top.isopen.commons.springboot.helper;
 
 import com.alibaba.fastjson.JSON;
+import org.springframework.dao.DataAccessException;
 import org.springframework.data.redis.RedisSystemException;
+import org.springframework.data.redis.connection.ClusterSlotHashUtil;
 import org.springframework.data.redis.connection.DataType;
+import org.springframework.data.redis.connection.RedisClusterConnection;
+import org.springframework.data.redis.connection.RedisClusterNode;
 import org.springframework.data.redis.connection.RedisConnection;
 import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.connection.RedisZSetCommands;
 import org.springframework.data.redis.connection.ReturnType;
 import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.DefaultTypedTuple;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisOperations;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.SessionCallback;
 import org.springframework.data.redis.core.ZSetOperations;
 import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.data.redis.serializer.RedisSerializer;
 import top.isopen.commons.logging.Log;
 import top.isopen.commons.logging.LogFactory;
 import top.isopen.commons.springboot.enums.BaseErrorEnum;
 
 import java.nio.charset.StandardCharsets;
-import java.time.Instant;
 import java.util.*;
 import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.ToLongFunction;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Redis 工具类
@@ -48,14 +62,61 @@ public class RedisHelper {
      * lua 脚本, 保证 释放锁脚本 的原子性（以避免, 并发场景下, 释放了别人的锁）
      */
     private final String RELEASE_LOCK_LUA;
+    /**
+     * lua 脚本, 释放锁成功后向 ARGV[2] 发布锁名, 唤醒等待该锁的客户端
+     */
+    private final String RELEASE_LOCK_NOTIFY_LUA;
+    /**
+     * 释放锁脚本在 {@link RedisScriptRegistry} 中的注册名
+     */
+    private static final String RELEASE_LOCK_SCRIPT = "commons:release-lock";
+    private static final String RELEASE_LOCK_NOTIFY_SCRIPT = "commons:release-lock-notify";
+    /**
+     * 集群 slot 所属主节点的缓存时间，拓扑过期只影响分组的往返次数，不影响结果
+     */
+    private static final long SLOT_OWNERS_TTL_MILLIS = 60_000;
 
     {
         // 不论 lua 中 0 是否代表失败; 对于 java 的 Boolean 而言, 返回 0, 则会被解析为 false
         RELEASE_LOCK_LUA = "if redis.call('get',KEYS[1]) == ARGV[1] " + "then " + "    return redis.call('del',KEYS[1]) " + "else " + "    return 0 " + "end ";
+        RELEASE_LOCK_NOTIFY_LUA = "if redis.call('get',KEYS[1]) == ARGV[1] " + "then " + "    redis.call('del',KEYS[1]) " + "    redis.call('publish',ARGV[2],KEYS[1]) " + "    return 1 " + "else " + "    return 0 " + "end ";
     }
 
+    /**
+     * Lua 脚本注册表，脚本以 EVALSHA 执行
+     */
+    private final RedisScriptRegistry scriptRegistry;
+
+    /**
+     * 分布式锁的等待策略（退避 + 释放通知）
+     */
+    private final RedisLockWaitStrategy lockWaitStrategy;
+    /**
+     * 是否为集群模式，null 表示尚未探测
+     */
+    private volatile Boolean cluster;
+    /**
+     * 集群模式下 slot -> 主节点，定期刷新，null 表示尚未获取
+     */
+    private volatile String[] slotOwners;
+    private volatile long slotOwnersExpireAt;
+
     public RedisHelper(RedisTemplate<String, Object> redisTemplate) {
+        this(redisTemplate, new RedisScriptRegistry(redisTemplate));
+    }
+
+    public RedisHelper(RedisTemplate<String, Object> redisTemplate, RedisScriptRegistry scriptRegistry) {
+        this(redisTemplate, scriptRegistry, new RedisLockWaitStrategy());
+    }
+
+    public RedisHelper(RedisTemplate<String, Object> redisTemplate, RedisScriptRegistry scriptRegistry, RedisLockWaitStrategy lockWaitStrategy) {
         this.redisTemplate = redisTemplate;
+        this.scriptRegistry = scriptRegistry;
+        this.lockWaitStrategy = lockWaitStrategy;
+        this.scriptRegistry.register(RELEASE_LOCK_SCRIPT, RELEASE_LOCK_LUA);
+        if (lockWaitStrategy.getNotifier() != null) {
+            this.scriptRegistry.register(RELEASE_LOCK_NOTIFY_SCRIPT, RELEASE_LOCK_NOTIFY_LUA);
+        }
     }
 
     // ====================== key 相关操作 ======================
@@ -92,12 +153,28 @@ public class RedisHelper {
      * redis 中存在的 key-value 里，有名为 a1、a2 的 key，
      * 删除时，传的集合是 a1、a2、a3，那么返回结果为 2。
      *
+     * 注：集群模式下按 slot 分组，每个主节点一次管道，节点间并行删除。
+     *
      * @param keys 要删除的 key 集合
      * @return 删除了的 key-value 个数
      * @since 2020/3/7 17:48:04
      */
     public long delete(Collection<String> keys) {
-        Long count = redisTemplate.delete(keys);
+        Long count;
+        if (isCluster() && keys.size() > 1) {
+            long sum = 0;
+            for (List<Object> nodeResults : executeByNode(new ArrayList<>(keys), RedisOperations::delete).values()) {
+                for (Object groupCount : nodeResults) {
+                    if (!(groupCount instanceof Long)) {
+                        BaseErrorEnum.INVALID_REDIS_RESULT_ERROR.throwException();
+                    }
+                    sum += (Long) groupCount;
+                }
+            }
+            count = sum;
+        } else {
+            count = redisTemplate.delete(keys);
+        }
         if (log.isDebugEnabled()) {
             log.debug("delete(...) => keys -> {}", keys);
             log.debug("delete(...) => count -> {}", count);
@@ -232,6 +309,7 @@ public class RedisHelper {
      * 找到所有匹配 pattern 的 key,并返回该 key 的集合.
      * <p>
      * 提示：若 redis 中键值对较多，此方法耗时相对较长，慎用！慎用！慎用！
+     * 大 keyspace 请使用 {@link #scanKeys(String, long)}
      *
      * @param pattern 匹配模板。
      *                注：常用的通配符有：
@@ -249,6 +327,108 @@ public class RedisHelper {
         return keys;
     }
 
+    /**
+     * 以 SCAN 游标逐页遍历匹配 pattern 的 key，返回惰性消费的 {@link Stream}
+     * <p>
+     * 与 {@link #keys(String)} 不同，SCAN 每次只扫描一小部分 keyspace，不会阻塞 redis；客户端同一时刻也只保留一页 key。
+     * 集群模式下依次扫描每个 master 节点。
+     * <p>
+     * 注：Stream 独占一条连接，消费完毕时自动释放；若中途放弃消费，须关闭 Stream（推荐 try-with-resources）。
+     * 注：SCAN 的语义决定了同一个 key 可能被返回多次，遍历期间新增的 key 不一定会被返回。
+     *
+     * @param pattern 匹配模板，通配符同 {@link #keys(String)}
+     * @param count   每页 SCAN 的数量提示（COUNT）
+     * @return 匹配 pattern 的 key 的 Stream
+     * @since 2026/10/17 15:40
+     */
+    public Stream<String> scanKeys(String pattern, long count) {
+        if (log.isDebugEnabled()) {
+            log.debug("scanKeys(...) => pattern -> {}, count -> {}", pattern, count);
+        }
+        ScanOptions options = ScanOptions.scanOptions().match(pattern).count(count).build();
+        KeyScanIterator iterator = redisTemplate.executeWithStickyConnection(
+                connection -> new KeyScanIterator(connection, redisTemplate.getKeySerializer(), options));
+        if (iterator == null) {
+            BaseErrorEnum.INVALID_REDIS_RESULT_ERROR.throwException();
+        }
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.NONNULL), false)
+                .onClose(iterator::close);
+    }
+
+    /**
+     * 删除所有匹配 pattern 的 key
+     * <p>
+     * 以 SCAN 逐页遍历，每页 key 通过一次管道批量删除
+     *
+     * @param pattern 匹配模板，通配符同 {@link #keys(String)}
+     * @param count   每页 SCAN 的数量提示，同时也是每次管道删除的 key 数
+     * @return 删除了的 key-value 个数
+     * @see #scanKeys(String, long)
+     * @since 2026/10/17 15:48
+     */
+    public long deleteByPattern(String pattern, long count) {
+        long result = scanPages(pattern, count, RedisBatch::delete, RedisHelper::countDeleted);
+        if (log.isDebugEnabled()) {
+            log.debug("deleteByPattern(...) => pattern -> {}, count -> {}", pattern, count);
+            log.debug("deleteByPattern(...) => result -> {}", result);
+        }
+        return result;
+    }
+
+    /**
+     * 给所有匹配 pattern 的 key 设置过期时间
+     * <p>
+     * 以 SCAN 逐页遍历，每页 key 通过一次管道批量设置
+     *
+     * @param pattern    匹配模板，通配符同 {@link #keys(String)}
+     * @param count      每页 SCAN 的数量提示，同时也是每次管道设置的 key 数
+     * @param timeToLive 过时时间
+     * @param unit       timeToLive 的单位
+     * @return 设置成功的 key 个数
+     * @see #scanKeys(String, long)
+     * @since 2026/10/17 15:48
+     */
+    public long expireByPattern(String pattern, long count, long timeToLive, TimeUnit unit) {
+        long result = scanPages(pattern, count, (batch, key) -> batch.expire(key, timeToLive, unit), RedisHelper::countSucceed);
+        if (log.isDebugEnabled()) {
+            log.debug("expireByPattern(...) => pattern -> {}, count -> {}, timeToLive -> {}, unit -> {}", pattern, count, timeToLive, unit);
+            log.debug("expireByPattern(...) => result -> {}", result);
+        }
+        return result;
+    }
+
+    /**
+     * 以 SCAN 逐页遍历 key，每页通过一次管道对每个 key 执行 command
+     *
+     * @param counter 将 command 的结果换算为计数，结果类型由命令决定，如 DEL 为 Long、EXPIRE 为 Boolean
+     * @return counter 计数之和
+     */
+    private long scanPages(String pattern, long count, BiConsumer<RedisBatch, String> command, ToLongFunction<Object> counter) {
+        int pageSize = (int) Math.max(1, Math.min(count, Integer.MAX_VALUE));
+        long succeed = 0;
+        try (Stream<String> keys = scanKeys(pattern, count)) {
+            Iterator<String> iterator = keys.iterator();
+            RedisBatch batch = pipeline(pageSize);
+            while (iterator.hasNext()) {
+                command.accept(batch, iterator.next());
+                if (batch.size() >= pageSize || !iterator.hasNext()) {
+                    for (Object result : batch.execute()) {
+                        succeed += counter.applyAsLong(result);
+                    }
+                }
+            }
+        }
+        return succeed;
+    }
+
+    private static long countDeleted(Object result) {
+        return result instanceof Long ? (Long) result : 0;
+    }
+
+    private static long countSucceed(Object result) {
+        return Boolean.TRUE.equals(result) ? 1 : 0;
+    }
+
     /**
      * 将当前数据库中的 key 对应的 key-value,移动到对应位置的数据库中。
      * <p>
@@ -580,6 +760,7 @@ public class RedisHelper {
      * 批量设置 key-value
      * <p>
      * 注：若存在相同的 key, 则原来的 key-value会 被丢弃。
+     * 注：集群模式下按 slot 分组，每个主节点一次管道，节点间并行设置，slot 与 slot 之间不具备原子性。
      *
      * @param maps key-value 集
      * @since 2020/3/8 17:21:19
@@ -588,6 +769,17 @@ public class RedisHelper {
         if (log.isDebugEnabled()) {
             log.debug("multiSet(...) => maps -> {}", maps);
         }
+        if (isCluster() && maps.size() > 1) {
+            /*MSET 的管道结果会被部分连接过滤，此处不使用结果*/
+            executeByNode(new ArrayList<>(maps.keySet()), (operations, group) -> {
+                Map<String, Object> groupMap = new LinkedHashMap<>(group.size() * 2);
+                for (String key : group) {
+                    groupMap.put(key, maps.get(key));
+                }
+                operations.opsForValue().multiSet(groupMap);
+            });
+            return;
+        }
         redisTemplate.opsForValue().multiSet(maps);
     }
 
@@ -600,12 +792,18 @@ public class RedisHelper {
      * 否则不会设置任何 key-value。
      * <p>
      * 注：若存在相同的 key，则原来的 key-value 会被丢弃。
+     * 注：集群模式下 MSETNX 无法跨 slot 保证原子性，所有 key 须位于同一个 slot，
+     * 可通过 {@link Helper#hashTag(String, String...)} 使相关的 key 位于同一个 slot。
      *
      * @param maps key-value 集
      * @return 操作是否成功
      * @since 2020/3/8 17:21:19
      */
     public boolean multiSetIfAbsent(Map<String, Object> maps) {
+        if (isCluster() && !Helper.isSameSlot(maps.keySet())) {
+            log.info("multiSetIfAbsent(...) keys must be in the same slot in cluster mode, use Helper.hashTag(...)");
+            BaseErrorEnum.INVALID_REDIS_CROSS_SLOT_ERROR.throwException();
+        }
         Boolean result = redisTemplate.opsForValue().multiSetIfAbsent(maps);
         if (log.isDebugEnabled()) {
             log.debug("multiSetIfAbsent(...) => maps -> {}", maps);
@@ -786,13 +984,36 @@ public class RedisHelper {
      * 批量获取 value 值
      * <p>
      * 注：若 redis 中，对应的 key 不存在，那么该 key 对应的返回的 value 值为 null
+     * 注：集群模式下按 slot 分组，每个主节点一次管道，节点间并行获取，返回的 value 仍与 keys 的顺序一致
      *
      * @param keys key 集
      * @return value 值集合
      * @since 2020/3/8 18:26:33
      */
     public List<Object> multiGet(Collection<String> keys) {
-        List<Object> result = redisTemplate.opsForValue().multiGet(keys);
+        List<Object> result;
+        if (isCluster() && keys.size() > 1) {
+            Object[] values = new Object[keys.size()];
+            executeByNode(new ArrayList<>(keys), (operations, group) -> operations.opsForValue().multiGet(group))
+                    .forEach((indexGroups, nodeResults) -> {
+                        if (nodeResults.size() != indexGroups.size()) {
+                            BaseErrorEnum.INVALID_REDIS_RESULT_ERROR.throwException();
+                        }
+                        for (int i = 0; i < indexGroups.size(); i++) {
+                            List<Integer> indexes = indexGroups.get(i);
+                            Object groupResult = nodeResults.get(i);
+                            if (!(groupResult instanceof List) || ((List<?>) groupResult).size() != indexes.size()) {
+                                BaseErrorEnum.INVALID_REDIS_RESULT_ERROR.throwException();
+                            }
+                            for (int j = 0; j < indexes.size(); j++) {
+                                values[indexes.get(j)] = ((List<?>) groupResult).get(j);
+                            }
+                        }
+                    });
+            result = Arrays.asList(values);
+        } else {
+            result = redisTemplate.opsForValue().multiGet(keys);
+        }
         if (log.isDebugEnabled()) {
             log.debug("multiGet(...) => keys -> {}", keys);
             log.debug("multiGet(...) => result -> {}", result);
@@ -883,6 +1104,7 @@ public class RedisHelper {
      *
      * @param key 定位 hash 的 key
      * @return key 对应的 hash。
+     * @see #hStream(String, int)
      * @since 2020/3/9 9:09:30
      */
     public Map<Object, Object> hGetAll(String key) {
@@ -1097,6 +1319,26 @@ public class RedisHelper {
         return cursor;
     }
 
+    /**
+     * 以 HSCAN 游标逐页遍历(key对应的)hash，返回惰性消费的 entry {@link Stream}
+     * <p>
+     * 与 {@link #hGetAll(String)} 不同，客户端同一时刻只保留一页原始数据，entry 在消费时才反序列化
+     * <p>
+     * 注：Stream 独占一条连接，消费完毕时自动释放；若中途放弃消费，须关闭 Stream（推荐 try-with-resources）。
+     * 注：HSCAN 的语义决定了同一个 entry 可能被返回多次。
+     *
+     * @param key      定位hash的key
+     * @param pageSize 每页 HSCAN 的数量提示（COUNT）
+     * @return (key对应的)hash中的entry的Stream
+     * @since 2026/10/17 16:12
+     */
+    public Stream<Map.Entry<Object, Object>> hStream(String key, int pageSize) {
+        if (log.isDebugEnabled()) {
+            log.debug("hStream(...) => key -> {}, pageSize -> {}", key, pageSize);
+        }
+        return cursorStream(redisTemplate.opsForHash().scan(key, ScanOptions.scanOptions().count(pageSize).build()));
+    }
+
     // ====================== list 相关操作 ======================
 
     //     提示: 列表中的元素，可以重复。
@@ -1481,6 +1723,7 @@ public class RedisHelper {
      * @param key 定位list的key
      * @return (key对应的)list
      * @see #lRange(String, long, long)
+     * @see #lStream(String, int)
      * @since 2020/3/10 0:46:50
      */
     public List<Object> lWholeList(String key) {
@@ -1492,6 +1735,29 @@ public class RedisHelper {
         return result;
     }
 
+    /**
+     * 以 LRANGE 窗口逐页读取(key对应的)list，返回惰性消费的 {@link Stream}
+     * <p>
+     * 与 {@link #lWholeList(String)} 不同，每页只拉取 pageSize 个元素，元素在消费时才反序列化
+     * <p>
+     * 注：页与页之间不具备原子性，读取期间 list 被修改时元素可能被跳过或重复返回。
+     *
+     * @param key      定位list的key
+     * @param pageSize 每页的元素个数
+     * @return (key对应的)list的Stream
+     * @since 2026/10/17 16:12
+     */
+    public Stream<Object> lStream(String key, int pageSize) {
+        if (log.isDebugEnabled()) {
+            log.debug("lStream(...) => key -> {}, pageSize -> {}", key, pageSize);
+        }
+        byte[] rawKey = rawKey(key);
+        return rangeStream(new RangeIterator<byte[], Object>(
+                (start, end) -> redisTemplate.execute((RedisCallback<List<byte[]>>) connection -> connection.listCommands().lRange(rawKey, start, end)),
+                this::deserializeValue,
+                pageSize));
+    }
+
     /**
      * 获取(key对应的)list的size
      * <p>
@@ -1991,6 +2257,7 @@ public class RedisHelper {
      *
      * @param key 定位set的key
      * @return (key对应的)set
+     * @see #sStream(String, int)
      * @since 2020/3/11 14:49:39
      */
     public Set<Object> sMembers(String key) {
@@ -2086,6 +2353,26 @@ public class RedisHelper {
         return cursor;
     }
 
+    /**
+     * 以 SSCAN 游标逐页遍历(key对应的)set，返回惰性消费的 {@link Stream}
+     * <p>
+     * 与 {@link #sMembers(String)} 不同，客户端同一时刻只保留一页原始数据，item 在消费时才反序列化
+     * <p>
+     * 注：Stream 独占一条连接，消费完毕时自动释放；若中途放弃消费，须关闭 Stream（推荐 try-with-resources）。
+     * 注：SSCAN 的语义决定了同一个 item 可能被返回多次。
+     *
+     * @param key      定位set的key
+     * @param pageSize 每页 SSCAN 的数量提示（COUNT）
+     * @return (key对应的)set中的item的Stream
+     * @since 2026/10/17 16:12
+     */
+    public Stream<Object> sStream(String key, int pageSize) {
+        if (log.isDebugEnabled()) {
+            log.debug("sStream(...) => key -> {}, pageSize -> {}", key, pageSize);
+        }
+        return cursorStream(redisTemplate.opsForSet().scan(key, ScanOptions.scanOptions().count(pageSize).build()));
+    }
+
     // ====================== ZSet 相关操作 ======================
 
     //      特别说明: ZSet是有序的,
@@ -2341,6 +2628,7 @@ public class RedisHelper {
      * @param key 定位zset的键
      * @return (key对应的)zset中的所有item项
      * @see #zRange(String, long, long)
+     * @see #zStream(String, int)
      * @since 2020/3/12 10:02:07
      */
     public Set<Object> zWholeZSetItem(String key) {
@@ -2388,6 +2676,7 @@ public class RedisHelper {
      * @param key 定位zset的键
      * @return (key对应的)zset中的所有entry
      * @see #zRangeWithScores(String, long, long)
+     * @see #zStream(String, int)
      * @since 2020/3/12 10:02:07
      */
     public Set<ZSetOperations.TypedTuple<Object>> zWholeZSetEntry(String key) {
@@ -2399,6 +2688,48 @@ public class RedisHelper {
         return entries;
     }
 
+    /**
+     * 以 ZRANGE WITHSCORES 窗口逐页读取(key对应的)zset，返回按 score 升序、惰性消费的 entry {@link Stream}
+     * <p>
+     * 与 {@link #zWholeZSetEntry(String)} 不同，每页只拉取 pageSize 个 entry，entry 在消费时才反序列化
+     * <p>
+     * 注：页与页之间不具备原子性，读取期间 zset 被修改时 entry 可能被跳过或重复返回；
+     * 不关心顺序时可使用 {@link #zScanStream(String, int)}。
+     *
+     * @param key      定位zset的键
+     * @param pageSize 每页的 entry 个数
+     * @return (key对应的)zset中entry的Stream
+     * @since 2026/10/17 16:12
+     */
+    public Stream<ZSetOperations.TypedTuple<Object>> zStream(String key, int pageSize) {
+        if (log.isDebugEnabled()) {
+            log.debug("zStream(...) => key -> {}, pageSize -> {}", key, pageSize);
+        }
+        byte[] rawKey = rawKey(key);
+        return rangeStream(new RangeIterator<RedisZSetCommands.Tuple, ZSetOperations.TypedTuple<Object>>(
+                (start, end) -> redisTemplate.execute((RedisCallback<Set<RedisZSetCommands.Tuple>>) connection -> connection.zSetCommands().zRangeWithScores(rawKey, start, end)),
+                tuple -> new DefaultTypedTuple<>(deserializeValue(tuple.getValue()), tuple.getScore()),
+                pageSize));
+    }
+
+    /**
+     * 以 ZSCAN 游标逐页遍历(key对应的)zset，返回惰性消费的 entry {@link Stream}，不保证顺序
+     * <p>
+     * 注：Stream 独占一条连接，消费完毕时自动释放；若中途放弃消费，须关闭 Stream（推荐 try-with-resources）。
+     * 注：ZSCAN 的语义决定了同一个 entry 可能被返回多次。
+     *
+     * @param key      定位zset的键
+     * @param pageSize 每页 ZSCAN 的数量提示（COUNT）
+     * @return (key对应的)zset中entry的Stream
+     * @since 2026/10/17 16:12
+     */
+    public Stream<ZSetOperations.TypedTuple<Object>> zScanStream(String key, int pageSize) {
+        if (log.isDebugEnabled()) {
+            log.debug("zScanStream(...) => key -> {}, pageSize -> {}", key, pageSize);
+        }
+        return cursorStream(redisTemplate.opsForZSet().scan(key, ScanOptions.scanOptions().count(pageSize).build()));
+    }
+
     /**
      * 根据score， 获取(key对应的)zset中分数值处于[minScore, maxScore]中的item项集
      * <p>
@@ -2769,6 +3100,174 @@ public class RedisHelper {
         return size;
     }
 
+    // ====================== pipeline 相关操作 ======================
+
+    /**
+     * 创建一个管道批量操作，命令入队后调用 {@link RedisBatch#execute()} 一次性发送
+     * <p>
+     * 注：每 {@link RedisBatch#DEFAULT_BATCH_SIZE} 条命令一次网络往返
+     *
+     * @return {@link RedisBatch}
+     * @since 2026/10/17 10:45
+     */
+    public RedisBatch pipeline() {
+        return new RedisBatch(redisTemplate, RedisBatch.DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * 创建一个管道批量操作，命令入队后调用 {@link RedisBatch#execute()} 一次性发送
+     *
+     * @param batchSize 每次网络往返发送的最大命令数
+     * @return {@link RedisBatch}
+     * @since 2026/10/17 10:45
+     */
+    public RedisBatch pipeline(int batchSize) {
+        return new RedisBatch(redisTemplate, batchSize);
+    }
+
+    /**
+     * 以管道方式执行 commands 中入队的命令
+     * <p>
+     * 示例：redisHelper.pipeline(batch -> keys.forEach(key -> batch.expire(key, 1, TimeUnit.HOURS)));
+     *
+     * @param commands 向 {@link RedisBatch} 入队命令
+     * @return 与入队顺序一致的命令结果
+     * @since 2026/10/17 10:45
+     */
+    public List<Object> pipeline(Consumer<RedisBatch> commands) {
+        RedisBatch batch = pipeline();
+        commands.accept(batch);
+        List<Object> result = batch.execute();
+        if (log.isDebugEnabled()) {
+            log.debug("pipeline(...) => result size -> {}", result.size());
+        }
+        return result;
+    }
+
+    // ====================== cluster 辅助方法 ======================
+
+    /**
+     * 当前连接是否为集群连接，首次调用时探测并缓存
+     */
+    private boolean isCluster() {
+        Boolean result = cluster;
+        if (result == null) {
+            result = redisTemplate.execute((RedisCallback<Boolean>) connection -> connection instanceof RedisClusterConnection, true);
+            cluster = result;
+        }
+        return Boolean.TRUE.equals(result);
+    }
+
+    /**
+     * 集群模式下按主节点执行多 key 命令：keys 按 slot 分组，每个主节点一次管道，管道中每个 slot 一条命令，节点间并行
+     *
+     * @param command 对一个 slot 的 key 执行的命令，在管道中执行
+     * @return 每个节点的 slot 分组（key 在 keyList 中的下标） -> 该节点管道中按 slot 分组顺序的结果
+     */
+    private Map<List<List<Integer>>, List<Object>> executeByNode(List<String> keyList, BiConsumer<RedisOperations<String, Object>, List<String>> command) {
+        List<List<List<Integer>>> nodeGroups = ClusterSlotExecutor.groupByNode(keyList, this.slotOwners());
+        List<List<Object>> nodeResults = ClusterSlotExecutor.execute(nodeGroups, indexGroups ->
+                redisTemplate.executePipelined(new SessionCallback<Object>() {
+                    @Override
+                    @SuppressWarnings("unchecked")
+                    public <K, V> Object execute(RedisOperations<K, V> operations) throws DataAccessException {
+                        for (List<Integer> indexes : indexGroups) {
+                            List<String> group = new ArrayList<>(indexes.size());
+                            for (Integer index : indexes) {
+                                group.add(keyList.get(index));
+                            }
+                            command.accept((RedisOperations<String, Object>) operations, group);
+                        }
+                        return null;
+                    }
+                }));
+        Map<List<List<Integer>>, List<Object>> result = new IdentityHashMap<>(nodeGroups.size() * 2);
+        for (int i = 0; i < nodeGroups.size(); i++) {
+            result.put(nodeGroups.get(i), nodeResults.get(i));
+        }
+        return result;
+    }
+
+    /**
+     * 集群中每个 slot 所属的主节点，缓存 {@link #SLOT_OWNERS_TTL_MILLIS} 后重新获取
+     */
+    private String[] slotOwners() {
+        String[] owners = slotOwners;
+        if (owners == null || System.currentTimeMillis() >= slotOwnersExpireAt) {
+            owners = new String[ClusterSlotExecutor.SLOT_COUNT];
+            Iterable<RedisClusterNode> nodes = redisTemplate.execute((RedisCallback<Iterable<RedisClusterNode>>) connection ->
+                    ((RedisClusterConnection) connection).clusterGetNodes(), true);
+            if (nodes != null) {
+                for (RedisClusterNode node : nodes) {
+                    if (!node.isMaster() || node.getSlotRange() == null) {
+                        continue;
+                    }
+                    String owner = node.asString();
+                    for (Integer slot : node.getSlotRange().getSlots()) {
+                        owners[slot] = owner;
+                    }
+                }
+            }
+            slotOwners = owners;
+            slotOwnersExpireAt = System.currentTimeMillis() + SLOT_OWNERS_TTL_MILLIS;
+        }
+        return owners;
+    }
+
+    // ====================== stream 辅助方法 ======================
+
+    @SuppressWarnings("unchecked")
+    private byte[] rawKey(String key) {
+        return ((RedisSerializer<String>) redisTemplate.getKeySerializer()).serialize(key);
+    }
+
+    private Object deserializeValue(byte[] value) {
+        return redisTemplate.getValueSerializer().deserialize(value);
+    }
+
+    private static <T> Stream<T> rangeStream(RangeIterator<?, T> iterator) {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED | Spliterator.NONNULL), false);
+    }
+
+    /**
+     * 将 SCAN 游标包装为 Stream，游标遍历完毕或 Stream 关闭时释放游标占用的连接
+     */
+    private <T> Stream<T> cursorStream(Cursor<T> cursor) {
+        Iterator<T> iterator = new Iterator<T>() {
+            @Override
+            public boolean hasNext() {
+                if (cursor.isClosed()) {
+                    return false;
+                }
+                if (cursor.hasNext()) {
+                    return true;
+                }
+                closeCursor(cursor);
+                return false;
+            }
+
+            @Override
+            public T next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return cursor.next();
+            }
+        };
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.NONNULL), false)
+                .onClose(() -> closeCursor(cursor));
+    }
+
+    private void closeCursor(Cursor<?> cursor) {
+        try {
+            if (!cursor.isClosed()) {
+                cursor.close();
+            }
+        } catch (Exception e) {
+            log.warn("closeCursor(...) => close scan cursor failure! e.getMessage -> {}", e.getMessage());
+        }
+    }
+
     // ====================== 分布式锁(单机版) 相关操作 ======================
 
     //      使用方式(示例):
@@ -2863,36 +3362,19 @@ public class RedisHelper {
      * 若失败, 则进行重试, 直到成功 或 超时为止。
      * <p>
      * 注: 获取结果是阻塞的， 要么成功, 要么超时, 才返回。
+     * 注: 重试之间按指数退避（带随机抖动）等待; 开启了锁释放通知时, 锁被释放后会立即重试。
      *
      * @param retryTimeoutLimit 重试的超时时长(ms)
      *                          其它参数可详见:
      * @return 是否成功
      * @see #getLock(String, String, long, TimeUnit, boolean)
+     * @see RedisLockWaitStrategy
      */
     public boolean getLockUntilTimeout(final String key, final String value, final long timeout, final TimeUnit unit, final long retryTimeoutLimit) {
         if (log.isDebugEnabled()) {
             log.debug("getLockUntilTimeout(...) => key -> {}, value -> {}, timeout -> {}, unit -> {}, " + "retryTimeoutLimit -> {}ms", key, value, timeout, unit, retryTimeoutLimit);
         }
-        long startTime = Instant.now().toEpochMilli();
-        long now = startTime;
-        do {
-            try {
-                boolean alreadyGotLock = getLock(key, value, timeout, unit, false);
-                if (alreadyGotLock) {
-                    if (log.isDebugEnabled()) {
-                        log.debug("getLockUntilTimeout(...) => consume time -> {}ms, result -> true", now - startTime);
-                    }
-                    return true;
-                }
-            } catch (Exception e) {
-                log.warn("getLockUntilTimeout(...) => try to get lock failure! e.getMessage -> {}", e.getMessage());
-            }
-            now = Instant.now().toEpochMilli();
-        } while (now < startTime + retryTimeoutLimit);
-        if (log.isDebugEnabled()) {
-            log.debug("getLockUntilTimeout(...) => consume time -> {}ms, result -> false", now - startTime);
-        }
-        return false;
+        return lockWaitStrategy.acquire(key, () -> getLock(key, value, timeout, unit, false), retryTimeoutLimit);
     }
 
     /**
@@ -2951,7 +3433,10 @@ public class RedisHelper {
      * @since 2020/3/15 17:00:45
      */
     public boolean releaseLock(final String key, final String value) {
-        Boolean result = redisTemplate.execute((RedisConnection connection) -> connection.eval(RELEASE_LOCK_LUA.getBytes(), ReturnType.BOOLEAN, 1, key.getBytes(StandardCharsets.UTF_8), value.getBytes(StandardCharsets.UTF_8)));
+        RedisLockNotifier notifier = lockWaitStrategy.getNotifier();
+        Boolean result = notifier == null
+                ? scriptRegistry.execute(RELEASE_LOCK_SCRIPT, ReturnType.BOOLEAN, 1, key.getBytes(StandardCharsets.UTF_8), value.getBytes(StandardCharsets.UTF_8))
+                : scriptRegistry.execute(RELEASE_LOCK_NOTIFY_SCRIPT, ReturnType.BOOLEAN, 1, key.getBytes(StandardCharsets.UTF_8), value.getBytes(StandardCharsets.UTF_8), notifier.getChannel().getBytes(StandardCharsets.UTF_8));
         if (log.isDebugEnabled()) {
             log.debug("releaseLock(...) => key -> {}, lockValue -> {}", key, value);
             log.debug("releaseLock(...) => result -> {}", result);
@@ -2962,6 +3447,57 @@ public class RedisHelper {
         return result;
     }
 
+    /**
+     * 分布式锁的等待策略, 可从中获取尝试次数、等待时长、获取耗时等统计
+     *
+     * @since 2026/10/17 17:20
+     */
+    public RedisLockWaitStrategy getLockWaitStrategy() {
+        return lockWaitStrategy;
+    }
+
+    // ====================== lua 脚本 相关操作 ======================
+
+    /**
+     * 注册 lua 脚本，注册时通过 SCRIPT LOAD 预加载
+     * <p>
+     * 注册后可通过 {@link #executeScript(String, ReturnType, List, String...)} 以 EVALSHA 的方式原子执行
+     *
+     * @param name   脚本名
+     * @param script 脚本内容
+     * @return 脚本的 SHA1
+     * @see RedisScriptRegistry#register(String, String)
+     * @since 2026/10/17 16:40
+     */
+    public String registerScript(String name, String script) {
+        String sha1 = scriptRegistry.register(name, script);
+        if (log.isDebugEnabled()) {
+            log.debug("registerScript(...) => name -> {}, sha1 -> {}", name, sha1);
+        }
+        return sha1;
+    }
+
+    /**
+     * 执行已注册的 lua 脚本
+     * <p>
+     * 优先 EVALSHA，redis 脚本缓存丢失（NOSCRIPT）时自动回退为 EVAL
+     *
+     * @param name       脚本名
+     * @param returnType 脚本返回值类型
+     * @param keys       脚本的 KEYS
+     * @param args       脚本的 ARGV
+     * @return 脚本返回值
+     * @see RedisScriptRegistry#execute(String, ReturnType, List, String...)
+     * @since 2026/10/17 16:40
+     */
+    public <T> T executeScript(String name, ReturnType returnType, List<String> keys, String... args) {
+        T result = scriptRegistry.execute(name, returnType, keys, args);
+        if (log.isDebugEnabled()) {
+            log.debug("executeScript(...) => name -> {}, keys -> {}, args -> {}", name, keys, args);
+            log.debug("executeScript(...) => result -> {}", result);
+        }
+        return result;
+    }
 
     /**
      * 提供一些基础功能支持
@@ -3008,6 +3544,59 @@ public class RedisHelper {
             return sb.toString();
         }
 
+        /**
+         * 以 hash tag 拼接 args，集群模式下 tag 相同的 key 位于同一个 slot
+         * <p>
+         * 如: hashTag("user:1", "order", "list") => 【{user:1}:order:list】
+         * <p>
+         * 注: 只有 {} 中的 tag 参与 slot 计算，tag 相同的 key 过多时会造成数据倾斜
+         *
+         * @param tag  hash tag，不能为空且不能包含 { }
+         * @param args 要拼接的元素数组
+         * @return 拼接后的字符串
+         * @since 2026/10/17 18:40
+         */
+        public static String hashTag(String tag, String... args) {
+            if (tag == null || tag.isEmpty() || tag.indexOf('{') >= 0 || tag.indexOf('}') >= 0) {
+                throw new RuntimeException(" tag must not be empty or contain '{' '}'!");
+            }
+            String prefix = "{" + tag + "}";
+            if (args == null || args.length == 0) {
+                return prefix;
+            }
+            return prefix + DEFAULT_SYMBOL + join(args);
+        }
+
+        /**
+         * 计算 key 所在的 slot，与 redis 集群的算法一致（CRC16 % 16384，存在 hash tag 时只计算 tag）
+         *
+         * @param key key
+         * @return key 所在的 slot
+         * @since 2026/10/17 18:40
+         */
+        public static int slot(String key) {
+            return ClusterSlotHashUtil.calculateSlot(key);
+        }
+
+        /**
+         * keys 是否位于同一个 slot
+         *
+         * @param keys key 集
+         * @return 是否位于同一个 slot
+         * @since 2026/10/17 18:40
+         */
+        public static boolean isSameSlot(Collection<String> keys) {
+            int slot = -1;
+            for (String key : keys) {
+                int current = slot(key);
+                if (slot != -1 && slot != current) {
+                    return false;
+                }
+                slot = current;
+            }
+            return true;
+        }
+
     }
 
 }
@@ -0,0 +1,101 @@
+package top.isopen.commons.springboot.helper;
+
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import top.isopen.commons.logging.Log;
+import top.isopen.commons.logging.LogFactory;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * 分布式锁释放通知
+ * <p>
+ * {@link RedisHelper#releaseLock(String, String)}、{@link ReactiveRedisHelper#releaseLock(String, String)} 与 {@link top.isopen.commons.springboot.lock.annotation.RedLocks#atomic()} 释放锁后向 channel 发布锁名，
+ * 本地正在等待该锁的线程被唤醒后立即重试，而不必等到退避时间结束
+ * <p>
+ * 注：通知只是缩短等待的手段，丢失通知时等待者仍会在退避时间结束后重试
+ *
+ * @author TimeChaser
+ * @version 1.0
+ * @since 2026/10/17 17:02
+ */
+public class RedisLockNotifier implements MessageListener {
+
+    private static final Log log = LogFactory.getLog(RedisLockNotifier.class);
+
+    /**
+     * 默认的锁释放通知 channel
+     */
+    public static final String DEFAULT_CHANNEL = "commons:lock:release";
+
+    private final String channel;
+    private final ConcurrentMap<String, Waiters> waiters = new ConcurrentHashMap<>();
+
+    public RedisLockNotifier() {
+        this(DEFAULT_CHANNEL);
+    }
+
+    public RedisLockNotifier(String channel) {
+        this.channel = channel;
+    }
+
+    public String getChannel() {
+        return channel;
+    }
+
+    /**
+     * 等待锁 key 的释放通知，最多等待 millis 毫秒
+     *
+     * @return 是否被通知唤醒
+     */
+    boolean await(String key, long millis) throws InterruptedException {
+        Waiters current = waiters.compute(key, (k, w) -> {
+            if (w == null) {
+                w = new Waiters();
+            }
+            w.count++;
+            return w;
+        });
+        try {
+            synchronized (current) {
+                long version = current.version;
+                current.wait(millis);
+                return current.version != version;
+            }
+        } finally {
+            waiters.computeIfPresent(key, (k, w) -> --w.count == 0 ? null : w);
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String key = new String(message.getBody(), StandardCharsets.UTF_8);
+        Waiters current = waiters.get(key);
+        if (current == null) {
+            return;
+        }
+        synchronized (current) {
+            current.version++;
+            current.notifyAll();
+        }
+        if (log.isDebugEnabled()) {
+            log.debug("onMessage(...) => key -> {} released, wake up waiters", key);
+        }
+    }
+
+    private static class Waiters {
+
+        /**
+         * 正在等待的线程数，仅在 {@link ConcurrentHashMap#compute} 中修改
+         */
+        private int count;
+        /**
+         * 通知次数，用于区分被通知唤醒与等待超时
+         */
+        private long version;
+
+    }
+
+}
@@ -0,0 +1,189 @@
+package top.isopen.commons.springboot.helper;
+
+import top.isopen.commons.logging.Log;
+import top.isopen.commons.logging.LogFactory;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BooleanSupplier;
+
+/**
+ * 分布式锁的等待策略
+ * <p>
+ * 获取锁失败后按指数退避等待，退避时间带有随机抖动，避免大量等待者在同一时刻一起重试；
+ * 配置了 {@link RedisLockNotifier} 时，等待期间收到锁释放通知会立即重试
+ * <p>
+ * 同时统计获取锁的尝试次数、等待时长与获取耗时
+ *
+ * @author TimeChaser
+ * @version 1.0
+ * @since 2026/10/17 17:10
+ */
+public class RedisLockWaitStrategy {
+
+    private static final Log log = LogFactory.getLog(RedisLockWaitStrategy.class);
+
+    public static final long DEFAULT_INITIAL_BACKOFF_MILLIS = 5;
+    public static final long DEFAULT_MAX_BACKOFF_MILLIS = 200;
+
+    private final long initialBackoffMillis;
+    private final long maxBackoffMillis;
+    private final RedisLockNotifier notifier;
+
+    private final LongAdder attempts = new LongAdder();
+    private final LongAdder acquired = new LongAdder();
+    private final LongAdder timeouts = new LongAdder();
+    private final LongAdder wakeUps = new LongAdder();
+    private final LongAdder waitNanos = new LongAdder();
+    private final LongAdder acquireNanos = new LongAdder();
+
+    public RedisLockWaitStrategy() {
+        this(DEFAULT_INITIAL_BACKOFF_MILLIS, DEFAULT_MAX_BACKOFF_MILLIS, null);
+    }
+
+    /**
+     * @param initialBackoffMillis 首次退避时长（ms）
+     * @param maxBackoffMillis     最大退避时长（ms）
+     * @param notifier             锁释放通知，为 null 时只按退避时长等待
+     */
+    public RedisLockWaitStrategy(long initialBackoffMillis, long maxBackoffMillis, RedisLockNotifier notifier) {
+        if (initialBackoffMillis <= 0 || maxBackoffMillis < initialBackoffMillis) {
+            throw new IllegalArgumentException("backoff must satisfy 0 < initialBackoffMillis <= maxBackoffMillis");
+        }
+        this.initialBackoffMillis = initialBackoffMillis;
+        this.maxBackoffMillis = maxBackoffMillis;
+        this.notifier = notifier;
+    }
+
+    public RedisLockNotifier getNotifier() {
+        return notifier;
+    }
+
+    /**
+     * 反复尝试 tryLock，直到成功或超时
+     *
+     * @param key           锁名，用于接收锁释放通知
+     * @param tryLock       一次非阻塞的获取锁尝试
+     * @param timeoutMillis 等待的超时时长（ms）
+     * @return 是否获取成功；等待期间线程被中断时返回 false 并保留中断标记
+     */
+    boolean acquire(String key, BooleanSupplier tryLock, long timeoutMillis) {
+        long start = System.nanoTime();
+        long deadline = start + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        for (int attempt = 0; ; attempt++) {
+            attempts.increment();
+            try {
+                if (tryLock.getAsBoolean()) {
+                    acquired.increment();
+                    acquireNanos.add(System.nanoTime() - start);
+                    if (log.isDebugEnabled()) {
+                        log.debug("acquire(...) => key -> {}, attempts -> {}, consume time -> {}ms", key, attempt + 1,
+                                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+                    }
+                    return true;
+                }
+            } catch (Exception e) {
+                log.warn("acquire(...) => try to get lock failure! e.getMessage -> {}", e.getMessage());
+            }
+
+            long remainingMillis = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+            if (remainingMillis <= 0) {
+                break;
+            }
+            long delay = Math.min(backoff(attempt), remainingMillis);
+            try {
+                await(key, delay);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        timeouts.increment();
+        if (log.isDebugEnabled()) {
+            log.debug("acquire(...) => key -> {}, consume time -> {}ms, result -> false", key,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        }
+        return false;
+    }
+
+    /**
+     * 等待锁 key 释放，最多等待 millis 毫秒；配置了 {@link RedisLockNotifier} 时收到锁释放通知立即返回
+     *
+     * @param key    锁名
+     * @param millis 最长等待时长（ms）
+     * @return 是否被通知唤醒
+     * @author TimeChaser
+     * @since 2026/10/18 15:40
+     */
+    public boolean await(String key, long millis) throws InterruptedException {
+        long waitStart = System.nanoTime();
+        try {
+            if (notifier != null) {
+                if (notifier.await(key, millis)) {
+                    wakeUps.increment();
+                    return true;
+                }
+            } else {
+                Thread.sleep(millis);
+            }
+            return false;
+        } finally {
+            waitNanos.add(System.nanoTime() - waitStart);
+        }
+    }
+
+    /**
+     * 第 attempt 次失败后的退避时长：在 [cap / 2, cap] 中随机，cap 从 initialBackoffMillis 起指数增长至 maxBackoffMillis
+     */
+    public long backoff(int attempt) {
+        long cap = initialBackoffMillis << Math.min(attempt, 20);
+        if (cap <= 0 || cap > maxBackoffMillis) {
+            cap = maxBackoffMillis;
+        }
+        return ThreadLocalRandom.current().nextLong(cap / 2, cap + 1);
+    }
+
+    /**
+     * 累计尝试获取锁（SET NX）的次数
+     */
+    public long getAttempts() {
+        return attempts.sum();
+    }
+
+    /**
+     * 获取成功的次数
+     */
+    public long getAcquired() {
+        return acquired.sum();
+    }
+
+    /**
+     * 等待超时（或被中断）的次数
+     */
+    public long getTimeouts() {
+        return timeouts.sum();
+    }
+
+    /**
+     * 被锁释放通知提前唤醒的次数
+     */
+    public long getWakeUps() {
+        return wakeUps.sum();
+    }
+
+    /**
+     * 累计等待时长（ns），即退避或等待通知所花费的时间
+     */
+    public long getWaitNanos() {
+        return waitNanos.sum();
+    }
+
+    /**
+     * 获取成功时，从开始获取到成功的累计耗时（ns）
+     */
+    public long getAcquireNanos() {
+        return acquireNanos.sum();
+    }
+
+}
@@ -0,0 +1,289 @@
+package top.isopen.commons.springboot.helper;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import lombok.EqualsAndHashCode;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import top.isopen.commons.logging.Log;
+import top.isopen.commons.logging.LogFactory;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Redis 近端缓存（本地 + Redis 两级缓存）
+ * <p>
+ * 读取时优先命中本地缓存（Caffeine，W-TinyLFU 淘汰，按条目数限制容量，写入后 ttl 过期），未命中时读取 redis 并回填；
+ * 通过本类写入（set / delete / hPut / hDelete）时，先写 redis，再失效本地缓存，并向 channel 发布 key，
+ * 订阅了同一 channel 的其他节点收到后失效各自的本地缓存
+ * <p>
+ * 注：绕过本类直接写 redis 时，须调用 {@link #invalidate(String)}，否则其他节点最多读到 ttl 时长的旧值。
+ * 注：本地缓存返回的是同一个对象实例，调用方不应修改读到的 value。
+ * 注：redis 中不存在的 key 不会被缓存。
+ *
+ * @author TimeChaser
+ * @version 1.0
+ * @since 2026/10/17 17:50
+ */
+public class RedisNearCache implements MessageListener {
+
+    private static final Log log = LogFactory.getLog(RedisNearCache.class);
+
+    /**
+     * 默认的失效通知 channel
+     */
+    public static final String DEFAULT_CHANNEL = "commons:near-cache:invalidate";
+    /**
+     * 失效版本号的分段数，须为 2 的幂
+     */
+    private static final int VERSION_STRIPES = 1024;
+
+    private final RedisHelper redisHelper;
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final String channel;
+    private final Cache<NearKey, Object> cache;
+    /**
+     * key -> 已缓存的 hash entryKey，用于按 key 失效整个 hash
+     */
+    private final ConcurrentMap<String, Set<String>> hashEntryKeys = new ConcurrentHashMap<>();
+    /**
+     * 按 key 的 hash 分段的失效版本号，每次失效 key 时递增，用于发现读取 redis 期间发生的失效；
+     * 不同 key 落在同一分段时只会使读到的值少缓存一次，不影响正确性
+     */
+    private final AtomicLongArray versions = new AtomicLongArray(VERSION_STRIPES);
+
+    private final LongAdder invalidations = new LongAdder();
+
+    /**
+     * @param redisHelper   redis 工具类
+     * @param redisTemplate 用于发布失效通知
+     * @param maximumSize   本地缓存的最大条目数
+     * @param ttl           本地缓存条目写入后的存活时长
+     * @param channel       失效通知 channel
+     */
+    public RedisNearCache(RedisHelper redisHelper, RedisTemplate<String, Object> redisTemplate,
+                          long maximumSize, Duration ttl, String channel) {
+        this.redisHelper = redisHelper;
+        this.redisTemplate = redisTemplate;
+        this.channel = channel;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl.toNanos(), TimeUnit.NANOSECONDS)
+                .removalListener((NearKey nearKey, Object value, RemovalCause cause) -> {
+                    if (nearKey != null && nearKey.entryKey != null) {
+                        hashEntryKeys.computeIfPresent(nearKey.key, (k, entryKeys) -> {
+                            entryKeys.remove(nearKey.entryKey);
+                            return entryKeys.isEmpty() ? null : entryKeys;
+                        });
+                    }
+                })
+                .recordStats()
+                .build();
+    }
+
+    public String getChannel() {
+        return channel;
+    }
+
+    // ====================== string 相关操作 ======================
+
+    /**
+     * @see RedisHelper#get(String)
+     */
+    public Object get(String key) {
+        return cache.get(new NearKey(key, null), nearKey -> redisHelper.get(key));
+    }
+
+    /**
+     * @see RedisHelper#set(String, Object)
+     */
+    public void set(String key, Object value) {
+        redisHelper.set(key, value);
+        invalidate(key);
+    }
+
+    /**
+     * @see RedisHelper#setEx(String, Object, long, TimeUnit)
+     */
+    public void setEx(String key, Object value, long timeToLive, TimeUnit unit) {
+        redisHelper.setEx(key, value, timeToLive, unit);
+        invalidate(key);
+    }
+
+    /**
+     * @see RedisHelper#delete(String)
+     */
+    public boolean delete(String key) {
+        boolean result = redisHelper.delete(key);
+        invalidate(key);
+        return result;
+    }
+
+    // ====================== hash 相关操作 ======================
+
+    /**
+     * 读取 redis 前先登记 entryKey 并记下 key 的失效版本号，回填后版本号已变化说明读取期间 key 被失效过，
+     * 读到的可能是旧值，此时撤回回填
+     *
+     * @see RedisHelper#hGet(String, String)
+     */
+    public Object hGet(String key, String entryKey) {
+        NearKey nearKey = new NearKey(key, entryKey);
+        Object entryValue = cache.getIfPresent(nearKey);
+        if (entryValue != null) {
+            return entryValue;
+        }
+        /*redis 中不存在时登记不撤回，以免撤回并发读取者的登记；下次失效 key 时一并清除*/
+        hashEntryKeys.computeIfAbsent(key, k -> ConcurrentHashMap.newKeySet()).add(entryKey);
+        long version = versions.get(stripe(key));
+        entryValue = redisHelper.hGet(key, entryKey);
+        if (entryValue != null) {
+            /*先回填再校验：校验之后发生的失效一定晚于回填，会将其清除*/
+            cache.put(nearKey, entryValue);
+            if (versions.get(stripe(key)) != version) {
+                cache.invalidate(nearKey);
+            }
+        }
+        return entryValue;
+    }
+
+    /**
+     * @see RedisHelper#hPut(String, String, Object)
+     */
+    public void hPut(String key, String entryKey, Object entryValue) {
+        redisHelper.hPut(key, entryKey, entryValue);
+        invalidate(key);
+    }
+
+    /**
+     * @see RedisHelper#hDelete(String, Object...)
+     */
+    public long hDelete(String key, Object... entryKeys) {
+        long result = redisHelper.hDelete(key, entryKeys);
+        invalidate(key);
+        return result;
+    }
+
+    // ====================== 失效 相关操作 ======================
+
+    /**
+     * 失效本地缓存中 key 对应的 value（或 hash 的所有 entry），并通知其他节点失效
+     *
+     * @param key 被修改的 key
+     * @since 2026/10/17 17:50
+     */
+    public void invalidate(String key) {
+        invalidateLocal(key);
+        try {
+            redisTemplate.execute((RedisCallback<Long>) connection ->
+                    connection.publish(channel.getBytes(StandardCharsets.UTF_8), key.getBytes(StandardCharsets.UTF_8)));
+        } catch (Exception e) {
+            log.warn("invalidate(...) => publish invalidation of key [{}] failure! e.getMessage -> {}", key, e.getMessage());
+        }
+    }
+
+    /**
+     * 只失效本地缓存中 key 对应的 value（或 hash 的所有 entry）
+     */
+    public void invalidateLocal(String key) {
+        invalidations.increment();
+        /*须先于清除本地缓存递增，使正在读取 redis 的 hGet 能发现这次失效*/
+        versions.incrementAndGet(stripe(key));
+        cache.invalidate(new NearKey(key, null));
+        Set<String> entryKeys = hashEntryKeys.remove(key);
+        if (entryKeys != null) {
+            List<NearKey> nearKeys = new ArrayList<>(entryKeys.size());
+            for (String entryKey : entryKeys) {
+                nearKeys.add(new NearKey(key, entryKey));
+            }
+            cache.invalidateAll(nearKeys);
+        }
+    }
+
+    /**
+     * 清空本地缓存
+     */
+    public void invalidateAllLocal() {
+        cache.invalidateAll();
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String key = new String(message.getBody(), StandardCharsets.UTF_8);
+        invalidateLocal(key);
+        if (log.isDebugEnabled()) {
+            log.debug("onMessage(...) => key -> {} invalidated", key);
+        }
+    }
+
+    private static int stripe(String key) {
+        int hash = key.hashCode();
+        return (hash ^ (hash >>> 16)) & (VERSION_STRIPES - 1);
+    }
+
+    // ====================== 统计 ======================
+
+    /**
+     * 本地缓存的条目数（估算值）
+     */
+    public long getSize() {
+        return cache.estimatedSize();
+    }
+
+    /**
+     * 本地缓存命中次数
+     */
+    public long getHitCount() {
+        return cache.stats().hitCount();
+    }
+
+    /**
+     * 本地缓存未命中次数
+     */
+    public long getMissCount() {
+        return cache.stats().missCount();
+    }
+
+    /**
+     * 因容量限制或过期被淘汰的条目数
+     */
+    public long getEvictionCount() {
+        return cache.stats().evictionCount();
+    }
+
+    /**
+     * 失效（本地写入与收到的通知）次数
+     */
+    public long getInvalidationCount() {
+        return invalidations.sum();
+    }
+
+    @EqualsAndHashCode
+    private static class NearKey {
+
+        private final String key;
+        /**
+         * hash 的 entryKey，string 类型时为 null
+         */
+        private final String entryKey;
+
+        private NearKey(String key, String entryKey) {
+            this.key = key;
+            this.entryKey = entryKey;
+        }
+
+    }
+
+}
@@ -0,0 +1,199 @@
+package top.isopen.commons.springboot.helper;
+
+import lombok.Getter;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import top.isopen.commons.logging.Log;
+import top.isopen.commons.logging.LogFactory;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Lua 脚本注册表
+ * <p>
+ * 脚本注册时通过 SCRIPT LOAD 预加载，执行时只发送 SHA1（EVALSHA），redis 无需每次重新读取并计算脚本；
+ * 当 redis 重启或执行了 SCRIPT FLUSH 导致脚本缓存丢失（NOSCRIPT）时，自动回退为 EVAL，EVAL 同时会把脚本重新放回 redis 的脚本缓存
+ *
+ * @author TimeChaser
+ * @version 1.0
+ * @since 2026/10/17 16:30
+ */
+public class RedisScriptRegistry {
+
+    private static final Log log = LogFactory.getLog(RedisScriptRegistry.class);
+
+    private static final String NO_SCRIPT = "NOSCRIPT";
+
+    private final RedisTemplate<String, ?> redisTemplate;
+    private final Map<String, Script> scripts = new ConcurrentHashMap<>();
+
+    public RedisScriptRegistry(RedisTemplate<String, ?> redisTemplate) {
+        this.redisTemplate = redisTemplate;
+    }
+
+    /**
+     * 注册脚本并通过 SCRIPT LOAD 预加载
+     * <p>
+     * 注：预加载失败（如 redis 暂不可用）不影响注册，首次执行时会经由 NOSCRIPT 回退为 EVAL
+     * 注：同名脚本重复注册时，后者覆盖前者
+     *
+     * @param name   脚本名
+     * @param script 脚本内容
+     * @return 脚本的 SHA1
+     * @since 2026/10/17 16:30
+     */
+    public String register(String name, String script) {
+        Script entry = new Script(name, script);
+        scripts.put(name, entry);
+        load(entry);
+        return entry.getSha1();
+    }
+
+    /**
+     * 是否已注册名为 name 的脚本
+     */
+    public boolean contains(String name) {
+        return scripts.containsKey(name);
+    }
+
+    /**
+     * 获取已注册脚本的 SHA1
+     *
+     * @param name 脚本名
+     * @return 脚本的 SHA1，未注册时返回 null
+     */
+    public String getSha1(String name) {
+        Script script = scripts.get(name);
+        return script == null ? null : script.getSha1();
+    }
+
+    /**
+     * 重新预加载所有已注册的脚本
+     * <p>
+     * 可在已知 redis 脚本缓存被清空（如主从切换、SCRIPT FLUSH）后调用，避免之后的首次执行回退为 EVAL
+     *
+     * @since 2026/10/17 16:30
+     */
+    public void reload() {
+        for (Script script : scripts.values()) {
+            load(script);
+        }
+    }
+
+    /**
+     * 执行已注册的脚本
+     * <p>
+     * 优先 EVALSHA，NOSCRIPT 时回退为 EVAL
+     *
+     * @param name       脚本名
+     * @param returnType 脚本返回值类型
+     * @param keys       脚本的 KEYS
+     * @param args       脚本的 ARGV
+     * @return 脚本返回值
+     * @since 2026/10/17 16:30
+     */
+    public <T> T execute(String name, ReturnType returnType, List<String> keys, String... args) {
+        byte[][] keysAndArgs = new byte[keys.size() + args.length][];
+        int i = 0;
+        for (String key : keys) {
+            keysAndArgs[i++] = key.getBytes(StandardCharsets.UTF_8);
+        }
+        for (String arg : args) {
+            keysAndArgs[i++] = arg.getBytes(StandardCharsets.UTF_8);
+        }
+        return execute(name, returnType, keys.size(), keysAndArgs);
+    }
+
+    /**
+     * 执行已注册的脚本
+     * <p>
+     * 优先 EVALSHA，NOSCRIPT 时回退为 EVAL
+     *
+     * @param name        脚本名
+     * @param returnType  脚本返回值类型
+     * @param numKeys     keysAndArgs 中 KEYS 的个数
+     * @param keysAndArgs 脚本的 KEYS 与 ARGV
+     * @return 脚本返回值
+     * @since 2026/10/17 16:30
+     */
+    public <T> T execute(String name, ReturnType returnType, int numKeys, byte[]... keysAndArgs) {
+        Script script = scripts.get(name);
+        if (script == null) {
+            throw new IllegalArgumentException("script [" + name + "] is not registered");
+        }
+        return redisTemplate.execute((RedisCallback<T>) connection -> execute(connection, script, returnType, numKeys, keysAndArgs));
+    }
+
+    private <T> T execute(RedisConnection connection, Script script, ReturnType returnType, int numKeys, byte[][] keysAndArgs) {
+        try {
+            return connection.scriptingCommands().evalSha(script.getSha1Bytes(), returnType, numKeys, keysAndArgs);
+        } catch (RuntimeException e) {
+            if (!isNoScript(e)) {
+                throw e;
+            }
+            if (log.isDebugEnabled()) {
+                log.debug("execute(...) => script -> {}, sha1 -> {} not cached, fallback to EVAL", script.getName(), script.getSha1());
+            }
+            return connection.scriptingCommands().eval(script.getBytes(), returnType, numKeys, keysAndArgs);
+        }
+    }
+
+    private void load(Script script) {
+        try {
+            String sha1 = redisTemplate.execute((RedisCallback<String>) connection -> connection.scriptingCommands().scriptLoad(script.getBytes()));
+            if (log.isDebugEnabled()) {
+                log.debug("load(...) => script -> {}, sha1 -> {}", script.getName(), sha1);
+            }
+        } catch (Exception e) {
+            log.warn("load(...) => preload script [{}] failure, will fallback to EVAL on first call! e.getMessage -> {}", script.getName(), e.getMessage());
+        }
+    }
+
+    private static boolean isNoScript(Throwable e) {
+        while (e != null) {
+            if (e.getMessage() != null && e.getMessage().contains(NO_SCRIPT)) {
+                return true;
+            }
+            e = e.getCause();
+        }
+        return false;
+    }
+
+    @Getter
+    private static class Script {
+
+        private final String name;
+        private final byte[] bytes;
+        private final String sha1;
+        private final byte[] sha1Bytes;
+
+        private Script(String name, String script) {
+            this.name = name;
+            this.bytes = script.getBytes(StandardCharsets.UTF_8);
+            this.sha1 = sha1Hex(bytes);
+            this.sha1Bytes = sha1.getBytes(StandardCharsets.UTF_8);
+        }
+
+        private static String sha1Hex(byte[] bytes) {
+            try {
+                byte[] digest = MessageDigest.getInstance("SHA-1").digest(bytes);
+                StringBuilder sb = new StringBuilder(digest.length * 2);
+                for (byte b : digest) {
+                    sb.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+                }
+                return sb.toString();
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+    }
+
+}
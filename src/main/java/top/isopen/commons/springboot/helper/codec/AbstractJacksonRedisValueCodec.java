@@ -0,0 +1,46 @@
+package top.isopen.commons.springboot.helper.codec;
+
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.PropertyAccessor;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.io.IOException;
+
+/**
+ * 基于 Jackson 的 value 编解码
+ * <p>
+ * 子类只需提供各自数据格式的 {@link ObjectMapper}，属性可见性统一为 ANY，与原有 JSON 序列化保持一致
+ *
+ * @author TimeChaser
+ * @version 1.0
+ * @since 2026/10/17 13:14
+ */
+public abstract class AbstractJacksonRedisValueCodec implements RedisValueCodec {
+
+    private final ObjectMapper mapper;
+
+    protected AbstractJacksonRedisValueCodec(ObjectMapper mapper) {
+        mapper.setVisibility(PropertyAccessor.ALL, JsonAutoDetect.Visibility.ANY);
+        this.mapper = mapper;
+    }
+
+    @Override
+    public byte[] encode(Object value) throws SerializationException {
+        try {
+            return mapper.writeValueAsBytes(value);
+        } catch (IOException e) {
+            throw new SerializationException("Could not write value: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public Object decode(byte[] bytes) throws SerializationException {
+        try {
+            return mapper.readValue(bytes, Object.class);
+        } catch (IOException e) {
+            throw new SerializationException("Could not read value: " + e.getMessage(), e);
+        }
+    }
+
+}
@@ -0,0 +1,102 @@
+package top.isopen.commons.springboot.helper.codec;
+
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.fasterxml.jackson.databind.DatabindContext;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.cfg.MapperConfig;
+import com.fasterxml.jackson.databind.jsontype.NamedType;
+import com.fasterxml.jackson.databind.jsontype.PolymorphicTypeValidator;
+import com.fasterxml.jackson.databind.jsontype.TypeIdResolver;
+import com.fasterxml.jackson.databind.jsontype.impl.ClassNameIdResolver;
+import com.fasterxml.jackson.databind.type.TypeFactory;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 支持类型别名的默认类型解析
+ * <p>
+ * 行为与 {@link ObjectMapper#activateDefaultTyping} 的 {@link JsonTypeInfo.Id#CLASS} 相同，
+ * 但注册了别名的类型写入别名，读取时别名与完整类名都能识别
+ *
+ * @author TimeChaser
+ * @version 1.0
+ * @since 2026/10/17 13:35
+ */
+class AliasTypeResolverBuilder extends ObjectMapper.DefaultTypeResolverBuilder {
+
+    private static final long serialVersionUID = -2379563095412906231L;
+
+    private final Map<String, Class<?>> aliasToType;
+    private final Map<Class<?>, String> typeToAlias;
+
+    AliasTypeResolverBuilder(PolymorphicTypeValidator ptv, Map<String, Class<?>> typeAliases) {
+        super(ObjectMapper.DefaultTyping.NON_FINAL, ptv);
+        this.aliasToType = new HashMap<>(typeAliases);
+        this.typeToAlias = new HashMap<>(typeAliases.size() * 2);
+        for (Map.Entry<String, Class<?>> entry : typeAliases.entrySet()) {
+            if (typeToAlias.put(entry.getValue(), entry.getKey()) != null) {
+                throw new IllegalArgumentException("duplicate type alias for " + entry.getValue().getName());
+            }
+        }
+    }
+
+    private AliasTypeResolverBuilder(AliasTypeResolverBuilder base, Class<?> defaultImpl) {
+        super(base, defaultImpl);
+        this.aliasToType = base.aliasToType;
+        this.typeToAlias = base.typeToAlias;
+    }
+
+    @Override
+    public AliasTypeResolverBuilder withDefaultImpl(Class<?> defaultImpl) {
+        if (_defaultImpl == defaultImpl) {
+            return this;
+        }
+        return new AliasTypeResolverBuilder(this, defaultImpl);
+    }
+
+    @Override
+    protected TypeIdResolver idResolver(MapperConfig<?> config, JavaType baseType, PolymorphicTypeValidator subtypeValidator,
+                                        Collection<NamedType> subtypes, boolean forSer, boolean forDeser) {
+        if (_idType == JsonTypeInfo.Id.CLASS && !aliasToType.isEmpty()) {
+            return new AliasTypeIdResolver(baseType, config.getTypeFactory(), subtypeValidator, aliasToType, typeToAlias);
+        }
+        return super.idResolver(config, baseType, subtypeValidator, subtypes, forSer, forDeser);
+    }
+
+    private static class AliasTypeIdResolver extends ClassNameIdResolver {
+
+        private final Map<String, Class<?>> aliasToType;
+        private final Map<Class<?>, String> typeToAlias;
+
+        AliasTypeIdResolver(JavaType baseType, TypeFactory typeFactory, PolymorphicTypeValidator ptv,
+                            Map<String, Class<?>> aliasToType, Map<Class<?>, String> typeToAlias) {
+            super(baseType, typeFactory, ptv);
+            this.aliasToType = aliasToType;
+            this.typeToAlias = typeToAlias;
+        }
+
+        @Override
+        public String idFromValue(Object value) {
+            String alias = typeToAlias.get(value.getClass());
+            return alias != null ? alias : super.idFromValue(value);
+        }
+
+        @Override
+        public String idFromValueAndType(Object value, Class<?> type) {
+            String alias = typeToAlias.get(type);
+            return alias != null ? alias : super.idFromValueAndType(value, type);
+        }
+
+        @Override
+        public JavaType typeFromId(DatabindContext context, String id) throws IOException {
+            Class<?> type = aliasToType.get(id);
+            return type != null ? _typeFactory.constructSpecializedType(_baseType, type) : super.typeFromId(context, id);
+        }
+
+    }
+
+}
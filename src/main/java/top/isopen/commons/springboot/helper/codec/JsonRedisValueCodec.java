@@ -0,0 +1,45 @@
+package top.isopen.commons.springboot.helper.codec;
+
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.jsontype.impl.LaissezFaireSubTypeValidator;
+
+/**
+ * JSON 编解码
+ * <p>
+ * 默认实现，每个非 final 的 value 都以 WRAPPER_ARRAY 的形式携带完整类名，与历史版本写入的数据格式完全一致
+ *
+ * @author TimeChaser
+ * @version 1.0
+ * @since 2026/10/17 13:20
+ */
+public class JsonRedisValueCodec extends AbstractJacksonRedisValueCodec {
+
+    public JsonRedisValueCodec() {
+        super(createMapper());
+    }
+
+    private static ObjectMapper createMapper() {
+        /*JSON 转对象类，不设置，默认的会将 JSON 转成 HashMap*/
+        ObjectMapper mapper = new ObjectMapper();
+        mapper.activateDefaultTyping(LaissezFaireSubTypeValidator.instance,
+                ObjectMapper.DefaultTyping.NON_FINAL,
+                JsonTypeInfo.As.WRAPPER_ARRAY);
+        return mapper;
+    }
+
+    /**
+     * JSON 文本的首个非空白字符只可能是 [ { " - t f n 或数字
+     */
+    @Override
+    public boolean canDecode(byte[] bytes) {
+        for (byte b : bytes) {
+            if (b == ' ' || b == '\t' || b == '\r' || b == '\n') {
+                continue;
+            }
+            return b == '[' || b == '{' || b == '"' || b == '-' || b == 't' || b == 'f' || b == 'n' || (b >= '0' && b <= '9');
+        }
+        return false;
+    }
+
+}
@@ -0,0 +1,50 @@
+package top.isopen.commons.springboot.helper.codec;
+
+import net.jpountz.lz4.LZ4Compressor;
+import net.jpountz.lz4.LZ4Factory;
+import net.jpountz.lz4.LZ4FastDecompressor;
+
+import java.util.Arrays;
+
+/**
+ * LZ4 压缩
+ * <p>
+ * {@link LZ4Factory#fastestInstance()} 优先使用 JNI 实现，不可用时自动退化为纯 Java 实现
+ *
+ * @author TimeChaser
+ * @version 1.0
+ * @since 2026/10/17 14:45
+ */
+public class Lz4RedisValueCompressor implements RedisValueCompressor {
+
+    public static final byte TAG = 0x02;
+
+    private final LZ4Compressor compressor;
+    private final LZ4FastDecompressor decompressor;
+
+    public Lz4RedisValueCompressor() {
+        LZ4Factory factory = LZ4Factory.fastestInstance();
+        this.compressor = factory.fastCompressor();
+        this.decompressor = factory.fastDecompressor();
+    }
+
+    @Override
+    public byte tag() {
+        return TAG;
+    }
+
+    @Override
+    public byte[] compress(byte[] raw) {
+        byte[] buffer = new byte[compressor.maxCompressedLength(raw.length)];
+        int length = compressor.compress(raw, 0, raw.length, buffer, 0, buffer.length);
+        return Arrays.copyOf(buffer, length);
+    }
+
+    @Override
+    public byte[] decompress(byte[] compressed, int offset, int length, int rawLength) {
+        byte[] raw = new byte[rawLength];
+        decompressor.decompress(compressed, offset, raw, 0, rawLength);
+        return raw;
+    }
+
+}
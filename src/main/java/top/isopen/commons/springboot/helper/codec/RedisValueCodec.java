@@ -0,0 +1,44 @@
+package top.isopen.commons.springboot.helper.codec;
+
+import org.springframework.data.redis.serializer.SerializationException;
+
+/**
+ * Redis value 编解码 SPI
+ * <p>
+ * 由 {@link RedisValueSerializer} 调用，决定 value 在 Redis 中的存储格式；注册一个该类型的 Bean 即可替换默认实现
+ *
+ * @author TimeChaser
+ * @version 1.0
+ * @since 2026/10/17 13:10
+ */
+public interface RedisValueCodec {
+
+    /**
+     * 编码
+     *
+     * @param value 不为 null 的 value
+     * @return byte[]
+     * @throws SerializationException 编码失败
+     */
+    byte[] encode(Object value) throws SerializationException;
+
+    /**
+     * 解码
+     *
+     * @param bytes 不为空的 value 字节
+     * @return Object
+     * @throws SerializationException 解码失败
+     */
+    Object decode(byte[] bytes) throws SerializationException;
+
+    /**
+     * 是否能识别 bytes 的格式
+     * <p>
+     * 迁移模式下，{@link RedisValueSerializer} 依次询问各个 codec，由第一个能识别的 codec 解码
+     *
+     * @param bytes 不为空的 value 字节
+     * @return boolean
+     */
+    boolean canDecode(byte[] bytes);
+
+}
@@ -0,0 +1,150 @@
+package top.isopen.commons.springboot.helper.codec;
+
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Redis value 压缩层
+ * <p>
+ * 编码后的 value 超过阈值时进行压缩，压缩后的数据格式为：[算法标识 1 byte][原始长度 4 byte][压缩数据]；
+ * 未超过阈值或压缩后没有变小的 value 原样存储，不带任何头部，因此与未开启压缩时写入的数据完全兼容
+ * <p>
+ * 读取时根据首字节识别所有已注册的算法，与当前写入使用的算法无关
+ *
+ * @author TimeChaser
+ * @version 1.0
+ * @since 2026/10/17 14:58
+ */
+public class RedisValueCompression {
+
+    private static final int HEADER_LENGTH = 5;
+
+    private final RedisValueCompressor writer;
+    private final RedisValueCompressor[] readers = new RedisValueCompressor[16];
+    private final int threshold;
+
+    private final LongAdder compressedCount = new LongAdder();
+    private final LongAdder rawBytes = new LongAdder();
+    private final LongAdder compressedBytes = new LongAdder();
+    private final LongAdder compressNanos = new LongAdder();
+    private final LongAdder decompressedCount = new LongAdder();
+    private final LongAdder decompressNanos = new LongAdder();
+
+    /**
+     * @param writer    写入使用的算法，为 null 时只解压不压缩
+     * @param threshold 压缩阈值（byte），编码后的 value 长度超过该值才压缩
+     * @param readers   读取时可识别的算法
+     */
+    public RedisValueCompression(RedisValueCompressor writer, int threshold, RedisValueCompressor... readers) {
+        this.writer = writer;
+        this.threshold = threshold;
+        for (RedisValueCompressor reader : readers) {
+            register(reader);
+        }
+        if (writer != null) {
+            register(writer);
+        }
+    }
+
+    private void register(RedisValueCompressor compressor) {
+        int tag = compressor.tag();
+        if (tag <= 0 || tag >= this.readers.length) {
+            throw new IllegalArgumentException("compressor tag must be in [1, " + (this.readers.length - 1) + "]");
+        }
+        this.readers[tag] = compressor;
+    }
+
+    /**
+     * 按阈值压缩
+     *
+     * @param bytes 编码后的 value
+     * @return 压缩后带头部的数据，或原样返回的 bytes
+     */
+    public byte[] compress(byte[] bytes) {
+        if (writer == null || bytes.length <= threshold) {
+            return bytes;
+        }
+        long start = System.nanoTime();
+        byte[] payload = writer.compress(bytes);
+        compressNanos.add(System.nanoTime() - start);
+        if (payload.length + HEADER_LENGTH >= bytes.length) {
+            return bytes;
+        }
+
+        byte[] result = new byte[payload.length + HEADER_LENGTH];
+        result[0] = writer.tag();
+        result[1] = (byte) (bytes.length >>> 24);
+        result[2] = (byte) (bytes.length >>> 16);
+        result[3] = (byte) (bytes.length >>> 8);
+        result[4] = (byte) bytes.length;
+        System.arraycopy(payload, 0, result, HEADER_LENGTH, payload.length);
+
+        compressedCount.increment();
+        rawBytes.add(bytes.length);
+        compressedBytes.add(result.length);
+        return result;
+    }
+
+    /**
+     * 是否为压缩后的数据
+     */
+    public boolean isCompressed(byte[] bytes) {
+        return bytes.length > HEADER_LENGTH && bytes[0] > 0 && bytes[0] < readers.length && readers[bytes[0]] != null;
+    }
+
+    /**
+     * 解压，调用前需通过 {@link #isCompressed(byte[])} 判断
+     */
+    public byte[] decompress(byte[] bytes) {
+        int rawLength = ((bytes[1] & 0xFF) << 24) | ((bytes[2] & 0xFF) << 16) | ((bytes[3] & 0xFF) << 8) | (bytes[4] & 0xFF);
+        if (rawLength < 0) {
+            throw new SerializationException("Could not decompress value: invalid raw length " + rawLength);
+        }
+        long start = System.nanoTime();
+        byte[] raw = readers[bytes[0]].decompress(bytes, HEADER_LENGTH, bytes.length - HEADER_LENGTH, rawLength);
+        decompressNanos.add(System.nanoTime() - start);
+        decompressedCount.increment();
+        return raw;
+    }
+
+    public int getThreshold() {
+        return threshold;
+    }
+
+    /**
+     * 压缩过的 value 个数
+     */
+    public long getCompressedCount() {
+        return compressedCount.sum();
+    }
+
+    /**
+     * 累计节省的字节数
+     */
+    public long getBytesSaved() {
+        return rawBytes.sum() - compressedBytes.sum();
+    }
+
+    /**
+     * 累计压缩耗时（ns），包含压缩后没有变小而放弃的情况
+     */
+    public long getCompressNanos() {
+        return compressNanos.sum();
+    }
+
+    /**
+     * 解压过的 value 个数
+     */
+    public long getDecompressedCount() {
+        return decompressedCount.sum();
+    }
+
+    /**
+     * 累计解压耗时（ns）
+     */
+    public long getDecompressNanos() {
+        return decompressNanos.sum();
+    }
+
+}
@@ -0,0 +1,38 @@
+package top.isopen.commons.springboot.helper.codec;
+
+/**
+ * Redis value 压缩算法
+ *
+ * @author TimeChaser
+ * @version 1.0
+ * @since 2026/10/17 14:42
+ */
+public interface RedisValueCompressor {
+
+    /**
+     * 算法标识，写在压缩后数据的首字节
+     * <p>
+     * 注：不能与各 codec 输出的首字节冲突，内置实现使用 0x01 ~ 0x0F
+     */
+    byte tag();
+
+    /**
+     * 压缩
+     *
+     * @param raw 原始数据
+     * @return 压缩后的数据
+     */
+    byte[] compress(byte[] raw);
+
+    /**
+     * 解压
+     *
+     * @param compressed 包含压缩数据的数组
+     * @param offset     压缩数据的起始位置
+     * @param length     压缩数据的长度
+     * @param rawLength  原始数据的长度
+     * @return 原始数据
+     */
+    byte[] decompress(byte[] compressed, int offset, int length, int rawLength);
+
+}
@@ -0,0 +1,83 @@
+package top.isopen.commons.springboot.helper.codec;
+
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 基于 {@link RedisValueCodec} 的 value 序列化器
+ * <p>
+ * 写入统一使用 writer；读取时依次询问 readers，由第一个能识别数据格式的 codec 解码，
+ * 以此在切换编码格式后仍能读取 Redis 中的旧数据（迁移模式）
+ * <p>
+ * 配置了 {@link RedisValueCompression} 时，编码后的数据按阈值压缩，读取时先识别并解压再交给 readers
+ *
+ * @author TimeChaser
+ * @version 1.0
+ * @since 2026/10/17 13:48
+ */
+public class RedisValueSerializer implements RedisSerializer<Object> {
+
+    private static final byte[] EMPTY_ARRAY = new byte[0];
+
+    private final RedisValueCodec writer;
+    private final RedisValueCodec[] readers;
+    private final RedisValueCompression compression;
+
+    public RedisValueSerializer(RedisValueCodec codec) {
+        this(codec, Collections.emptyList(), null);
+    }
+
+    /**
+     * @param writer          写入使用的 codec，同时也是第一个 reader
+     * @param fallbackReaders writer 无法识别时依次尝试的 codec
+     * @param compression     压缩层，为 null 时不压缩也不识别压缩数据
+     */
+    public RedisValueSerializer(RedisValueCodec writer, List<RedisValueCodec> fallbackReaders, RedisValueCompression compression) {
+        List<RedisValueCodec> readerList = new ArrayList<>(fallbackReaders.size() + 1);
+        readerList.add(writer);
+        readerList.addAll(fallbackReaders);
+        this.writer = writer;
+        this.readers = readerList.toArray(new RedisValueCodec[0]);
+        this.compression = compression;
+    }
+
+    @Override
+    public byte[] serialize(Object value) throws SerializationException {
+        if (value == null) {
+            return EMPTY_ARRAY;
+        }
+        byte[] bytes = writer.encode(value);
+        return compression != null ? compression.compress(bytes) : bytes;
+    }
+
+    @Override
+    public Object deserialize(byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+        if (compression != null && compression.isCompressed(bytes)) {
+            bytes = compression.decompress(bytes);
+        }
+        if (readers.length == 1) {
+            return writer.decode(bytes);
+        }
+        for (RedisValueCodec reader : readers) {
+            if (reader.canDecode(bytes)) {
+                return reader.decode(bytes);
+            }
+        }
+        throw new SerializationException("Could not read value: no codec recognizes the value format");
+    }
+
+    /**
+     * 压缩层，可用于读取压缩统计，未开启时为 null
+     */
+    public RedisValueCompression getCompression() {
+        return compression;
+    }
+
+}
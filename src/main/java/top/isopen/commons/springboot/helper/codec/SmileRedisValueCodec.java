@@ -0,0 +1,62 @@
+package top.isopen.commons.springboot.helper.codec;
+
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.jsontype.impl.LaissezFaireSubTypeValidator;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Jackson Smile 二进制编解码
+ * <p>
+ * 与 {@link JsonRedisValueCodec} 的类型语义相同，但以二进制格式存储，数字与重复出现的字符串（属性名、类名）更紧凑
+ * <p>
+ * 注册了别名的类型只写入别名而非完整类名，进一步缩小 value 体积；别名一旦投入使用便不能再修改
+ *
+ * @author TimeChaser
+ * @version 1.0
+ * @since 2026/10/17 13:26
+ */
+public class SmileRedisValueCodec extends AbstractJacksonRedisValueCodec {
+
+    /**
+     * Smile 数据头 ":)\n"
+     */
+    private static final byte[] HEADER = {':', ')', '\n'};
+
+    public SmileRedisValueCodec() {
+        this(Collections.emptyMap());
+    }
+
+    /**
+     * @param typeAliases 类型别名，别名 -> 类型
+     */
+    public SmileRedisValueCodec(Map<String, Class<?>> typeAliases) {
+        super(createMapper(typeAliases));
+    }
+
+    private static ObjectMapper createMapper(Map<String, Class<?>> typeAliases) {
+        SmileFactory factory = SmileFactory.builder()
+                .enable(SmileGenerator.Feature.WRITE_HEADER)
+                .enable(SmileGenerator.Feature.CHECK_SHARED_NAMES)
+                .enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES)
+                .build();
+        ObjectMapper mapper = new ObjectMapper(factory);
+        mapper.setDefaultTyping(new AliasTypeResolverBuilder(LaissezFaireSubTypeValidator.instance, typeAliases)
+                .init(JsonTypeInfo.Id.CLASS, null)
+                .inclusion(JsonTypeInfo.As.WRAPPER_ARRAY));
+        return mapper;
+    }
+
+    @Override
+    public boolean canDecode(byte[] bytes) {
+        return bytes.length >= HEADER.length
+                && bytes[0] == HEADER[0]
+                && bytes[1] == HEADER[1]
+                && bytes[2] == HEADER[2];
+    }
+
+}
@@ -2,36 +2,213 @@ package top.isopen.commons.springboot.lock;
 
 import io.reactivex.rxjava3.functions.BiFunction;
 import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.reflect.MethodSignature;
 import org.redisson.api.RLock;
+import org.redisson.api.RReadWriteLock;
 import org.redisson.api.RedissonClient;
+import org.springframework.util.ClassUtils;
 import top.isopen.commons.logging.Log;
 import top.isopen.commons.logging.LogFactory;
 import top.isopen.commons.springboot.enums.BaseErrorEnum;
+import top.isopen.commons.springboot.enums.LockModeEnum;
+import top.isopen.commons.springboot.helper.RedisHelper;
+import top.isopen.commons.springboot.helper.RedisLockWaitStrategy;
 import top.isopen.commons.springboot.lock.annotation.RedLock;
 import top.isopen.commons.springboot.lock.annotation.RedLocks;
+import top.isopen.commons.springboot.lock.annotation.RedReadWriteLock;
 
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
 
 public abstract class AbstractRedLockAspect {
     private static final Log log = LogFactory.getLog(AbstractRedLockAspect.class);
+
+    /**
+     * 执行 holdAfterReturn 延迟解锁的线程
+     */
+    private static final ScheduledExecutorService HOLD_SCHEDULER = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "red-lock-hold");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private static final boolean REACTOR_PRESENT = ClassUtils.isPresent("reactor.core.publisher.Mono", AbstractRedLockAspect.class.getClassLoader());
+    /**
+     * 异步加锁时代替线程 id 的锁持有者 id，取负数以免与真实的线程 id 冲突
+     * <p>
+     * 每次异步加锁使用不同的 id，使同一个线程（如 IO 线程）上发起的多次异步调用之间互斥而不是可重入
+     */
+    private static final AtomicLong ASYNC_LOCK_ID = new AtomicLong();
+    public static final int DEFAULT_ASYNC_POOL_SIZE = Math.max(4, Runtime.getRuntime().availableProcessors() * 2);
+    public static final int DEFAULT_ASYNC_QUEUE_CAPACITY = 1024;
+    /**
+     * 未指定时使用的异步调用线程池，所有切面共用，首次异步加锁时创建
+     */
+    private static volatile ExecutorService defaultAsyncExecutor;
+
     private final RedissonClient redissonClient;
+    private final LockHoldHistogram holdHistogram = new LockHoldHistogram();
+    private final LockWaitStats waitStats = new LockWaitStats();
+    private final LocalLockRegistry localLocks = new LocalLockRegistry();
+    private final RedLockObserver observer;
+    /**
+     * 异步加锁成功后调用方法的线程池，null 时使用 {@link #defaultAsyncExecutor()}
+     */
+    private final Executor asyncExecutor;
+    /**
+     * {@link RedLocks#atomic()} 一次性加锁失败后的等待策略
+     */
+    private final RedisLockWaitStrategy batchWaitStrategy;
 
     protected AbstractRedLockAspect(RedissonClient redissonClient) {
+        this(redissonClient, new RedLockObserver());
+    }
+
+    protected AbstractRedLockAspect(RedissonClient redissonClient, RedLockObserver observer) {
+        this(redissonClient, observer, null);
+    }
+
+    /**
+     * @param redissonClient redisson 客户端
+     * @param observer       锁的观测
+     * @param asyncExecutor  异步加锁（方法返回 {@link CompletableFuture}）成功后调用方法的线程池，
+     *                       为 null 时使用有界的默认线程池，见 {@link #newAsyncExecutor(int, int)}
+     */
+    protected AbstractRedLockAspect(RedissonClient redissonClient, RedLockObserver observer, Executor asyncExecutor) {
+        this(redissonClient, observer, asyncExecutor, new RedisLockWaitStrategy());
+    }
+
+    /**
+     * @param batchWaitStrategy {@link RedLocks#atomic()} 一次性加锁失败后的等待策略，使用其退避时长与锁释放通知
+     */
+    protected AbstractRedLockAspect(RedissonClient redissonClient, RedLockObserver observer, Executor asyncExecutor,
+                                    RedisLockWaitStrategy batchWaitStrategy) {
         this.redissonClient = redissonClient;
+        this.observer = observer;
+        this.asyncExecutor = asyncExecutor;
+        this.batchWaitStrategy = batchWaitStrategy;
+    }
+
+    /**
+     * 创建异步加锁后调用方法的线程池：线程数固定、队列有界、线程为守护线程且空闲时回收；
+     * 队列满时拒绝，对应的调用以 {@link RejectedExecutionException} 失败并解锁，不会在 redisson 的 IO 线程中执行方法
+     *
+     * @param poolSize      线程数
+     * @param queueCapacity 等待队列的容量
+     * @return {@link ExecutorService}
+     * @author TimeChaser
+     * @since 2026/10/18 10:20
+     */
+    public static ExecutorService newAsyncExecutor(int poolSize, int queueCapacity) {
+        AtomicInteger index = new AtomicInteger();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(poolSize, poolSize,
+                60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "red-lock-async-" + index.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    Executor getAsyncExecutor() {
+        return asyncExecutor != null ? asyncExecutor : defaultAsyncExecutor();
     }
 
-    protected void lockOn(ProceedingJoinPoint joinPoint, RedLocks redLocks) throws Throwable {
+    static Executor defaultAsyncExecutor() {
+        ExecutorService executor = defaultAsyncExecutor;
+        if (executor == null) {
+            synchronized (AbstractRedLockAspect.class) {
+                executor = defaultAsyncExecutor;
+                if (executor == null) {
+                    executor = newAsyncExecutor(DEFAULT_ASYNC_POOL_SIZE, DEFAULT_ASYNC_QUEUE_CAPACITY);
+                    defaultAsyncExecutor = executor;
+                }
+            }
+        }
+        return executor;
+    }
+
+    /**
+     * 锁持有时长直方图
+     */
+    public LockHoldHistogram getHoldHistogram() {
+        return holdHistogram;
+    }
+
+    /**
+     * 本地锁与分布式锁的等待统计
+     */
+    public LockWaitStats getWaitStats() {
+        return waitStats;
+    }
+
+    /**
+     * 锁的观测：指标、竞争激烈的 key 与当前持有的锁
+     */
+    public RedLockObserver getObserver() {
+        return observer;
+    }
+
+    protected Object lockOn(ProceedingJoinPoint joinPoint, RedLocks redLocks) throws Throwable {
         LockParameter parameter = new LockParameter(redLocks, joinPoint);
         String[] keys = parameter.getKeys();
+        if (keys.length == 0) {
+            /*集合参数为空，展开后没有需要加锁的 key；未显式允许时不能在没有锁的情况下执行*/
+            if (!parameter.isAllowEmptyKeys()) {
+                if (log.isDebugEnabled() && observer.sampleLog()) {
+                    log.debug("lockOn(...) => no key to lock after expanding @RedLocks keys of {}", parameter.getSite().getMethod());
+                }
+                BaseErrorEnum.INVALID_RED_LOCK_ASPECT_PARAMETER_ERROR.throwException();
+            }
+            return joinPoint.proceed();
+        }
 
-        RLock multiLock = this.getLock(keys, parameter.isFair());
-        this.lockOn(multiLock, parameter);
+        RLock multiLock = this.isAtomic(keys, parameter) ? new RedissonBatchLock(redissonClient, keys, batchWaitStrategy) : this.getLock(keys, parameter.isFair());
+        return this.proceed(joinPoint, multiLock, parameter);
     }
 
-    protected void lockOn(ProceedingJoinPoint joinPoint, RedLock redLock) throws Throwable {
+    protected Object lockOn(ProceedingJoinPoint joinPoint, RedLock redLock) throws Throwable {
         LockParameter parameter = new LockParameter(redLock, joinPoint);
         RLock lock = this.getLock(parameter.getKey(), parameter.isFair());
-        this.lockOn(lock, parameter);
+        return this.proceed(joinPoint, lock, parameter);
+    }
+
+    protected Object lockOn(ProceedingJoinPoint joinPoint, RedReadWriteLock redReadWriteLock) throws Throwable {
+        LockParameter parameter = new LockParameter(redReadWriteLock, joinPoint);
+        RReadWriteLock readWriteLock = redissonClient.getReadWriteLock(parameter.getKey());
+        RLock lock = parameter.getMode() == LockModeEnum.READ ? readWriteLock.readLock() : readWriteLock.writeLock();
+        return this.proceed(joinPoint, lock, parameter);
+    }
+
+    /**
+     * 是否能以一个 lua 脚本一次性获取全部 key 的锁，见 {@link RedLocks#atomic()}
+     */
+    private boolean isAtomic(String[] keys, LockParameter parameter) {
+        if (!parameter.isAtomic() || parameter.isFair()) {
+            return false;
+        }
+        if (redissonClient.getConfig().isClusterConfig() && !RedisHelper.Helper.isSameSlot(Arrays.asList(keys))) {
+            if (log.isDebugEnabled()) {
+                log.debug("isAtomic(...) => locks -> {} span multiple slots, fall back to multi lock", Arrays.toString(keys));
+            }
+            return false;
+        }
+        return true;
     }
 
     private RLock getLock(String key, boolean isFair) {
@@ -48,22 +225,316 @@ public abstract class AbstractRedLockAspect {
         return redissonClient.getMultiLock(locks);
     }
 
-    private void lockOn(RLock lock, LockParameter parameter) throws InterruptedException {
+    /**
+     * 加锁并执行被注释的方法，方法结束后解锁
+     * <p>
+     * 开启了 localFirst 时，先获取本地锁再获取分布式锁，两者共用 waitTime；解锁时先释放分布式锁再释放本地锁
+     * <p>
+     * 方法返回 {@link CompletionStage} 时，锁一直持有到其完成后才释放；
+     * 方法正常结束（或 {@link CompletionStage} 正常完成）且配置了 holdAfterReturn 时，锁再持有 holdAfterReturn 后才释放
+     * <p>
+     * 方法声明的返回类型为 {@link CompletableFuture}（或其父接口）、Mono、Flux 时不阻塞调用线程，见 {@link #proceedAsync}
+     */
+    private Object proceed(ProceedingJoinPoint joinPoint, RLock lock, LockParameter parameter) throws Throwable {
+        Class<?> returnType = ((MethodSignature) joinPoint.getSignature()).getReturnType();
+        if (CompletionStage.class.isAssignableFrom(returnType) && returnType.isAssignableFrom(CompletableFuture.class)) {
+            return this.proceedAsync(joinPoint, lock, parameter);
+        }
+        if (REACTOR_PRESENT && ReactiveRedLocks.isReactive(returnType)) {
+            return ReactiveRedLocks.proceed(this, joinPoint, lock, parameter, returnType);
+        }
+        long start = System.nanoTime();
+        LocalLockRegistry.Held local = parameter.isLocalFirst() ? this.lockOnLocal(parameter) : null;
+        Hold hold;
+        try {
+            hold = this.lockOn(lock, parameter, this.remainingWaitTime(parameter, start));
+        } catch (Throwable e) {
+            if (local != null) {
+                localLocks.exit(local);
+                local.release();
+            }
+            throw e;
+        }
+        boolean returned = false;
+        boolean async = false;
+        try {
+            Object result = joinPoint.proceed();
+            returned = true;
+            if (result instanceof CompletionStage) {
+                async = true;
+                return ((CompletionStage<?>) result).whenComplete((value, e) -> release(lock, local, parameter, hold, e == null));
+            }
+            return result;
+        } finally {
+            if (local != null) {
+                localLocks.exit(local);
+            }
+            if (!async) {
+                release(lock, local, parameter, hold, returned);
+            }
+        }
+    }
+
+    /**
+     * 异步加锁并执行返回 {@link CompletableFuture} 的方法，立即返回一个在方法的结果完成后完成的 {@link CompletableFuture}
+     * <p>
+     * 加锁成功后才调用方法；加锁由 redisson 的 IO 线程完成，方法总是提交到构造时指定的线程池（默认为有界的专用线程池）中调用，
+     * 以免在 IO 线程中执行业务代码，也不占用 {@link java.util.concurrent.ForkJoinPool#commonPool()}；线程池拒绝时解锁并以拒绝异常完成
+     * <p>
+     * 注：方法体不在调用线程中执行，依赖线程上下文（ThreadLocal，如事务、安全上下文、MDC）的代码须自行传递上下文。
+     * 注：异步加锁的持有者不是线程，因此不可重入，也不支持 localFirst
+     */
+    private Object proceedAsync(ProceedingJoinPoint joinPoint, RLock lock, LockParameter parameter) {
+        CompletableFuture<Object> result = new CompletableFuture<>();
+        CompletableFuture<Hold> acquired = this.lockOnAsync(lock, parameter);
+        BiConsumer<Hold, Throwable> invoke = (hold, e) -> {
+            if (e != null) {
+                result.completeExceptionally(e);
+                return;
+            }
+            CompletionStage<?> stage;
+            try {
+                stage = (CompletionStage<?>) joinPoint.proceed();
+            } catch (Throwable t) {
+                this.releaseAsync(lock, parameter, hold, false);
+                result.completeExceptionally(t);
+                return;
+            }
+            if (stage == null) {
+                this.releaseAsync(lock, parameter, hold, true);
+                result.complete(null);
+                return;
+            }
+            stage.whenComplete((value, t) -> {
+                this.releaseAsync(lock, parameter, hold, t == null);
+                if (t != null) {
+                    result.completeExceptionally(t);
+                } else {
+                    result.complete(value);
+                }
+            });
+        };
+        acquired.whenComplete((hold, e) -> {
+            try {
+                this.getAsyncExecutor().execute(() -> invoke.accept(hold, e));
+            } catch (RejectedExecutionException rejected) {
+                log.warn("proceedAsync(...) => async executor rejected, lock -> {}", lock.getName());
+                if (e == null) {
+                    this.releaseAsync(lock, parameter, hold, false);
+                }
+                result.completeExceptionally(rejected);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * 以一个新的锁持有者 id 异步加锁，不阻塞调用线程
+     * <p>
+     * 返回的 {@link CompletableFuture} 在加锁成功后完成；等待超时则以 {@link BaseErrorEnum#INVALID_RED_LOCK_TRY_ERROR} 异常完成；
+     * 加锁成功前它已被取消（如订阅者取消订阅）时，立即解锁
+     */
+    CompletableFuture<Hold> lockOnAsync(RLock lock, LockParameter parameter) {
+        long lockId = ASYNC_LOCK_ID.decrementAndGet();
         long waitTime = parameter.getWaitTime();
         long leaseTime = parameter.getLeaseTime();
         TimeUnit timeUnit = parameter.getTimeUnit();
 
+        CompletableFuture<Hold> acquired = new CompletableFuture<>();
+        long start = System.nanoTime();
         if (waitTime == -1L) {
-            /*等待时间为 -1L 则为自旋锁，一直等待直到加锁成功*/
-            lock.lock(leaseTime, timeUnit);
+            lock.lockAsync(leaseTime, timeUnit, lockId)
+                    .whenComplete((value, e) -> this.completeLockOn(acquired, lock, parameter, lockId, start, true, e));
         } else {
-            boolean locked = lock.tryLock(waitTime, leaseTime, timeUnit);
-            if (!locked) {
-                log.info("try lock failed");
-                BaseErrorEnum.INVALID_RED_LOCK_TRY_ERROR.throwException();
+            lock.tryLockAsync(waitTime, leaseTime, timeUnit, lockId)
+                    .whenComplete((locked, e) -> this.completeLockOn(acquired, lock, parameter, lockId, start, Boolean.TRUE.equals(locked), e));
+        }
+        return acquired;
+    }
+
+    private void completeLockOn(CompletableFuture<Hold> acquired, RLock lock, LockParameter parameter,
+                                long lockId, long start, boolean locked, Throwable e) {
+        if (e != null) {
+            this.lockFailed(parameter, start, false);
+            acquired.completeExceptionally(e);
+        } else if (!locked) {
+            this.lockFailed(parameter, start, true);
+            acquired.completeExceptionally(BaseErrorEnum.INVALID_RED_LOCK_TRY_ERROR.exception());
+        } else {
+            Hold hold = this.locked(parameter, lockId, start);
+            if (!acquired.complete(hold)) {
+                this.releaseAsync(lock, parameter, hold, false);
+            }
+        }
+    }
+
+    /**
+     * 释放异步加的锁，与同步加锁一样支持 holdAfterReturn
+     */
+    void releaseAsync(RLock lock, LockParameter parameter, Hold hold, boolean returned) {
+        this.release(lock, null, parameter, hold, returned);
+    }
+
+    private LocalLockRegistry.Held lockOnLocal(LockParameter parameter) throws InterruptedException {
+        String[] keys = parameter.getKey() != null ? new String[]{parameter.getKey()} : parameter.getKeys();
+        long waitTime = parameter.getWaitTime();
+        long timeoutNanos = waitTime == -1L ? -1L : parameter.getTimeUnit().toNanos(waitTime);
+
+        long start = System.nanoTime();
+        LocalLockRegistry.Held local = localLocks.acquire(keys, parameter.isFair(), timeoutNanos);
+        waitStats.recordLocal(System.nanoTime() - start, local != null);
+        if (local == null) {
+            if (log.isDebugEnabled() && observer.sampleLog()) {
+                log.debug("lockOnLocal(...) => local lock -> {} timed out", parameter.getLockName());
+            }
+            BaseErrorEnum.INVALID_RED_LOCK_TRY_ERROR.throwException();
+        }
+        return local;
+    }
+
+    /**
+     * 扣除等待本地锁的时间后，剩余的分布式锁等待时间（单位 {@link LockParameter#getTimeUnit()}）
+     */
+    private long remainingWaitTime(LockParameter parameter, long start) {
+        long waitTime = parameter.getWaitTime();
+        if (waitTime == -1L || !parameter.isLocalFirst()) {
+            return waitTime;
+        }
+        TimeUnit timeUnit = parameter.getTimeUnit();
+        long remainingNanos = timeUnit.toNanos(waitTime) - (System.nanoTime() - start);
+        return Math.max(0, timeUnit.convert(remainingNanos, TimeUnit.NANOSECONDS));
+    }
+
+    private Hold lockOn(RLock lock, LockParameter parameter, long waitTime) throws InterruptedException {
+        long leaseTime = parameter.getLeaseTime();
+        TimeUnit timeUnit = parameter.getTimeUnit();
+
+        long start = System.nanoTime();
+        boolean locked;
+        try {
+            if (waitTime == -1L) {
+                /*等待时间为 -1L 则为自旋锁，一直等待直到加锁成功*/
+                lock.lock(leaseTime, timeUnit);
+                locked = true;
+            } else {
+                locked = lock.tryLock(waitTime, leaseTime, timeUnit);
             }
+        } catch (InterruptedException | RuntimeException e) {
+            this.lockFailed(parameter, start, false);
+            throw e;
+        }
+        if (!locked) {
+            this.lockFailed(parameter, start, true);
+            BaseErrorEnum.INVALID_RED_LOCK_TRY_ERROR.throwException();
         }
-        log.info("try lock succeed");
+        return this.locked(parameter, Thread.currentThread().getId(), start);
+    }
+
+    /**
+     * 记录加锁成功，并登记到 {@link RedLockObserver}
+     *
+     * @param lockId 锁的持有者 id，同步加锁时为线程 id
+     */
+    private Hold locked(LockParameter parameter, long lockId, long start) {
+        long lockedAt = System.nanoTime();
+        long waitNanos = lockedAt - start;
+        waitStats.recordRemote(waitNanos, true);
+        long holdId = observer.onAcquired(parameter, redissonClient.getId() + ":" + lockId, waitNanos);
+        if (log.isDebugEnabled() && observer.sampleLog()) {
+            log.debug("lockOn(...) => lock -> {} acquired in {}ms", parameter.getLockName(), TimeUnit.NANOSECONDS.toMillis(waitNanos));
+        }
+        return new Hold(lockId, lockedAt, holdId);
+    }
+
+    /**
+     * 记录加锁失败
+     *
+     * @param timeout 是否等待超时，否则为加锁出错
+     */
+    private void lockFailed(LockParameter parameter, long start, boolean timeout) {
+        long waitNanos = System.nanoTime() - start;
+        if (timeout) {
+            waitStats.recordRemote(waitNanos, false);
+        }
+        observer.onFailed(parameter, waitNanos, timeout);
+        if (log.isDebugEnabled() && observer.sampleLog()) {
+            log.debug("lockOn(...) => lock -> {} {} after {}ms", parameter.getLockName(), timeout ? "timed out" : "failed",
+                    TimeUnit.NANOSECONDS.toMillis(waitNanos));
+        }
+    }
+
+    private void release(RLock lock, LocalLockRegistry.Held local, LockParameter parameter, Hold hold, boolean returned) {
+        long holdAfterReturn = parameter.getHoldAfterReturn();
+        if (returned && holdAfterReturn > 0) {
+            HOLD_SCHEDULER.schedule(() -> unlock(lock, local, parameter, hold), holdAfterReturn, parameter.getTimeUnit());
+        } else {
+            unlock(lock, local, parameter, hold);
+        }
+    }
+
+    /**
+     * 以加锁线程的身份解锁
+     * <p>
+     * 分布式锁解锁后（无论成功与否）释放本地锁
+     * <p>
+     * 锁已过期或已被其他线程持有时，redisson 拒绝解锁（{@link IllegalMonitorStateException}），此时只记录日志
+     * <p>
+     * 注：MultiLock 不支持 getName，日志中的锁名取自 {@link LockParameter}
+     */
+    private void unlock(RLock lock, LocalLockRegistry.Held local, LockParameter parameter, Hold hold) {
+        String name = parameter.getLockName();
+        long threadId = hold.lockId;
+        long holdNanos = System.nanoTime() - hold.lockedAt;
+        holdHistogram.record(holdNanos);
+        observer.onReleased(parameter, hold.holdId, holdNanos);
+        if (threadId == Thread.currentThread().getId()) {
+            try {
+                lock.unlock();
+                if (log.isDebugEnabled() && observer.sampleLog()) {
+                    log.debug("unlock(...) => lock -> {} unlocked", name);
+                }
+            } catch (IllegalMonitorStateException e) {
+                log.warn("unlock(...) => lock -> {} is not held by current thread, it may have expired! e.getMessage -> {}", name, e.getMessage());
+            } finally {
+                if (local != null) {
+                    local.release();
+                }
+            }
+            return;
+        }
+        lock.unlockAsync(threadId).whenComplete((value, e) -> {
+            if (local != null) {
+                local.release();
+            }
+            if (e != null) {
+                log.warn("unlock(...) => lock -> {} is not held by thread -> {}, it may have expired! e.getMessage -> {}", name, threadId, e.getMessage());
+            } else if (log.isDebugEnabled() && observer.sampleLog()) {
+                log.debug("unlock(...) => lock -> {} unlocked", name);
+            }
+        });
+    }
+
+    /**
+     * 持有的锁
+     */
+    static final class Hold {
+
+        /**
+         * 锁的持有者 id，同步加锁时为线程 id，异步加锁时为负数
+         */
+        private final long lockId;
+        private final long lockedAt;
+        /**
+         * {@link RedLockObserver} 中持有记录的 id
+         */
+        private final long holdId;
+
+        private Hold(long lockId, long lockedAt, long holdId) {
+            this.lockId = lockId;
+            this.lockedAt = lockedAt;
+            this.holdId = holdId;
+        }
+
     }
 
 }
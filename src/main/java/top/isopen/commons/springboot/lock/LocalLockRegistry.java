@@ -0,0 +1,111 @@
+package top.isopen.commons.springboot.lock;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 本地锁注册表
+ * <p>
+ * 每个 key 对应一个本地锁，同一个 JVM 内竞争同一个 key 的线程先在本地排队，只有拿到本地锁的线程才去竞争分布式锁
+ * <p>
+ * 本地锁以弱引用保存，没有线程持有或等待时即可被回收；
+ * 本地锁不绑定线程（{@link Semaphore}），以便异步完成或 holdAfterReturn 时由其他线程释放；
+ * 同一线程在方法内再次进入同一个 key 时直接通过，与 redisson 锁的可重入保持一致
+ *
+ * @author TimeChaser
+ * @version 1.0
+ * @since 2026/10/17 20:36
+ */
+final class LocalLockRegistry {
+
+    private final Cache<String, Semaphore> locks = Caffeine.newBuilder().weakValues().build();
+    private final Cache<String, Semaphore> fairLocks = Caffeine.newBuilder().weakValues().build();
+    /**
+     * 当前线程正在其方法内持有的本地锁 key
+     */
+    private final ThreadLocal<Set<String>> entered = ThreadLocal.withInitial(HashSet::new);
+
+    /**
+     * 按 keys 的顺序获取本地锁
+     *
+     * @param keys         锁的 key
+     * @param fair         是否公平锁
+     * @param timeoutNanos 等待的超时时长（ns），小于 0 时一直等待
+     * @return 本次获取到的本地锁（当前线程已持有的 key 不会重复获取）；超时返回 null
+     */
+    Held acquire(String[] keys, boolean fair, long timeoutNanos) throws InterruptedException {
+        Set<String> current = entered.get();
+        Held held = new Held(keys.length);
+        long deadline = System.nanoTime() + timeoutNanos;
+        boolean succeed = false;
+        try {
+            for (String key : keys) {
+                if (current.contains(key)) {
+                    continue;
+                }
+                Semaphore semaphore = (fair ? fairLocks : locks).get(key, k -> new Semaphore(1, fair));
+                if (timeoutNanos < 0) {
+                    semaphore.acquire();
+                } else if (!semaphore.tryAcquire(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS)) {
+                    return null;
+                }
+                held.keys.add(key);
+                held.semaphores.add(semaphore);
+                current.add(key);
+            }
+            succeed = true;
+            return held;
+        } finally {
+            if (!succeed) {
+                exit(held);
+                held.release();
+            }
+        }
+    }
+
+    /**
+     * 当前线程离开方法，由加锁线程在方法结束时调用
+     */
+    void exit(Held held) {
+        if (held.keys.isEmpty()) {
+            return;
+        }
+        Set<String> current = entered.get();
+        current.removeAll(held.keys);
+        if (current.isEmpty()) {
+            entered.remove();
+        }
+    }
+
+    /**
+     * 本次获取到的本地锁
+     */
+    static final class Held {
+
+        private final List<String> keys;
+        private final List<Semaphore> semaphores;
+
+        private Held(int size) {
+            this.keys = new ArrayList<>(size);
+            this.semaphores = new ArrayList<>(size);
+        }
+
+        /**
+         * 释放本地锁，可由任意线程调用
+         */
+        void release() {
+            for (int i = semaphores.size() - 1; i >= 0; i--) {
+                semaphores.get(i).release();
+            }
+        }
+
+    }
+
+}
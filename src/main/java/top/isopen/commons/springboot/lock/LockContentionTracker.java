@@ -0,0 +1,79 @@
+package top.isopen.commons.springboot.lock;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 竞争激烈的锁 key 统计
+ * <p>
+ * 只按 sampleRate 采样记录发生了竞争（等待超过阈值或超时）的加锁；
+ * 记录的 key 超过 capacity 时淘汰次数较少的一半，并将保留的 key 的次数减半，使排名偏向近期的竞争
+ *
+ * @author TimeChaser
+ * @version 1.0
+ * @since 2026/10/17 22:30
+ */
+final class LockContentionTracker {
+
+    private final double sampleRate;
+    private final int capacity;
+    private final ConcurrentMap<String, LongAdder> counts = new ConcurrentHashMap<>();
+    private final AtomicBoolean pruning = new AtomicBoolean();
+
+    LockContentionTracker(double sampleRate, int capacity) {
+        if (sampleRate <= 0 || sampleRate > 1 || capacity <= 0) {
+            throw new IllegalArgumentException("contention tracker must satisfy 0 < sampleRate <= 1 and capacity > 0");
+        }
+        this.sampleRate = sampleRate;
+        this.capacity = capacity;
+    }
+
+    void record(String key) {
+        if (sampleRate < 1 && ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+            return;
+        }
+        counts.computeIfAbsent(key, k -> new LongAdder()).increment();
+        if (counts.size() > capacity && pruning.compareAndSet(false, true)) {
+            try {
+                this.prune();
+            } finally {
+                pruning.set(false);
+            }
+        }
+    }
+
+    /**
+     * 竞争次数最多的 n 个 key，次数为按采样率还原后的估计值
+     */
+    List<RedLockObserver.ContendedKey> top(int n) {
+        List<RedLockObserver.ContendedKey> keys = new ArrayList<>(counts.size());
+        for (Map.Entry<String, LongAdder> entry : counts.entrySet()) {
+            keys.add(new RedLockObserver.ContendedKey(entry.getKey(), Math.round(entry.getValue().sum() / sampleRate)));
+        }
+        keys.sort(Comparator.comparingLong(RedLockObserver.ContendedKey::getCount).reversed());
+        return keys.size() > n ? new ArrayList<>(keys.subList(0, n)) : keys;
+    }
+
+    private void prune() {
+        List<Map.Entry<String, LongAdder>> entries = new ArrayList<>(counts.entrySet());
+        entries.sort(Comparator.comparingLong(entry -> entry.getValue().sum()));
+        int evict = entries.size() / 2;
+        for (int i = 0; i < entries.size(); i++) {
+            Map.Entry<String, LongAdder> entry = entries.get(i);
+            if (i < evict) {
+                counts.remove(entry.getKey(), entry.getValue());
+            } else {
+                LongAdder count = entry.getValue();
+                count.add(-(count.sum() / 2));
+            }
+        }
+    }
+
+}
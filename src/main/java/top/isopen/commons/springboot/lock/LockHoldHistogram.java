@@ -0,0 +1,86 @@
+package top.isopen.commons.springboot.lock;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 锁持有时长直方图
+ * <p>
+ * 按固定的毫秒边界分桶统计从加锁成功到解锁（包括 holdAfterReturn）的时长，
+ * 桶 i 统计的是 (BOUNDS[i - 1], BOUNDS[i]] 的次数，最后一个桶统计超过最大边界的次数
+ *
+ * @author TimeChaser
+ * @version 1.0
+ * @since 2026/10/17 19:05
+ */
+public class LockHoldHistogram {
+
+    /**
+     * 分桶边界（ms）
+     */
+    private static final long[] BOUNDS = {1, 2, 5, 10, 25, 50, 100, 250, 500, 1000, 2500, 5000, 10000, 30000, 60000};
+
+    private final LongAdder[] buckets = new LongAdder[BOUNDS.length + 1];
+    private final LongAdder count = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+
+    public LockHoldHistogram() {
+        for (int i = 0; i < buckets.length; i++) {
+            buckets[i] = new LongAdder();
+        }
+    }
+
+    void record(long nanos) {
+        long millis = TimeUnit.NANOSECONDS.toMillis(nanos);
+        int i = 0;
+        while (i < BOUNDS.length && millis > BOUNDS[i]) {
+            i++;
+        }
+        buckets[i].increment();
+        count.increment();
+        totalNanos.add(nanos);
+        maxNanos.accumulate(nanos);
+    }
+
+    /**
+     * 分桶边界（ms）
+     */
+    public long[] getBounds() {
+        return BOUNDS.clone();
+    }
+
+    /**
+     * 每个桶的次数，长度为 {@link #getBounds()} 的长度 + 1
+     */
+    public long[] getBucketCounts() {
+        long[] counts = new long[buckets.length];
+        for (int i = 0; i < buckets.length; i++) {
+            counts[i] = buckets[i].sum();
+        }
+        return counts;
+    }
+
+    /**
+     * 解锁次数
+     */
+    public long getCount() {
+        return count.sum();
+    }
+
+    /**
+     * 累计持有时长（ns）
+     */
+    public long getTotalNanos() {
+        return totalNanos.sum();
+    }
+
+    /**
+     * 最长持有时长（ns）
+     */
+    public long getMaxNanos() {
+        return maxNanos.get();
+    }
+
+}
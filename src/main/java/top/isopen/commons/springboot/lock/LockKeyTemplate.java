@@ -0,0 +1,185 @@
+package top.isopen.commons.springboot.lock;
+
+import org.springframework.core.convert.TypeDescriptor;
+import org.springframework.expression.EvaluationContext;
+import org.springframework.expression.Expression;
+import org.springframework.expression.spel.SpelCompilerMode;
+import org.springframework.expression.spel.SpelParserConfiguration;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+import top.isopen.commons.springboot.lock.annotation.RedLock;
+import top.isopen.commons.springboot.lock.annotation.RedLocks;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 锁 key 模板
+ * <p>
+ * 锁 key 以 ":" 分段，以 '#' 开头的段为 spEl 表达式，其余为字面量，表达式与字面量的个数不限，
+ * 如 tenant:#tenant.id:user:#user.id
+ * <p>
+ * 与历史版本生成的锁 key 保持一致：表达式与相邻的字面量之间保留 ":"，相邻的多段字面量之间以 "" 拼接，
+ * 如 a:b:#id:c:d 得到 ab:&lt;id&gt;:cd；没有表达式的 key 原样使用
+ * <p>
+ * 模板只在首次使用时解析一次，表达式由 SpEL 编译器编译为字节码，之后每次加锁只需以方法参数求值，
+ * 并在一个预估好容量的 {@link StringBuilder} 中拼出 key
+ *
+ * @author TimeChaser
+ * @version 1.0
+ * @since 2026/10/17 19:30
+ */
+final class LockKeyTemplate {
+
+    /**
+     * MIXED：表达式先解释执行，稳定后编译；编译后的表达式因参数类型变化而失败时自动退回解释执行
+     */
+    private static final SpelExpressionParser spelExpressionParser = new SpelExpressionParser(
+            new SpelParserConfiguration(SpelCompilerMode.MIXED, LockKeyTemplate.class.getClassLoader()));
+    private static final String KEY_SEPARATOR = ":";
+    private static final char SP_EL_PREFIX = '#';
+    /**
+     * 预估的单个表达式求值结果的长度
+     */
+    private static final int ESTIMATED_VALUE_LENGTH = 16;
+    private static final TypeDescriptor STRING_TYPE = TypeDescriptor.valueOf(String.class);
+
+    /**
+     * 表达式之间的字面量，literals[i] 位于 expressions[i] 之前，长度为 expressions.length + 1
+     */
+    private final String[] literals;
+    private final Expression[] expressions;
+    private final int estimatedLength;
+
+    private LockKeyTemplate(String[] literals, Expression[] expressions) {
+        this.literals = literals;
+        this.expressions = expressions;
+        int length = expressions.length * ESTIMATED_VALUE_LENGTH;
+        for (String literal : literals) {
+            length += literal.length();
+        }
+        this.estimatedLength = length;
+    }
+
+    /**
+     * 解析锁 key 模板
+     *
+     * @param key {@link RedLock#key()} 或 {@link RedLocks#keys()} 中的一项
+     * @return {@link LockKeyTemplate}
+     * @author TimeChaser
+     * @since 2026/10/17 19:30
+     */
+    static LockKeyTemplate parse(String key) {
+        String[] splits = key.split(KEY_SEPARATOR);
+        List<String> literals = new ArrayList<>();
+        List<Expression> expressions = new ArrayList<>();
+        StringBuilder literal = new StringBuilder();
+        for (String split : splits) {
+            if (!split.isEmpty() && split.charAt(0) == SP_EL_PREFIX) {
+                literals.add(literal(literal.toString(), !expressions.isEmpty(), true));
+                literal.setLength(0);
+                expressions.add(spelExpressionParser.parseRaw(split));
+            } else {
+                literal.append(split);
+            }
+        }
+        if (expressions.isEmpty()) {
+            return new LockKeyTemplate(new String[]{key}, new Expression[0]);
+        }
+        literals.add(literal(literal.toString(), true, false));
+        return new LockKeyTemplate(literals.toArray(new String[0]), expressions.toArray(new Expression[0]));
+    }
+
+    /**
+     * 以 ":" 连接字面量与相邻的表达式，字面量为空时两个表达式之间只保留一个 ":"
+     *
+     * @param literal          相邻两个表达式之间的多段字面量以 "" 拼接的结果
+     * @param afterExpression  字面量前是否有表达式
+     * @param beforeExpression 字面量后是否有表达式
+     */
+    private static String literal(String literal, boolean afterExpression, boolean beforeExpression) {
+        if (literal.isEmpty()) {
+            return afterExpression && beforeExpression ? KEY_SEPARATOR : "";
+        }
+        return (afterExpression ? KEY_SEPARATOR : "") + literal + (beforeExpression ? KEY_SEPARATOR : "");
+    }
+
+    /**
+     * 通过 EL 表达式上下文求出锁 key，表达式的值统一转换为字符串
+     *
+     * @param context EL 上下文
+     * @return {@link String}
+     * @author TimeChaser
+     * @since 2026/10/17 19:30
+     */
+    String resolve(EvaluationContext context) {
+        StringBuilder sb = new StringBuilder(estimatedLength);
+        for (int i = 0; i < expressions.length; i++) {
+            sb.append(literals[i]).append(expressions[i].getValue(context, String.class));
+        }
+        return sb.append(literals[expressions.length]).toString();
+    }
+
+    /**
+     * 通过 EL 表达式上下文求出锁 key，值为集合或数组的表达式按元素展开
+     * <p>
+     * 如 order:#orderIds 中 #orderIds 为 [1, 2] 时，得到 order:1、order:2 两个 key；
+     * 多个表达式都展开时得到它们的笛卡尔积，任一集合为空时得不到 key
+     *
+     * @param context EL 上下文
+     * @param keys    求出的 key 追加到其中
+     * @author TimeChaser
+     * @since 2026/10/17 20:05
+     */
+    void expand(EvaluationContext context, Collection<String> keys) {
+        List<List<String>> values = new ArrayList<>(expressions.length);
+        for (Expression expression : expressions) {
+            values.add(toStrings(context, expression.getValue(context)));
+        }
+        expand(values, 0, new StringBuilder(estimatedLength), keys);
+    }
+
+    private void expand(List<List<String>> values, int index, StringBuilder sb, Collection<String> keys) {
+        int mark = sb.length();
+        sb.append(literals[index]);
+        if (index == expressions.length) {
+            keys.add(sb.toString());
+        } else {
+            int valueMark = sb.length();
+            for (String value : values.get(index)) {
+                sb.append(value);
+                expand(values, index + 1, sb, keys);
+                sb.setLength(valueMark);
+            }
+        }
+        sb.setLength(mark);
+    }
+
+    private static List<String> toStrings(EvaluationContext context, Object value) {
+        if (value instanceof Collection) {
+            List<String> strings = new ArrayList<>(((Collection<?>) value).size());
+            for (Object element : (Collection<?>) value) {
+                strings.add(toString(context, element));
+            }
+            return strings;
+        }
+        if (value instanceof Object[]) {
+            Object[] array = (Object[]) value;
+            List<String> strings = new ArrayList<>(array.length);
+            for (Object element : array) {
+                strings.add(toString(context, element));
+            }
+            return strings;
+        }
+        return Collections.singletonList(toString(context, value));
+    }
+
+    private static String toString(EvaluationContext context, Object value) {
+        if (value == null || value instanceof String) {
+            return String.valueOf(value);
+        }
+        return (String) context.getTypeConverter().convertValue(value, TypeDescriptor.forObject(value), STRING_TYPE);
+    }
+
+}
@@ -0,0 +1,47 @@
+package top.isopen.commons.springboot.lock;
+
+import java.util.function.DoubleSupplier;
+
+/**
+ * 锁的指标记录
+ * <p>
+ * 默认不记录（{@link #NOOP}）；classpath 中存在 Micrometer 时由 {@link MicrometerLockMetrics} 记录
+ *
+ * @author TimeChaser
+ * @version 1.0
+ * @since 2026/10/17 22:30
+ */
+public interface LockMetrics {
+
+    LockMetrics NOOP = new LockMetrics() {
+    };
+
+    /**
+     * 获取锁的结束
+     *
+     * @param site      加锁位置
+     * @param waitNanos 获取锁的耗时（ns）
+     * @param result    acquired、timeout、error
+     */
+    default void recordAcquire(LockSite site, long waitNanos, String result) {
+    }
+
+    /**
+     * 解锁
+     *
+     * @param site      加锁位置
+     * @param holdNanos 持有锁的时长（ns）
+     */
+    default void recordHold(LockSite site, long holdNanos) {
+    }
+
+    /**
+     * 登记信号量加锁位置的可用许可数，每个加锁位置只登记一次
+     *
+     * @param site             加锁位置
+     * @param availablePermits 该位置的可用许可数，只读取本地定期刷新的值，不访问 redis
+     */
+    default void registerPermits(LockSite site, DoubleSupplier availablePermits) {
+    }
+
+}
@@ -5,19 +5,30 @@ import org.aspectj.lang.JoinPoint;
 import org.aspectj.lang.reflect.MethodSignature;
 import org.springframework.core.DefaultParameterNameDiscoverer;
 import org.springframework.core.ParameterNameDiscoverer;
-import org.springframework.expression.spel.standard.SpelExpressionParser;
 import org.springframework.expression.spel.support.StandardEvaluationContext;
 import top.isopen.commons.springboot.enums.BaseErrorEnum;
+import top.isopen.commons.springboot.enums.LockModeEnum;
 import top.isopen.commons.springboot.lock.annotation.RedLock;
 import top.isopen.commons.springboot.lock.annotation.RedLocks;
+import top.isopen.commons.springboot.lock.annotation.RedReadWriteLock;
+import top.isopen.commons.springboot.lock.annotation.RedSemaphore;
+import top.isopen.commons.springboot.lock.annotation.SingleFlight;
 
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
 import java.util.Arrays;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.TimeUnit;
 
 /**
  * 锁的参数
  * <p>
- * 用来处理锁注解 {@link RedLock} {@link RedLocks} 中配置的锁参数
+ * 用来处理锁注解 {@link RedLock} {@link RedLocks} {@link RedReadWriteLock} {@link RedSemaphore} {@link SingleFlight} 中配置的锁参数
+ * <p>
+ * 方法的参数名与锁 key 模板按 {@link Method} 缓存，每次加锁只需以方法参数对编译后的 spEl 表达式求值
  *
  * @author TimeChaser
  * @version 1.0
@@ -27,9 +38,19 @@ import java.util.concurrent.TimeUnit;
 public class LockParameter {
 
     private static final ParameterNameDiscoverer parameterNameDiscoverer = new DefaultParameterNameDiscoverer();
-    private static final SpelExpressionParser spelExpressionParser = new SpelExpressionParser();
-    private static final String KEY_SEPARATOR = ":";
-    private static final char SP_EL_PREFIX = '#';
+    private static final String[] NO_PARAMETERS = new String[0];
+
+    private static final ConcurrentMap<Method, String[]> PARAMETER_NAMES_CACHE = new ConcurrentHashMap<>();
+    private static final ConcurrentMap<Method, LockKeyTemplate> KEY_TEMPLATE_CACHE = new ConcurrentHashMap<>();
+    private static final ConcurrentMap<Method, LockKeyTemplate[]> KEYS_TEMPLATE_CACHE = new ConcurrentHashMap<>();
+    private static final ConcurrentMap<Method, LockKeyTemplate> READ_WRITE_KEY_TEMPLATE_CACHE = new ConcurrentHashMap<>();
+    private static final ConcurrentMap<Method, LockKeyTemplate> SEMAPHORE_KEY_TEMPLATE_CACHE = new ConcurrentHashMap<>();
+    private static final ConcurrentMap<Method, LockSite> LOCK_SITE_CACHE = new ConcurrentHashMap<>();
+    private static final ConcurrentMap<Method, LockSite> LOCKS_SITE_CACHE = new ConcurrentHashMap<>();
+    private static final ConcurrentMap<Method, LockSite> READ_WRITE_SITE_CACHE = new ConcurrentHashMap<>();
+    private static final ConcurrentMap<Method, LockSite> SEMAPHORE_SITE_CACHE = new ConcurrentHashMap<>();
+    private static final ConcurrentMap<Method, LockKeyTemplate> SINGLE_FLIGHT_KEY_TEMPLATE_CACHE = new ConcurrentHashMap<>();
+    private static final ConcurrentMap<Method, LockSite> SINGLE_FLIGHT_SITE_CACHE = new ConcurrentHashMap<>();
 
     String key;
     String[] keys;
@@ -39,115 +60,192 @@ public class LockParameter {
     long leaseTime;
     TimeUnit timeUnit;
     long waitTime;
+    long holdAfterReturn;
+    boolean localFirst;
+    LockModeEnum mode;
+    int permits;
+    boolean atomic;
+    boolean allowEmptyKeys;
+    LockSite site;
 
     LockParameter(RedLock redLock, JoinPoint joinPoint) {
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
         keys = null;
-        parameters = parameterNameDiscoverer.getParameterNames(((MethodSignature) joinPoint.getSignature()).getMethod());
+        parameters = getParameterNames(method);
         args = joinPoint.getArgs();
-        if (parameters != null && parameters.length != args.length) {
+        if (parameters.length != args.length) {
             BaseErrorEnum.INVALID_RED_LOCK_ASPECT_PARAMETER_ERROR.throwException();
         }
         fair = redLock.isFair();
         leaseTime = redLock.leaseTime();
         timeUnit = redLock.timeUnit();
         waitTime = redLock.waitTime();
-        key = resolveKey(redLock.key(), parameters, args);
+        holdAfterReturn = redLock.holdAfterReturn();
+        localFirst = redLock.localFirst();
+        mode = null;
+        permits = 0;
+        atomic = false;
+        allowEmptyKeys = false;
+        site = LOCK_SITE_CACHE.computeIfAbsent(method, m -> getSite(RedLock.class, m, redLock.key()));
+        key = KEY_TEMPLATE_CACHE.computeIfAbsent(method, m -> LockKeyTemplate.parse(redLock.key()))
+                .resolve(getElContext(parameters, args));
     }
 
     LockParameter(RedLocks redLocks, JoinPoint joinPoint) {
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
         key = null;
-        parameters = parameterNameDiscoverer.getParameterNames(((MethodSignature) joinPoint.getSignature()).getMethod());
+        parameters = getParameterNames(method);
         args = joinPoint.getArgs();
-        if (parameters != null && parameters.length != args.length) {
+        if (parameters.length != args.length) {
             BaseErrorEnum.INVALID_RED_LOCK_ASPECT_PARAMETER_ERROR.throwException();
         }
         fair = redLocks.isFair();
         leaseTime = redLocks.leaseTime();
         timeUnit = redLocks.timeUnit();
         waitTime = redLocks.waitTime();
-        keys = resolveKey(redLocks.keys(), parameters, args);
+        holdAfterReturn = redLocks.holdAfterReturn();
+        localFirst = redLocks.localFirst();
+        mode = null;
+        permits = 0;
+        atomic = redLocks.atomic();
+        allowEmptyKeys = redLocks.allowEmptyKeys();
+        site = LOCKS_SITE_CACHE.computeIfAbsent(method, m -> getSite(RedLocks.class, m, String.join(",", redLocks.keys())));
+        keys = resolveKey(KEYS_TEMPLATE_CACHE.computeIfAbsent(method, m -> parseKeys(redLocks.keys())), parameters, args);
+    }
+
+    LockParameter(RedReadWriteLock redReadWriteLock, JoinPoint joinPoint) {
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        keys = null;
+        parameters = getParameterNames(method);
+        args = joinPoint.getArgs();
+        if (parameters.length != args.length) {
+            BaseErrorEnum.INVALID_RED_LOCK_ASPECT_PARAMETER_ERROR.throwException();
+        }
+        /*redisson 的读写锁没有公平模式；本地锁会使读者在本地互斥，因此不支持 localFirst*/
+        fair = false;
+        leaseTime = redReadWriteLock.leaseTime();
+        timeUnit = redReadWriteLock.timeUnit();
+        waitTime = redReadWriteLock.waitTime();
+        holdAfterReturn = redReadWriteLock.holdAfterReturn();
+        localFirst = false;
+        mode = redReadWriteLock.mode();
+        permits = 0;
+        atomic = false;
+        allowEmptyKeys = false;
+        site = READ_WRITE_SITE_CACHE.computeIfAbsent(method, m -> getSite(RedReadWriteLock.class, m, redReadWriteLock.key()));
+        key = READ_WRITE_KEY_TEMPLATE_CACHE.computeIfAbsent(method, m -> LockKeyTemplate.parse(redReadWriteLock.key()))
+                .resolve(getElContext(parameters, args));
+    }
+
+    LockParameter(RedSemaphore redSemaphore, JoinPoint joinPoint) {
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        keys = null;
+        parameters = getParameterNames(method);
+        args = joinPoint.getArgs();
+        if (parameters.length != args.length) {
+            BaseErrorEnum.INVALID_RED_LOCK_ASPECT_PARAMETER_ERROR.throwException();
+        }
+        fair = false;
+        leaseTime = redSemaphore.leaseTime();
+        timeUnit = redSemaphore.timeUnit();
+        waitTime = redSemaphore.waitTime();
+        holdAfterReturn = 0L;
+        localFirst = false;
+        mode = null;
+        permits = redSemaphore.permits();
+        atomic = false;
+        allowEmptyKeys = false;
+        site = SEMAPHORE_SITE_CACHE.computeIfAbsent(method, m -> getSite(RedSemaphore.class, m, redSemaphore.key()));
+        key = SEMAPHORE_KEY_TEMPLATE_CACHE.computeIfAbsent(method, m -> LockKeyTemplate.parse(redSemaphore.key()))
+                .resolve(getElContext(parameters, args));
+    }
+
+    LockParameter(SingleFlight singleFlight, JoinPoint joinPoint) {
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        keys = null;
+        parameters = getParameterNames(method);
+        args = joinPoint.getArgs();
+        if (parameters.length != args.length) {
+            BaseErrorEnum.INVALID_RED_LOCK_ASPECT_PARAMETER_ERROR.throwException();
+        }
+        fair = false;
+        leaseTime = singleFlight.leaseTime();
+        timeUnit = singleFlight.timeUnit();
+        waitTime = singleFlight.waitTime();
+        holdAfterReturn = 0L;
+        localFirst = false;
+        mode = null;
+        permits = 0;
+        atomic = false;
+        allowEmptyKeys = false;
+        site = SINGLE_FLIGHT_SITE_CACHE.computeIfAbsent(method, m -> getSite(SingleFlight.class, m, singleFlight.key()));
+        key = SINGLE_FLIGHT_KEY_TEMPLATE_CACHE.computeIfAbsent(method, m -> LockKeyTemplate.parse(singleFlight.key()))
+                .resolve(getElContext(parameters, args));
     }
 
     /**
-     * 解析 {@link RedLock#key()}
-     *
-     * @param key        {@link RedLock#key()}
-     * @param parameters 被 {@link RedLock} 注释的方法的参数项
-     * @param args       被 {@link RedLock} 注释的方法的参数值
-     * @return {@link String}
-     * @author TimeChaser
-     * @since 2023/8/25 14:48
+     * 锁名，多个 key 时为 [key1, key2]
      */
-    private static String resolveKey(String key, String[] parameters, Object[] args) {
-        StandardEvaluationContext context = getElContext(parameters, args);
-        return resolveKey(key, context);
+    public String getLockName() {
+        return key != null ? key : Arrays.toString(keys);
+    }
+
+    private static LockSite getSite(Class<? extends Annotation> type, Method method, String template) {
+        return new LockSite(type.getSimpleName(), method.getDeclaringClass().getSimpleName() + "." + method.getName(), template);
     }
 
     /**
-     * 解析 {@link RedLocks#keys()}
+     * 获取方法的参数名，无法获取（编译时未保留参数名）时返回空数组
      *
-     * @param keys       {@link RedLocks#keys()}
-     * @param parameters 被 {@link RedLocks} 注释的方法的参数项
-     * @param args       被 {@link RedLocks} 注释的方法的参数值
+     * @param method 被锁注解注释的方法
      * @return String[]
      * @author TimeChaser
-     * @since 2023/8/25 14:50
+     * @since 2026/10/17 19:36
      */
-    private static String[] resolveKey(String[] keys, String[] parameters, Object[] args) {
-        String[] values = new String[keys.length];
-        StandardEvaluationContext context = getElContext(parameters, args);
-
-        for (int i = 0; i < keys.length; i++) {
-            values[i] = resolveKey(keys[i], context);
-        }
-        return values;
+    private static String[] getParameterNames(Method method) {
+        return PARAMETER_NAMES_CACHE.computeIfAbsent(method, m -> {
+            String[] names = parameterNameDiscoverer.getParameterNames(m);
+            return names == null ? NO_PARAMETERS : names;
+        });
     }
 
     /**
-     * 通过 EL 表达式上下文解析 key
-     * <p>
-     * TODO 当前 {@link RedLock#key()} 中有且只能存在一个 EL 表达式，其实是可以通过递归和 try-catch 的组合优化的
+     * 解析 {@link RedLocks#keys()} 的模板
      *
-     * @param key     锁的 key
-     * @param context EL 上下文
-     * @return {@link String}
+     * @param keys {@link RedLocks#keys()}
+     * @return LockKeyTemplate[]
      * @author TimeChaser
-     * @since 2023/8/25 14:51
+     * @since 2026/10/17 19:36
      */
-    private static String resolveKey(String key, StandardEvaluationContext context) {
-        String[] comb = resolveEl(key);
-        assert comb != null;
-        assert comb.length == 3;
-        String spEl = comb[1];
-
-        String value = spelExpressionParser.parseRaw(spEl).getValue(context, String.class);
-        return (comb[0].length() != 0 ? comb[0] + KEY_SEPARATOR : "")
-                + value
-                + (comb[2].length() != 0 ? KEY_SEPARATOR + comb[2] : "");
+    private static LockKeyTemplate[] parseKeys(String[] keys) {
+        LockKeyTemplate[] templates = new LockKeyTemplate[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            templates[i] = LockKeyTemplate.parse(keys[i]);
+        }
+        return templates;
     }
 
     /**
-     * 解析 key 的 EL 表达式组成部分
+     * 解析 {@link RedLocks#keys()}
+     * <p>
+     * 值为集合或数组的表达式按元素展开为多个 key，得到的 key 去重并排序，
+     * 使 key 有交集的多个 {@link RedLocks} 始终按相同的顺序加锁
      *
-     * @param el EL 表达式
+     * @param templates  {@link RedLocks#keys()} 的模板
+     * @param parameters 被 {@link RedLocks} 注释的方法的参数项
+     * @param args       被 {@link RedLocks} 注释的方法的参数值
      * @return String[]
      * @author TimeChaser
-     * @since 2023/8/25 14:53
+     * @since 2023/8/25 14:50
      */
-    private static String[] resolveEl(String el) {
-        String[] splits = el.split(KEY_SEPARATOR);
-        for (int i = 0, n = splits.length; i < n; i++) {
-            String target = splits[i];
-            if (target.charAt(0) == SP_EL_PREFIX) {
-                return new String[]{
-                        i == 0 ? "" : String.join("", Arrays.copyOfRange(splits, 0, i)),
-                        target,
-                        i == n - 1 ? "" : String.join("", Arrays.copyOfRange(splits, i + 1, n))
-                };
-            }
+    private static String[] resolveKey(LockKeyTemplate[] templates, String[] parameters, Object[] args) {
+        Set<String> values = new TreeSet<>();
+        StandardEvaluationContext context = getElContext(parameters, args);
+
+        for (LockKeyTemplate template : templates) {
+            template.expand(context, values);
         }
-        BaseErrorEnum.INVALID_SP_EL_ERROR.throwException();
-        return null;
+        return values.toArray(new String[0]);
     }
 
     /**
@@ -0,0 +1,30 @@
+package top.isopen.commons.springboot.lock;
+
+import lombok.Value;
+
+/**
+ * 加锁位置：被锁注解注释的方法与其锁 key 模板
+ * <p>
+ * 按方法缓存，同一个方法的每次加锁共用同一个实例，用作指标的标签与统计的维度
+ *
+ * @author TimeChaser
+ * @version 1.0
+ * @since 2026/10/17 22:30
+ */
+@Value
+public class LockSite {
+
+    /**
+     * 锁的类型，如 RedLock、RedLocks
+     */
+    String type;
+    /**
+     * 方法，类名.方法名
+     */
+    String method;
+    /**
+     * 锁 key 模板，多个模板以 "," 连接
+     */
+    String template;
+
+}
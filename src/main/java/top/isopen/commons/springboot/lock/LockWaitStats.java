@@ -0,0 +1,76 @@
+package top.isopen.commons.springboot.lock;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 加锁等待统计
+ * <p>
+ * 分别统计本地锁（{@link top.isopen.commons.springboot.lock.annotation.RedLock#localFirst()}）与 redisson 分布式锁的等待次数与时长，
+ * 用于观察本地合并是否有效地挡住了对 redis 的竞争
+ *
+ * @author TimeChaser
+ * @version 1.0
+ * @since 2026/10/17 20:30
+ */
+public class LockWaitStats {
+
+    private final LongAdder localAcquired = new LongAdder();
+    private final LongAdder localTimeouts = new LongAdder();
+    private final LongAdder localWaitNanos = new LongAdder();
+    private final LongAdder remoteAcquired = new LongAdder();
+    private final LongAdder remoteTimeouts = new LongAdder();
+    private final LongAdder remoteWaitNanos = new LongAdder();
+
+    void recordLocal(long waitNanos, boolean acquired) {
+        localWaitNanos.add(waitNanos);
+        (acquired ? localAcquired : localTimeouts).increment();
+    }
+
+    void recordRemote(long waitNanos, boolean acquired) {
+        remoteWaitNanos.add(waitNanos);
+        (acquired ? remoteAcquired : remoteTimeouts).increment();
+    }
+
+    /**
+     * 本地锁获取成功的次数
+     */
+    public long getLocalAcquired() {
+        return localAcquired.sum();
+    }
+
+    /**
+     * 本地锁等待超时的次数
+     */
+    public long getLocalTimeouts() {
+        return localTimeouts.sum();
+    }
+
+    /**
+     * 累计等待本地锁的时长（ns）
+     */
+    public long getLocalWaitNanos() {
+        return localWaitNanos.sum();
+    }
+
+    /**
+     * 分布式锁获取成功的次数
+     */
+    public long getRemoteAcquired() {
+        return remoteAcquired.sum();
+    }
+
+    /**
+     * 分布式锁等待超时的次数
+     */
+    public long getRemoteTimeouts() {
+        return remoteTimeouts.sum();
+    }
+
+    /**
+     * 累计等待分布式锁的时长（ns）
+     */
+    public long getRemoteWaitNanos() {
+        return remoteWaitNanos.sum();
+    }
+
+}
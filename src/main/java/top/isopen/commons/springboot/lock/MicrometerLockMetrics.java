@@ -0,0 +1,121 @@
+package top.isopen.commons.springboot.lock;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.DoubleSupplier;
+import java.util.function.Supplier;
+
+/**
+ * 基于 Micrometer 的锁指标
+ * <p>
+ * 作为 {@link MeterBinder} 由 Spring Boot 绑定到应用的 {@link MeterRegistry}，绑定前记录的指标会被丢弃；
+ * 按加锁位置（{@link LockSite}）打标签，标签只取自方法与 key 模板，不会因锁 key 的取值而膨胀：
+ * <ul>
+ *     <li>commons.redis.lock.acquire：获取锁的耗时，result 标签为 acquired、timeout、error</li>
+ *     <li>commons.redis.lock.hold：持有锁的时长</li>
+ *     <li>commons.redis.lock.held：当前 JVM 持有的锁数</li>
+ *     <li>commons.redis.semaphore.permits：信号量加锁位置的可用许可数，取自 {@link RedSemaphoreAspect} 定期刷新的值，读取时不访问 redis</li>
+ * </ul>
+ *
+ * @author TimeChaser
+ * @version 1.0
+ * @since 2026/10/17 22:40
+ */
+public class MicrometerLockMetrics implements LockMetrics, MeterBinder {
+
+    private static final String ACQUIRE = "commons.redis.lock.acquire";
+    private static final String HOLD = "commons.redis.lock.hold";
+    private static final String HELD = "commons.redis.lock.held";
+    private static final String PERMITS = "commons.redis.semaphore.permits";
+
+    private final CompositeMeterRegistry registry = new CompositeMeterRegistry();
+    private final ConcurrentMap<LockSite, SiteMeters> siteMeters = new ConcurrentHashMap<>();
+    private final Supplier<RedLockObserver> observer;
+
+    /**
+     * @param observer 锁的观测，用于登记当前持有的锁数；延迟获取以免与锁切面循环依赖
+     */
+    public MicrometerLockMetrics(Supplier<RedLockObserver> observer) {
+        this.observer = observer;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry meterRegistry) {
+        registry.add(meterRegistry);
+        Gauge.builder(HELD, observer, o -> o.get().getHeldLockCount())
+                .description("locks currently held by this instance")
+                .strongReference(true)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void recordAcquire(LockSite site, long waitNanos, String result) {
+        this.getSiteMeters(site).acquire(result).record(waitNanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void recordHold(LockSite site, long holdNanos) {
+        this.getSiteMeters(site).hold.record(holdNanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void registerPermits(LockSite site, DoubleSupplier availablePermits) {
+        Gauge.builder(PERMITS, availablePermits, DoubleSupplier::getAsDouble)
+                .tags(tags(site))
+                .description("available permits of the semaphore, the minimum over its keys used by this instance")
+                .strongReference(true)
+                .register(registry);
+    }
+
+    private static Tags tags(LockSite site) {
+        return Tags.of("type", site.getType(), "method", site.getMethod(), "key", site.getTemplate());
+    }
+
+    private SiteMeters getSiteMeters(LockSite site) {
+        return siteMeters.computeIfAbsent(site, s -> new SiteMeters(registry, s));
+    }
+
+    private static final class SiteMeters {
+
+        private final Timer acquired;
+        private final Timer timeout;
+        private final Timer error;
+        private final Timer hold;
+
+        private SiteMeters(MeterRegistry registry, LockSite site) {
+            Tags tags = tags(site);
+            this.acquired = acquireTimer(registry, tags, RedLockObserver.ACQUIRED);
+            this.timeout = acquireTimer(registry, tags, RedLockObserver.TIMEOUT);
+            this.error = acquireTimer(registry, tags, RedLockObserver.ERROR);
+            this.hold = Timer.builder(HOLD)
+                    .tags(tags)
+                    .description("time the lock was held, including holdAfterReturn")
+                    .register(registry);
+        }
+
+        private static Timer acquireTimer(MeterRegistry registry, Tags tags, String result) {
+            return Timer.builder(ACQUIRE)
+                    .tags(tags)
+                    .tag("result", result)
+                    .description("time spent acquiring the lock")
+                    .register(registry);
+        }
+
+        private Timer acquire(String result) {
+            if (RedLockObserver.ACQUIRED.equals(result)) {
+                return acquired;
+            }
+            return RedLockObserver.TIMEOUT.equals(result) ? timeout : error;
+        }
+
+    }
+
+}
@@ -0,0 +1,95 @@
+package top.isopen.commons.springboot.lock;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.reactivestreams.Publisher;
+import org.redisson.api.RLock;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+
+/**
+ * 返回 {@link Mono} / {@link Flux} 的方法的加锁与获取信号量许可
+ * <p>
+ * 订阅时才异步加锁，加锁成功后调用方法并订阅其结果；结果完成、出错或被取消订阅时解锁，整个过程不阻塞任何线程
+ * <p>
+ * 加锁成功前被取消订阅时取消加锁，随后到达的锁立即解锁；方法在 redLockAsyncExecutor 线程池中调用并订阅，
+ * 不占用完成加锁的 redisson IO 线程或 {@link RedissonBatchLock} 的调度线程
+ * <p>
+ * 每次订阅都会重新加锁并重新调用方法；只在 classpath 中存在 reactor 时加载
+ *
+ * @author TimeChaser
+ * @version 1.0
+ * @since 2026/10/17 21:45
+ */
+final class ReactiveRedLocks {
+
+    private ReactiveRedLocks() {
+    }
+
+    static boolean isReactive(Class<?> returnType) {
+        return returnType == Mono.class || returnType == Flux.class;
+    }
+
+    static Object proceed(AbstractRedLockAspect aspect, ProceedingJoinPoint joinPoint, RLock lock, LockParameter parameter, Class<?> returnType) {
+        return proceed(joinPoint, returnType, AbstractRedLockAspect.Hold.class,
+                () -> aspect.lockOnAsync(lock, parameter),
+                (hold, returned) -> aspect.releaseAsync(lock, parameter, hold, returned),
+                aspect.getAsyncExecutor());
+    }
+
+    /**
+     * @param holdType 持有物的类型，用于解锁被 reactor 丢弃的持有物
+     * @param acquire  异步获取，返回的 future 被取消后才获取成功时须自行释放
+     * @param release  释放，第二个参数为方法是否正常结束
+     * @param executor 调用方法并订阅其结果的线程池
+     */
+    static <H> Object proceed(ProceedingJoinPoint joinPoint, Class<?> returnType, Class<H> holdType,
+                              Supplier<CompletableFuture<H>> acquire, BiConsumer<H, Boolean> release, Executor executor) {
+        Mono<H> acquired = Mono.defer(() -> {
+            CompletableFuture<H> future = acquire.get();
+            /*reactor 不会取消 fromFuture 的 future，需在取消订阅传到上游后再取消，取消后才拿到的持有物由 acquire 或 discard 钩子释放*/
+            return Mono.fromFuture(future)
+                    .doFinally(signal -> {
+                        if (signal == SignalType.CANCEL) {
+                            future.cancel(false);
+                        }
+                    })
+                    .doOnDiscard(holdType, hold -> release.accept(hold, false));
+        });
+        Scheduler scheduler = Schedulers.fromExecutor(executor);
+        if (returnType == Mono.class) {
+            return Mono.usingWhen(acquired,
+                    hold -> Mono.defer(() -> Mono.from(invoke(joinPoint))).subscribeOn(scheduler),
+                    hold -> release(release, hold, true),
+                    (hold, e) -> release(release, hold, false),
+                    hold -> release(release, hold, false));
+        }
+        return Flux.usingWhen(acquired,
+                hold -> Flux.defer(() -> invoke(joinPoint)).subscribeOn(scheduler),
+                hold -> release(release, hold, true),
+                (hold, e) -> release(release, hold, false),
+                hold -> release(release, hold, false));
+    }
+
+    private static Publisher<?> invoke(ProceedingJoinPoint joinPoint) {
+        try {
+            Publisher<?> publisher = (Publisher<?>) joinPoint.proceed();
+            return publisher == null ? Mono.empty() : publisher;
+        } catch (Throwable e) {
+            return Mono.error(e);
+        }
+    }
+
+    private static <H> Mono<Void> release(BiConsumer<H, Boolean> release, H hold, boolean returned) {
+        release.accept(hold, returned);
+        return Mono.empty();
+    }
+
+}
@@ -6,6 +6,8 @@ import org.aspectj.lang.annotation.Aspect;
 import org.redisson.api.RedissonClient;
 import top.isopen.commons.springboot.lock.annotation.RedLock;
 
+import java.util.concurrent.Executor;
+
 /**
  * {@link RedLock} 的切面
  *
@@ -20,10 +22,17 @@ public class RedLockAspect extends AbstractRedLockAspect {
         super(redissonClient);
     }
 
+    public RedLockAspect(RedissonClient redissonClient, RedLockObserver observer) {
+        super(redissonClient, observer);
+    }
+
+    public RedLockAspect(RedissonClient redissonClient, RedLockObserver observer, Executor asyncExecutor) {
+        super(redissonClient, observer, asyncExecutor);
+    }
+
     @Around(value = "@within(redLock) || @annotation(redLock)")
     public Object process(ProceedingJoinPoint joinPoint, RedLock redLock) throws Throwable {
-        lockOn(joinPoint, redLock);
-        return joinPoint.proceed();
+        return lockOn(joinPoint, redLock);
     }
 
 }
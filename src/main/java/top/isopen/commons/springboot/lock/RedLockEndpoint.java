@@ -0,0 +1,58 @@
+package top.isopen.commons.springboot.lock;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 分布式锁的 actuator 端点
+ * <p>
+ * 展示当前 JVM 持有的锁与其持有者、竞争最激烈的 key、各锁切面的等待统计与持有时长直方图，以及信号量的可用许可数；
+ * 需在 management.endpoints.web.exposure.include 中加入 redlocks 才能通过 http 访问
+ *
+ * @author TimeChaser
+ * @version 1.0
+ * @since 2026/10/17 22:45
+ */
+@Endpoint(id = "redlocks")
+public class RedLockEndpoint {
+
+    public static final int DEFAULT_TOP_CONTENDED = 20;
+
+    private final RedLockObserver observer;
+    private final List<AbstractRedLockAspect> aspects;
+    private final List<RedSemaphoreAspect> semaphoreAspects;
+
+    public RedLockEndpoint(RedLockObserver observer, List<AbstractRedLockAspect> aspects, List<RedSemaphoreAspect> semaphoreAspects) {
+        this.observer = observer;
+        this.aspects = aspects;
+        this.semaphoreAspects = semaphoreAspects;
+    }
+
+    @ReadOperation
+    public Map<String, Object> redLocks() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("heldLocks", observer.getHeldLocks());
+        result.put("topContended", observer.getTopContended(DEFAULT_TOP_CONTENDED));
+
+        Map<String, Object> aspectStats = new LinkedHashMap<>();
+        for (AbstractRedLockAspect aspect : aspects) {
+            Map<String, Object> stats = new LinkedHashMap<>();
+            stats.put("wait", aspect.getWaitStats());
+            stats.put("hold", aspect.getHoldHistogram());
+            aspectStats.put(aspect.getClass().getSimpleName(), stats);
+        }
+        result.put("aspects", aspectStats);
+
+        Map<String, Integer> availablePermits = new LinkedHashMap<>();
+        for (RedSemaphoreAspect aspect : semaphoreAspects) {
+            availablePermits.putAll(aspect.getAvailablePermits());
+        }
+        result.put("semaphores", availablePermits);
+        return result;
+    }
+
+}
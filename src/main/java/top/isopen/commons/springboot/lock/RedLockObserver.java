@@ -0,0 +1,186 @@
+package top.isopen.commons.springboot.lock;
+
+import lombok.Value;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 分布式锁的观测
+ * <p>
+ * 记录每次加锁、解锁的指标（{@link LockMetrics}），统计竞争激烈的 key，并登记当前 JVM 持有的锁；
+ * 所有锁切面共用一个实例，由 {@link RedLockEndpoint} 对外展示
+ * <p>
+ * 另外提供按 logSampleRate 采样的 debug 日志开关，避免每次加锁都输出日志
+ *
+ * @author TimeChaser
+ * @version 1.0
+ * @since 2026/10/17 22:30
+ */
+public class RedLockObserver {
+
+    public static final double DEFAULT_LOG_SAMPLE_RATE = 0.01;
+    public static final long DEFAULT_CONTENDED_THRESHOLD_MILLIS = 10;
+    public static final double DEFAULT_CONTENTION_SAMPLE_RATE = 0.1;
+    public static final int DEFAULT_CONTENTION_CAPACITY = 1024;
+
+    static final String ACQUIRED = "acquired";
+    static final String TIMEOUT = "timeout";
+    static final String ERROR = "error";
+
+    private final LockMetrics metrics;
+    private final double logSampleRate;
+    private final long contendedThresholdNanos;
+    private final LockContentionTracker contention;
+
+    private final AtomicLong holdIds = new AtomicLong();
+    private final ConcurrentMap<Long, HeldLock> heldLocks = new ConcurrentHashMap<>();
+
+    public RedLockObserver() {
+        this(LockMetrics.NOOP, DEFAULT_LOG_SAMPLE_RATE, DEFAULT_CONTENDED_THRESHOLD_MILLIS, DEFAULT_CONTENTION_SAMPLE_RATE, DEFAULT_CONTENTION_CAPACITY);
+    }
+
+    /**
+     * @param metrics                  指标记录
+     * @param logSampleRate            每次加锁输出 debug 日志的概率，[0, 1]
+     * @param contendedThresholdMillis 获取锁的等待超过该时长（ms）即视为发生了竞争
+     * @param contentionSampleRate     记录竞争的采样率，(0, 1]
+     * @param contentionCapacity       最多记录的竞争 key 数
+     */
+    public RedLockObserver(LockMetrics metrics, double logSampleRate, long contendedThresholdMillis,
+                           double contentionSampleRate, int contentionCapacity) {
+        if (logSampleRate < 0 || logSampleRate > 1) {
+            throw new IllegalArgumentException("logSampleRate must be in [0, 1]");
+        }
+        this.metrics = metrics;
+        this.logSampleRate = logSampleRate;
+        this.contendedThresholdNanos = TimeUnit.MILLISECONDS.toNanos(contendedThresholdMillis);
+        this.contention = new LockContentionTracker(contentionSampleRate, contentionCapacity);
+    }
+
+    public LockMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * 本次是否输出 debug 日志，调用方需先判断 debug 是否开启
+     */
+    boolean sampleLog() {
+        return logSampleRate > 0 && (logSampleRate >= 1 || ThreadLocalRandom.current().nextDouble() < logSampleRate);
+    }
+
+    /**
+     * 加锁成功
+     *
+     * @param parameter 锁参数
+     * @param owner     锁的持有者，redisson 实例 id:线程 id，信号量为 redisson 实例 id:许可 id
+     * @param waitNanos 获取锁的耗时（ns）
+     * @return 持有记录的 id，解锁时传给 {@link #onReleased}
+     */
+    long onAcquired(LockParameter parameter, String owner, long waitNanos) {
+        metrics.recordAcquire(parameter.getSite(), waitNanos, ACQUIRED);
+        if (waitNanos >= contendedThresholdNanos) {
+            contention.record(parameter.getLockName());
+        }
+        long holdId = holdIds.incrementAndGet();
+        heldLocks.put(holdId, new HeldLock(parameter.getLockName(), parameter.getSite().getMethod(), owner,
+                Thread.currentThread().getName(), System.currentTimeMillis()));
+        return holdId;
+    }
+
+    /**
+     * 加锁失败
+     *
+     * @param parameter 锁参数
+     * @param waitNanos 获取锁的耗时（ns）
+     * @param timeout   是否等待超时，否则为加锁出错
+     */
+    void onFailed(LockParameter parameter, long waitNanos, boolean timeout) {
+        metrics.recordAcquire(parameter.getSite(), waitNanos, timeout ? TIMEOUT : ERROR);
+        if (timeout) {
+            contention.record(parameter.getLockName());
+        }
+    }
+
+    /**
+     * 解锁（无论成功与否）
+     */
+    void onReleased(LockParameter parameter, long holdId, long holdNanos) {
+        heldLocks.remove(holdId);
+        metrics.recordHold(parameter.getSite(), holdNanos);
+    }
+
+    /**
+     * 当前 JVM 持有的锁，按加锁时间排序
+     */
+    public List<HeldLock> getHeldLocks() {
+        List<HeldLock> locks = new ArrayList<>(heldLocks.values());
+        locks.sort(Comparator.comparingLong(HeldLock::getAcquiredAt));
+        return locks;
+    }
+
+    public int getHeldLockCount() {
+        return heldLocks.size();
+    }
+
+    /**
+     * 竞争次数最多的 n 个 key
+     */
+    public List<ContendedKey> getTopContended(int n) {
+        return contention.top(n);
+    }
+
+    /**
+     * 当前持有的锁
+     */
+    @Value
+    public static class HeldLock {
+
+        /**
+         * 锁名，多个 key 时为 [key1, key2]
+         */
+        String name;
+        /**
+         * 加锁的方法
+         */
+        String method;
+        /**
+         * 锁的持有者，redisson 实例 id:线程 id（异步加锁时为负数），信号量为 redisson 实例 id:许可 id
+         */
+        String owner;
+        /**
+         * 加锁的线程名
+         */
+        String thread;
+        /**
+         * 加锁时间（ms 时间戳）
+         */
+        long acquiredAt;
+
+        public long getHeldMillis() {
+            return System.currentTimeMillis() - acquiredAt;
+        }
+
+    }
+
+    /**
+     * 竞争激烈的锁 key
+     */
+    @Value
+    public static class ContendedKey {
+
+        String key;
+        /**
+         * 竞争次数的估计值
+         */
+        long count;
+
+    }
+
+}
@@ -4,8 +4,11 @@ import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
 import org.redisson.api.RedissonClient;
+import top.isopen.commons.springboot.helper.RedisLockWaitStrategy;
 import top.isopen.commons.springboot.lock.annotation.RedLocks;
 
+import java.util.concurrent.Executor;
+
 /**
  * {@link RedLocks} 的切面
  *
@@ -20,10 +23,22 @@ public class RedLocksAspect extends AbstractRedLockAspect {
         super(redissonClient);
     }
 
+    public RedLocksAspect(RedissonClient redissonClient, RedLockObserver observer) {
+        super(redissonClient, observer);
+    }
+
+    public RedLocksAspect(RedissonClient redissonClient, RedLockObserver observer, Executor asyncExecutor) {
+        super(redissonClient, observer, asyncExecutor);
+    }
+
+    public RedLocksAspect(RedissonClient redissonClient, RedLockObserver observer, Executor asyncExecutor,
+                          RedisLockWaitStrategy batchWaitStrategy) {
+        super(redissonClient, observer, asyncExecutor, batchWaitStrategy);
+    }
+
     @Around(value = "@within(redLocks) || @annotation(redLocks)")
     public Object process(ProceedingJoinPoint joinPoint, RedLocks redLocks) throws Throwable {
-        lockOn(joinPoint, redLocks);
-        return joinPoint.proceed();
+        return lockOn(joinPoint, redLocks);
     }
 
 }
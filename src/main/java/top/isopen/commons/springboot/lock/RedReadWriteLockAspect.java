@@ -0,0 +1,38 @@
+package top.isopen.commons.springboot.lock;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.redisson.api.RedissonClient;
+import top.isopen.commons.springboot.lock.annotation.RedReadWriteLock;
+
+import java.util.concurrent.Executor;
+
+/**
+ * {@link RedReadWriteLock} 的切面
+ *
+ * @author TimeChaser
+ * @version 1.0
+ * @since 2026/10/17 21:00
+ */
+@Aspect
+public class RedReadWriteLockAspect extends AbstractRedLockAspect {
+
+    public RedReadWriteLockAspect(RedissonClient redissonClient) {
+        super(redissonClient);
+    }
+
+    public RedReadWriteLockAspect(RedissonClient redissonClient, RedLockObserver observer) {
+        super(redissonClient, observer);
+    }
+
+    public RedReadWriteLockAspect(RedissonClient redissonClient, RedLockObserver observer, Executor asyncExecutor) {
+        super(redissonClient, observer, asyncExecutor);
+    }
+
+    @Around(value = "@within(redReadWriteLock) || @annotation(redReadWriteLock)")
+    public Object process(ProceedingJoinPoint joinPoint, RedReadWriteLock redReadWriteLock) throws Throwable {
+        return lockOn(joinPoint, redReadWriteLock);
+    }
+
+}
@@ -0,0 +1,371 @@
+package top.isopen.commons.springboot.lock;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.redisson.api.RFuture;
+import org.redisson.api.RPermitExpirableSemaphore;
+import org.redisson.api.RedissonClient;
+import org.springframework.util.ClassUtils;
+import top.isopen.commons.logging.Log;
+import top.isopen.commons.logging.LogFactory;
+import top.isopen.commons.springboot.enums.BaseErrorEnum;
+import top.isopen.commons.springboot.lock.annotation.RedSemaphore;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * {@link RedSemaphore} 的切面
+ * <p>
+ * 执行方法前获取一个许可，方法结束（或返回的 {@link CompletionStage} 完成）后归还；
+ * 方法返回 Mono / Flux 时与锁一样在订阅时异步获取许可，结果完成、出错或被取消订阅时归还，方法在 redLockAsyncExecutor 线程池中调用
+ * <p>
+ * 获取许可的耗时、超时与持有许可的时长与锁一样由 {@link RedLockObserver} 记录；
+ * 每个信号量的可用许可数定期异步刷新，指标与端点只读取刷新后的值，读取时不访问 redis
+ *
+ * @author TimeChaser
+ * @version 1.0
+ * @since 2026/10/17 21:24
+ */
+@Aspect
+public class RedSemaphoreAspect {
+
+    private static final Log log = LogFactory.getLog(RedSemaphoreAspect.class);
+
+    public static final long DEFAULT_PERMITS_REFRESH_MILLIS = 10000L;
+
+    /**
+     * 本地记录的信号量个数上限，用于初始化许可数与统计可用许可
+     */
+    private static final int MAXIMUM_SEMAPHORES = 1024;
+    private static final boolean REACTOR_PRESENT = ClassUtils.isPresent("reactor.core.publisher.Mono", RedSemaphoreAspect.class.getClassLoader());
+    /**
+     * 刷新可用许可数的线程
+     */
+    private static final ScheduledExecutorService PERMITS_SCHEDULER = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "red-semaphore-permits");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final RedissonClient redissonClient;
+    private final RedLockObserver observer;
+    /**
+     * 异步获取许可成功后调用方法的线程池，null 时使用 {@link AbstractRedLockAspect#defaultAsyncExecutor()}
+     */
+    private final Executor asyncExecutor;
+    private final long permitsRefreshMillis;
+    private final Cache<String, SemaphoreEntry> semaphores = Caffeine.newBuilder()
+            .maximumSize(MAXIMUM_SEMAPHORES)
+            .build();
+    /**
+     * 已登记可用许可数指标的加锁位置，个数不超过被注释的方法数
+     */
+    private final Set<LockSite> permitSites = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean refreshing = new AtomicBoolean();
+
+    public RedSemaphoreAspect(RedissonClient redissonClient) {
+        this(redissonClient, new RedLockObserver());
+    }
+
+    public RedSemaphoreAspect(RedissonClient redissonClient, RedLockObserver observer) {
+        this(redissonClient, observer, null, DEFAULT_PERMITS_REFRESH_MILLIS);
+    }
+
+    /**
+     * @param redissonClient       redisson 客户端
+     * @param observer             锁的观测
+     * @param asyncExecutor        方法返回 Mono / Flux 时，获取许可成功后调用方法的线程池，为 null 时使用锁切面的默认线程池
+     * @param permitsRefreshMillis 可用许可数的刷新间隔（ms）
+     */
+    public RedSemaphoreAspect(RedissonClient redissonClient, RedLockObserver observer, Executor asyncExecutor, long permitsRefreshMillis) {
+        if (permitsRefreshMillis <= 0) {
+            throw new IllegalArgumentException("permitsRefreshMillis must be positive");
+        }
+        this.redissonClient = redissonClient;
+        this.observer = observer;
+        this.asyncExecutor = asyncExecutor;
+        this.permitsRefreshMillis = permitsRefreshMillis;
+    }
+
+    @Around(value = "@within(redSemaphore) || @annotation(redSemaphore)")
+    public Object process(ProceedingJoinPoint joinPoint, RedSemaphore redSemaphore) throws Throwable {
+        LockParameter parameter = new LockParameter(redSemaphore, joinPoint);
+        RPermitExpirableSemaphore semaphore = getSemaphore(parameter);
+
+        Class<?> returnType = ((MethodSignature) joinPoint.getSignature()).getReturnType();
+        if (REACTOR_PRESENT && ReactiveRedLocks.isReactive(returnType)) {
+            return ReactiveRedLocks.proceed(joinPoint, returnType, Permit.class,
+                    () -> acquireAsync(semaphore, parameter),
+                    (permit, returned) -> releaseAsync(semaphore, parameter, permit),
+                    asyncExecutor != null ? asyncExecutor : AbstractRedLockAspect.defaultAsyncExecutor());
+        }
+
+        Permit permit = acquire(semaphore, parameter);
+
+        boolean async = false;
+        try {
+            Object result = joinPoint.proceed();
+            if (result instanceof CompletionStage) {
+                async = true;
+                return ((CompletionStage<?>) result).whenComplete((value, e) -> releaseAsync(semaphore, parameter, permit));
+            }
+            return result;
+        } finally {
+            if (!async) {
+                release(semaphore, parameter, permit);
+            }
+        }
+    }
+
+    /**
+     * 本地记录的每个信号量的可用许可数，取自定期刷新的值，不访问 redis；尚未刷新到的信号量不包含在内
+     *
+     * @return 信号量 key -> 可用许可数
+     */
+    public Map<String, Integer> getAvailablePermits() {
+        Map<String, Integer> result = new LinkedHashMap<>();
+        semaphores.asMap().forEach((key, entry) -> {
+            int availablePermits = entry.availablePermits;
+            if (availablePermits >= 0) {
+                result.put(key, availablePermits);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * 获取信号量，首次使用时以 permits 初始化许可数（redis 中已存在时不修改）；
+     * 加锁位置首次使用时登记其可用许可数指标
+     */
+    private RPermitExpirableSemaphore getSemaphore(LockParameter parameter) {
+        LockSite site = parameter.getSite();
+        SemaphoreEntry entry = semaphores.get(parameter.getKey(), k -> {
+            RPermitExpirableSemaphore semaphore = redissonClient.getPermitExpirableSemaphore(k);
+            semaphore.trySetPermits(parameter.getPermits());
+            SemaphoreEntry created = new SemaphoreEntry(semaphore, site);
+            created.refresh();
+            return created;
+        });
+        if (permitSites.add(site)) {
+            observer.getMetrics().registerPermits(site, () -> this.minAvailablePermits(site));
+            if (refreshing.compareAndSet(false, true)) {
+                PERMITS_SCHEDULER.scheduleWithFixedDelay(this::refreshPermits, permitsRefreshMillis, permitsRefreshMillis, TimeUnit.MILLISECONDS);
+            }
+        }
+        return entry.semaphore;
+    }
+
+    /**
+     * 加锁位置的可用许可数：该位置本地记录的各个信号量中最小的可用许可数，尚未刷新到时为 NaN
+     */
+    private double minAvailablePermits(LockSite site) {
+        int min = Integer.MAX_VALUE;
+        for (SemaphoreEntry entry : semaphores.asMap().values()) {
+            int availablePermits = entry.availablePermits;
+            if (availablePermits >= 0 && entry.site.equals(site)) {
+                min = Math.min(min, availablePermits);
+            }
+        }
+        return min == Integer.MAX_VALUE ? Double.NaN : min;
+    }
+
+    private void refreshPermits() {
+        try {
+            semaphores.asMap().values().forEach(SemaphoreEntry::refresh);
+        } catch (RuntimeException e) {
+            log.warn("refreshPermits(...) => refresh available permits failed! e.getMessage -> {}", e.getMessage());
+        }
+    }
+
+    private Permit acquire(RPermitExpirableSemaphore semaphore, LockParameter parameter) throws InterruptedException {
+        long waitTime = parameter.getWaitTime();
+        long leaseTime = parameter.getLeaseTime();
+        TimeUnit timeUnit = parameter.getTimeUnit();
+
+        long start = System.nanoTime();
+        String permitId;
+        try {
+            if (waitTime == -1L) {
+                permitId = semaphore.acquire(leaseTime, timeUnit);
+            } else {
+                permitId = semaphore.tryAcquire(waitTime, leaseTime, timeUnit);
+            }
+        } catch (InterruptedException | RuntimeException e) {
+            this.acquireFailed(parameter, start, false);
+            throw e;
+        }
+        if (permitId == null) {
+            this.acquireFailed(parameter, start, true);
+            BaseErrorEnum.INVALID_RED_SEMAPHORE_TRY_ERROR.throwException();
+        }
+        return this.acquired(parameter, permitId, start);
+    }
+
+    /**
+     * 异步获取许可，不阻塞调用线程
+     * <p>
+     * 返回的 {@link CompletableFuture} 在获取成功后完成；等待超时则以 {@link BaseErrorEnum#INVALID_RED_SEMAPHORE_TRY_ERROR} 异常完成；
+     * 获取成功前它已被取消（如订阅者取消订阅）时，立即归还
+     */
+    private CompletableFuture<Permit> acquireAsync(RPermitExpirableSemaphore semaphore, LockParameter parameter) {
+        long waitTime = parameter.getWaitTime();
+        long leaseTime = parameter.getLeaseTime();
+        TimeUnit timeUnit = parameter.getTimeUnit();
+
+        CompletableFuture<Permit> acquired = new CompletableFuture<>();
+        long start = System.nanoTime();
+        RFuture<String> future = waitTime == -1L
+                ? semaphore.acquireAsync(leaseTime, timeUnit)
+                : semaphore.tryAcquireAsync(waitTime, leaseTime, timeUnit);
+        future.whenComplete((permitId, e) -> {
+            if (e != null) {
+                this.acquireFailed(parameter, start, false);
+                acquired.completeExceptionally(e);
+            } else if (permitId == null) {
+                this.acquireFailed(parameter, start, true);
+                acquired.completeExceptionally(BaseErrorEnum.INVALID_RED_SEMAPHORE_TRY_ERROR.exception());
+            } else {
+                Permit permit = this.acquired(parameter, permitId, start);
+                if (!acquired.complete(permit)) {
+                    this.releaseAsync(semaphore, parameter, permit);
+                }
+            }
+        });
+        return acquired;
+    }
+
+    /**
+     * 记录获取许可成功，并登记到 {@link RedLockObserver}
+     */
+    private Permit acquired(LockParameter parameter, String permitId, long start) {
+        long acquiredAt = System.nanoTime();
+        long waitNanos = acquiredAt - start;
+        long holdId = observer.onAcquired(parameter, redissonClient.getId() + ":" + permitId, waitNanos);
+        if (log.isDebugEnabled() && observer.sampleLog()) {
+            log.debug("acquire(...) => semaphore -> {}, permitId -> {} acquired in {}ms", parameter.getKey(), permitId,
+                    TimeUnit.NANOSECONDS.toMillis(waitNanos));
+        }
+        return new Permit(permitId, acquiredAt, holdId);
+    }
+
+    /**
+     * 记录获取许可失败
+     *
+     * @param timeout 是否等待超时，否则为获取出错
+     */
+    private void acquireFailed(LockParameter parameter, long start, boolean timeout) {
+        long waitNanos = System.nanoTime() - start;
+        observer.onFailed(parameter, waitNanos, timeout);
+        if (log.isDebugEnabled() && observer.sampleLog()) {
+            log.debug("acquire(...) => semaphore -> {} {} after {}ms", parameter.getKey(), timeout ? "timed out" : "failed",
+                    TimeUnit.NANOSECONDS.toMillis(waitNanos));
+        }
+    }
+
+    /**
+     * 记录归还许可（无论成功与否）
+     */
+    private void released(LockParameter parameter, Permit permit) {
+        observer.onReleased(parameter, permit.holdId, System.nanoTime() - permit.acquiredAt);
+    }
+
+    /**
+     * 归还许可，许可已到期时 redisson 拒绝归还，此时只记录日志
+     */
+    private void release(RPermitExpirableSemaphore semaphore, LockParameter parameter, Permit permit) {
+        String permitId = permit.permitId;
+        this.released(parameter, permit);
+        try {
+            if (semaphore.tryRelease(permitId)) {
+                if (log.isDebugEnabled() && observer.sampleLog()) {
+                    log.debug("release(...) => semaphore -> {}, permitId -> {} released", parameter.getKey(), permitId);
+                }
+            } else {
+                log.warn("release(...) => semaphore -> {}, permitId -> {} release failed, it may have expired!", parameter.getKey(), permitId);
+            }
+        } catch (RuntimeException e) {
+            log.warn("release(...) => semaphore -> {}, permitId -> {} release failed! e.getMessage -> {}", parameter.getKey(), permitId, e.getMessage());
+        }
+    }
+
+    /**
+     * 异步归还许可，避免在 {@link CompletionStage} 的完成线程（可能为 IO 线程）中阻塞
+     */
+    private void releaseAsync(RPermitExpirableSemaphore semaphore, LockParameter parameter, Permit permit) {
+        String permitId = permit.permitId;
+        this.released(parameter, permit);
+        semaphore.tryReleaseAsync(permitId).whenComplete((released, e) -> {
+            if (e != null) {
+                log.warn("release(...) => semaphore -> {}, permitId -> {} release failed! e.getMessage -> {}", parameter.getKey(), permitId, e.getMessage());
+            } else if (!Boolean.TRUE.equals(released)) {
+                log.warn("release(...) => semaphore -> {}, permitId -> {} release failed, it may have expired!", parameter.getKey(), permitId);
+            } else if (log.isDebugEnabled() && observer.sampleLog()) {
+                log.debug("release(...) => semaphore -> {}, permitId -> {} released", parameter.getKey(), permitId);
+            }
+        });
+    }
+
+    /**
+     * 本地记录的信号量与其定期刷新的可用许可数
+     */
+    private static final class SemaphoreEntry {
+
+        private final RPermitExpirableSemaphore semaphore;
+        private final LockSite site;
+        /**
+         * 可用许可数，尚未刷新到时为 -1
+         */
+        private volatile int availablePermits = -1;
+
+        private SemaphoreEntry(RPermitExpirableSemaphore semaphore, LockSite site) {
+            this.semaphore = semaphore;
+            this.site = site;
+        }
+
+        private void refresh() {
+            semaphore.availablePermitsAsync().whenComplete((permits, e) -> {
+                if (e == null) {
+                    availablePermits = permits;
+                } else if (log.isDebugEnabled()) {
+                    log.debug("refresh(...) => semaphore -> {} refresh available permits failed! e.getMessage -> {}", semaphore.getName(), e.getMessage());
+                }
+            });
+        }
+
+    }
+
+    /**
+     * 持有的许可
+     */
+    static final class Permit {
+
+        private final String permitId;
+        private final long acquiredAt;
+        /**
+         * {@link RedLockObserver} 中持有记录的 id
+         */
+        private final long holdId;
+
+        private Permit(String permitId, long acquiredAt, long holdId) {
+            this.permitId = permitId;
+            this.acquiredAt = acquiredAt;
+            this.holdId = holdId;
+        }
+
+    }
+
+}
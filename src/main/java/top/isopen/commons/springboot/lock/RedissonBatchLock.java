@@ -0,0 +1,388 @@
+package top.isopen.commons.springboot.lock;
+
+import org.redisson.RedissonMultiLock;
+import org.redisson.api.RFuture;
+import org.redisson.api.RLock;
+import org.redisson.api.RScript;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+import org.redisson.misc.CompletableFutureWrapper;
+import top.isopen.commons.logging.Log;
+import top.isopen.commons.logging.LogFactory;
+import top.isopen.commons.springboot.helper.RedisLockNotifier;
+import top.isopen.commons.springboot.helper.RedisLockWaitStrategy;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 以一个 lua 脚本一次性获取全部 key 的多重锁
+ * <p>
+ * {@link RedissonMultiLock} 逐个获取成员锁，每个 key 至少一次往返，部分获取失败时还要逐个回滚；
+ * 这里每次尝试只执行一次脚本：全部 key 都空闲（或已被当前持有者持有）时一起加锁，否则一个也不加，
+ * 释放时同样以一个脚本释放全部 key
+ * <p>
+ * 每个 key 的存储结构与 redisson 的 {@link RLock} 一致（hash：持有者 -> 重入次数），释放时向 redisson 的锁频道发布解锁消息，
+ * 因此与同一个 key 上的 {@link top.isopen.commons.springboot.lock.annotation.RedLock} 互斥且能唤醒其等待者
+ * <p>
+ * 加锁失败后按 {@link RedisLockWaitStrategy} 配置的退避时长重试；配置了 {@link RedisLockNotifier} 时，
+ * 释放时同时向其 channel 发布被释放的 key，同步等待的线程收到后立即重试
+ * <p>
+ * 注：只支持非公平锁；集群模式下全部 key 必须位于同一个 slot；leaseTime 为 -1 时由本类按 redisson 的 lockWatchdogTimeout 续期
+ *
+ * @author TimeChaser
+ * @version 1.0
+ * @since 2026/10/17 22:05
+ */
+final class RedissonBatchLock extends RedissonMultiLock {
+
+    private static final Log log = LogFactory.getLog(RedissonBatchLock.class);
+
+    /**
+     * KEYS: 锁的 key；ARGV[1]: 租期（ms），ARGV[2]: 持有者
+     * <p>
+     * 成功返回 nil，失败返回 {第一个被占用的 key 的下标（从 1 开始）, 其剩余存活时间（ms）}
+     */
+    private static final String ACQUIRE_LUA = "for i = 1, #KEYS do " +
+            "if redis.call('exists', KEYS[i]) == 1 and redis.call('hexists', KEYS[i], ARGV[2]) == 0 then " +
+            "return {i, redis.call('pttl', KEYS[i])}; " +
+            "end; " +
+            "end; " +
+            "for i = 1, #KEYS do " +
+            "redis.call('hincrby', KEYS[i], ARGV[2], 1); " +
+            "redis.call('pexpire', KEYS[i], ARGV[1]); " +
+            "end; " +
+            "return nil;";
+    /**
+     * KEYS: 锁的 key；ARGV[1]: 持有者，ARGV[2]: 租期（ms），ARGV[3]: 解锁消息，
+     * ARGV[4]: {@link RedisLockNotifier} 的 channel，为空串时不发布，ARGV[4 + i]: KEYS[i] 的锁频道
+     * <p>
+     * 返回释放后当前持有者仍（因重入）持有的 key 数，持有者一个 key 都未持有时返回 -1
+     */
+    private static final String RELEASE_LUA = "local held = 0; " +
+            "local found = false; " +
+            "for i = 1, #KEYS do " +
+            "if redis.call('hexists', KEYS[i], ARGV[1]) == 1 then " +
+            "found = true; " +
+            "if redis.call('hincrby', KEYS[i], ARGV[1], -1) > 0 then " +
+            "redis.call('pexpire', KEYS[i], ARGV[2]); " +
+            "held = held + 1; " +
+            "else " +
+            "redis.call('del', KEYS[i]); " +
+            "redis.call('publish', ARGV[4 + i], ARGV[3]); " +
+            "if ARGV[4] ~= '' then redis.call('publish', ARGV[4], KEYS[i]); end; " +
+            "end; " +
+            "end; " +
+            "end; " +
+            "if found then return held; end; " +
+            "return -1;";
+    /**
+     * KEYS: 锁的 key；ARGV[1]: 租期（ms），ARGV[2]: 持有者
+     * <p>
+     * 返回续期的 key 数
+     */
+    private static final String RENEW_LUA = "local renewed = 0; " +
+            "for i = 1, #KEYS do " +
+            "if redis.call('hexists', KEYS[i], ARGV[2]) == 1 then " +
+            "redis.call('pexpire', KEYS[i], ARGV[1]); " +
+            "renewed = renewed + 1; " +
+            "end; " +
+            "end; " +
+            "return renewed;";
+
+    /**
+     * redisson 锁频道的解锁消息（LockPubSub.UNLOCK_MESSAGE）
+     */
+    private static final String UNLOCK_MESSAGE = "0";
+    private static final String CHANNEL_PREFIX = "redisson_lock__channel";
+
+    /**
+     * 异步等待重试与 Watch Dog 续期的线程
+     */
+    private static final ScheduledExecutorService SCHEDULER = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "red-batch-lock");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final RedissonClient redissonClient;
+    private final RedisLockWaitStrategy waitStrategy;
+    private final String notifyChannel;
+    private final List<Object> keys;
+    private final String routingKey;
+    private final Object[] channels;
+    private final long watchdogTimeout;
+    /**
+     * 持有者 -> 续期任务
+     */
+    private final ConcurrentMap<Long, ScheduledFuture<?>> renewals = new ConcurrentHashMap<>();
+
+    /**
+     * @param redissonClient redisson 客户端
+     * @param keys           已去重、排序的锁 key，不能为空
+     * @param waitStrategy   加锁失败后的等待策略
+     */
+    RedissonBatchLock(RedissonClient redissonClient, String[] keys, RedisLockWaitStrategy waitStrategy) {
+        super(toLocks(redissonClient, keys));
+        this.redissonClient = redissonClient;
+        this.waitStrategy = waitStrategy;
+        RedisLockNotifier notifier = waitStrategy.getNotifier();
+        this.notifyChannel = notifier != null ? notifier.getChannel() : "";
+        this.keys = new ArrayList<>(Arrays.asList(keys));
+        this.routingKey = keys[0];
+        this.channels = new Object[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            this.channels[i] = keys[i].contains("{") ? CHANNEL_PREFIX + ":" + keys[i] : CHANNEL_PREFIX + ":{" + keys[i] + "}";
+        }
+        this.watchdogTimeout = redissonClient.getConfig().getLockWatchdogTimeout();
+    }
+
+    private static RLock[] toLocks(RedissonClient redissonClient, String[] keys) {
+        RLock[] locks = new RLock[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            locks[i] = redissonClient.getLock(keys[i]);
+        }
+        return locks;
+    }
+
+    /**
+     * 与 redisson 的 {@link RLock#lock(long, TimeUnit)} 一样不响应中断：等待期间被中断时继续等待，加锁成功后恢复中断标记
+     */
+    @Override
+    public void lock(long leaseTime, TimeUnit unit) {
+        try {
+            this.acquire(-1L, leaseTime, unit, Thread.currentThread().getId(), false);
+        } catch (InterruptedException e) {
+            /*不响应中断时不会抛出*/
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Override
+    public void lockInterruptibly(long leaseTime, TimeUnit unit) throws InterruptedException {
+        this.acquire(-1L, leaseTime, unit, Thread.currentThread().getId(), true);
+    }
+
+    @Override
+    public boolean tryLock(long waitTime, long leaseTime, TimeUnit unit) throws InterruptedException {
+        return this.acquire(waitTime, leaseTime, unit, Thread.currentThread().getId(), true);
+    }
+
+    @Override
+    public void unlock() {
+        long threadId = Thread.currentThread().getId();
+        if (this.release(threadId) < 0) {
+            throw new IllegalMonitorStateException("attempt to unlock lock " + keys + ", not locked by current thread by node id: "
+                    + redissonClient.getId() + " thread-id: " + threadId);
+        }
+    }
+
+    @Override
+    public RFuture<Void> lockAsync(long leaseTime, TimeUnit unit, long threadId) {
+        CompletableFuture<Void> result = new CompletableFuture<>();
+        this.acquireAsync(-1L, leaseTime, unit, threadId).whenComplete((locked, e) -> {
+            if (e != null) {
+                result.completeExceptionally(e);
+            } else {
+                result.complete(null);
+            }
+        });
+        return new CompletableFutureWrapper<>(result);
+    }
+
+    @Override
+    public RFuture<Boolean> tryLockAsync(long waitTime, long leaseTime, TimeUnit unit, long threadId) {
+        return new CompletableFutureWrapper<>(this.acquireAsync(waitTime, leaseTime, unit, threadId));
+    }
+
+    @Override
+    public RFuture<Void> unlockAsync(long threadId) {
+        CompletableFuture<Void> result = new CompletableFuture<>();
+        this.releaseAsync(threadId).whenComplete((held, e) -> {
+            if (e != null) {
+                result.completeExceptionally(e);
+            } else if (held < 0) {
+                result.completeExceptionally(new IllegalMonitorStateException("attempt to unlock lock " + keys
+                        + ", not locked by current thread by node id: " + redissonClient.getId() + " thread-id: " + threadId));
+            } else {
+                result.complete(null);
+            }
+        });
+        return new CompletableFutureWrapper<>(result);
+    }
+
+    /**
+     * 反复尝试一次性加锁，失败后按 {@link RedisLockWaitStrategy} 的退避时长等待，或等到第一个被占用的 key 的释放通知，直到成功或超时
+     *
+     * @param interruptible 是否响应中断，否则被中断时继续等待，加锁成功后恢复中断标记
+     */
+    private boolean acquire(long waitTime, long leaseTime, TimeUnit unit, long threadId, boolean interruptible) throws InterruptedException {
+        long deadline = waitTime == -1L ? Long.MAX_VALUE : System.nanoTime() + unit.toNanos(waitTime);
+        boolean interrupted = false;
+        try {
+            for (int attempt = 0; ; attempt++) {
+                List<Long> blocked = this.tryAcquire(leaseTime, unit, threadId);
+                if (blocked == null) {
+                    return true;
+                }
+                long waitMillis = this.waitMillis(attempt, blocked.get(1), deadline);
+                if (waitMillis < 0) {
+                    return false;
+                }
+                try {
+                    waitStrategy.await((String) keys.get(blocked.get(0).intValue() - 1), waitMillis);
+                } catch (InterruptedException e) {
+                    if (interruptible) {
+                        throw e;
+                    }
+                    interrupted = true;
+                }
+            }
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private CompletableFuture<Boolean> acquireAsync(long waitTime, long leaseTime, TimeUnit unit, long threadId) {
+        long deadline = waitTime == -1L ? Long.MAX_VALUE : System.nanoTime() + unit.toNanos(waitTime);
+        CompletableFuture<Boolean> result = new CompletableFuture<>();
+        this.acquireAsync(leaseTime, unit, threadId, deadline, 0, result);
+        return result;
+    }
+
+    private void acquireAsync(long leaseTime, TimeUnit unit, long threadId, long deadline, int attempt, CompletableFuture<Boolean> result) {
+        this.tryAcquireAsync(leaseTime, unit, threadId).whenComplete((blocked, e) -> {
+            if (e != null) {
+                result.completeExceptionally(e);
+                return;
+            }
+            if (blocked == null) {
+                result.complete(true);
+                return;
+            }
+            long waitMillis = this.waitMillis(attempt, blocked.get(1), deadline);
+            if (waitMillis < 0) {
+                result.complete(false);
+                return;
+            }
+            SCHEDULER.schedule(() -> this.acquireAsync(leaseTime, unit, threadId, deadline, attempt + 1, result), waitMillis, TimeUnit.MILLISECONDS);
+        });
+    }
+
+    /**
+     * 第 attempt 次失败后等待的时长（ms）：{@link RedisLockWaitStrategy#backoff(int)}，且不超过占用者的剩余存活时间与剩余等待时间；已超时返回 -1
+     */
+    private long waitMillis(int attempt, long ttl, long deadline) {
+        long remainingMillis = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+        if (remainingMillis <= 0) {
+            return -1L;
+        }
+        long waitMillis = waitStrategy.backoff(attempt);
+        if (ttl >= 0) {
+            waitMillis = Math.min(waitMillis, ttl);
+        }
+        return Math.max(1L, Math.min(waitMillis, remainingMillis));
+    }
+
+    /**
+     * 尝试一次性加锁
+     *
+     * @return 成功返回 null，失败返回 {第一个被占用的 key 的下标（从 1 开始）, 其剩余存活时间（ms）}
+     */
+    private List<Long> tryAcquire(long leaseTime, TimeUnit unit, long threadId) {
+        List<Long> blocked = this.script().eval(routingKey, RScript.Mode.READ_WRITE, ACQUIRE_LUA, RScript.ReturnType.MULTI,
+                keys, this.leaseMillis(leaseTime, unit), this.lockName(threadId));
+        this.onAcquired(blocked, leaseTime, threadId);
+        return blocked;
+    }
+
+    private CompletableFuture<List<Long>> tryAcquireAsync(long leaseTime, TimeUnit unit, long threadId) {
+        RFuture<List<Long>> future = this.script().evalAsync(routingKey, RScript.Mode.READ_WRITE, ACQUIRE_LUA, RScript.ReturnType.MULTI,
+                keys, this.leaseMillis(leaseTime, unit), this.lockName(threadId));
+        return future.toCompletableFuture().thenApply(blocked -> {
+            this.onAcquired(blocked, leaseTime, threadId);
+            return blocked;
+        });
+    }
+
+    private void onAcquired(List<Long> blocked, long leaseTime, long threadId) {
+        if (blocked == null && leaseTime == -1L) {
+            renewals.computeIfAbsent(threadId, id -> SCHEDULER.scheduleAtFixedRate(() -> this.renew(id),
+                    watchdogTimeout / 3, watchdogTimeout / 3, TimeUnit.MILLISECONDS));
+        }
+    }
+
+    private long release(long threadId) {
+        Long held = this.script().eval(routingKey, RScript.Mode.READ_WRITE, RELEASE_LUA, RScript.ReturnType.INTEGER,
+                keys, this.releaseArgs(threadId));
+        this.onReleased(held, threadId);
+        return held;
+    }
+
+    private CompletableFuture<Long> releaseAsync(long threadId) {
+        RFuture<Long> future = this.script().evalAsync(routingKey, RScript.Mode.READ_WRITE, RELEASE_LUA, RScript.ReturnType.INTEGER,
+                keys, this.releaseArgs(threadId));
+        return future.toCompletableFuture().thenApply(held -> {
+            this.onReleased(held, threadId);
+            return held;
+        });
+    }
+
+    private void onReleased(long held, long threadId) {
+        if (held <= 0) {
+            this.cancelRenewal(threadId);
+        }
+    }
+
+    private void renew(long threadId) {
+        RFuture<Long> future = this.script().evalAsync(routingKey, RScript.Mode.READ_WRITE, RENEW_LUA, RScript.ReturnType.INTEGER,
+                keys, watchdogTimeout, this.lockName(threadId));
+        future.whenComplete((renewed, e) -> {
+            if (e != null) {
+                log.warn("renew(...) => locks -> {} renew failed! e.getMessage -> {}", keys, e.getMessage());
+            } else if (renewed == null || renewed == 0) {
+                this.cancelRenewal(threadId);
+            }
+        });
+    }
+
+    private void cancelRenewal(long threadId) {
+        ScheduledFuture<?> renewal = renewals.remove(threadId);
+        if (renewal != null) {
+            renewal.cancel(false);
+        }
+    }
+
+    private Object[] releaseArgs(long threadId) {
+        Object[] args = new Object[4 + channels.length];
+        args[0] = this.lockName(threadId);
+        args[1] = watchdogTimeout;
+        args[2] = UNLOCK_MESSAGE;
+        args[3] = notifyChannel;
+        System.arraycopy(channels, 0, args, 4, channels.length);
+        return args;
+    }
+
+    private long leaseMillis(long leaseTime, TimeUnit unit) {
+        return leaseTime == -1L ? watchdogTimeout : unit.toMillis(leaseTime);
+    }
+
+    private String lockName(long threadId) {
+        return redissonClient.getId() + ":" + threadId;
+    }
+
+    private RScript script() {
+        return redissonClient.getScript(StringCodec.INSTANCE);
+    }
+
+}
@@ -0,0 +1,227 @@
+package top.isopen.commons.springboot.lock;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.redisson.api.RBucket;
+import org.redisson.api.RTopic;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+import top.isopen.commons.logging.Log;
+import top.isopen.commons.logging.LogFactory;
+import top.isopen.commons.springboot.lock.annotation.SingleFlight;
+
+import java.io.Serializable;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * {@link SingleFlight} 的切面
+ * <p>
+ * JVM 内以 key -> 执行中的 {@link CompletableFuture} 合并调用：第一个调用者执行方法，其余调用者等待同一个 future；
+ * 方法返回 {@link CompletableFuture} 时直接共享其结果，不阻塞任何调用者
+ * <p>
+ * 集群模式下，JVM 内的执行者再以 redis 标记竞争集群内的执行权：
+ * 抢到标记的节点执行方法，将结果写入一个短期的结果 key 并发布到 key 对应的频道；
+ * 其他节点订阅频道等待结果，等待超时或执行者失败时自行执行方法
+ *
+ * @author TimeChaser
+ * @version 1.0
+ * @since 2026/10/17 23:10
+ */
+@Aspect
+public class SingleFlightAspect {
+
+    private static final Log log = LogFactory.getLog(SingleFlightAspect.class);
+
+    private static final String KEY_PREFIX = "commons:single-flight:";
+    private static final String RUNNING_SUFFIX = ":running";
+    private static final String RESULT_SUFFIX = ":result";
+    /**
+     * 结果 key 的存活时间，只用于覆盖等待者订阅频道与执行者发布结果之间的时间差，不作为缓存
+     */
+    private static final long RESULT_TTL_MILLIS = 1000L;
+
+    private final RedissonClient redissonClient;
+    private final ConcurrentMap<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+
+    public SingleFlightAspect(RedissonClient redissonClient) {
+        this.redissonClient = redissonClient;
+    }
+
+    @Around(value = "@within(singleFlight) || @annotation(singleFlight)")
+    public Object process(ProceedingJoinPoint joinPoint, SingleFlight singleFlight) throws Throwable {
+        LockParameter parameter = new LockParameter(singleFlight, joinPoint);
+        Class<?> returnType = ((MethodSignature) joinPoint.getSignature()).getReturnType();
+        if (CompletionStage.class.isAssignableFrom(returnType) && returnType.isAssignableFrom(CompletableFuture.class)) {
+            return this.processAsync(joinPoint, parameter);
+        }
+
+        String key = parameter.getKey();
+        CompletableFuture<Object> flight = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(key, flight);
+        if (existing != null) {
+            if (log.isDebugEnabled()) {
+                log.debug("process(...) => single flight -> {} joined", key);
+            }
+            return this.await(existing);
+        }
+        try {
+            Object result = singleFlight.cluster() ? this.proceedInCluster(joinPoint, parameter) : joinPoint.proceed();
+            flight.complete(result);
+            return result;
+        } catch (Throwable e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, flight);
+        }
+    }
+
+    /**
+     * 方法返回 {@link CompletableFuture} 时，等待者得到执行者结果的一个副本，避免等待者的 complete 影响其他调用者
+     */
+    private Object processAsync(ProceedingJoinPoint joinPoint, LockParameter parameter) throws Throwable {
+        String key = parameter.getKey();
+        CompletableFuture<Object> flight = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(key, flight);
+        if (existing != null) {
+            return existing.thenApply(value -> value);
+        }
+        CompletionStage<?> stage;
+        try {
+            stage = (CompletionStage<?>) joinPoint.proceed();
+        } catch (Throwable e) {
+            inFlight.remove(key, flight);
+            flight.completeExceptionally(e);
+            throw e;
+        }
+        if (stage == null) {
+            inFlight.remove(key, flight);
+            flight.complete(null);
+            return null;
+        }
+        stage.whenComplete((value, e) -> {
+            inFlight.remove(key, flight);
+            if (e != null) {
+                flight.completeExceptionally(e);
+            } else {
+                flight.complete(value);
+            }
+        });
+        return flight.thenApply(value -> value);
+    }
+
+    private Object await(CompletableFuture<Object> flight) throws Throwable {
+        try {
+            return flight.get();
+        } catch (ExecutionException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * 在集群内合并调用
+     */
+    private Object proceedInCluster(ProceedingJoinPoint joinPoint, LockParameter parameter) throws Throwable {
+        String name = KEY_PREFIX + parameter.getKey();
+        RBucket<String> running = redissonClient.getBucket(name + RUNNING_SUFFIX, StringCodec.INSTANCE);
+        RBucket<Result> resultBucket = redissonClient.getBucket(name + RESULT_SUFFIX);
+        RTopic topic = redissonClient.getTopic(name);
+
+        Duration leaseTime = Duration.ofMillis(parameter.getTimeUnit().toMillis(parameter.getLeaseTime()));
+        if (running.setIfAbsent(redissonClient.getId(), leaseTime)) {
+            return this.lead(joinPoint, running, resultBucket, topic);
+        }
+
+        Result result = this.follow(parameter, running, resultBucket, topic);
+        if (result != null && !result.failed) {
+            if (log.isDebugEnabled()) {
+                log.debug("proceedInCluster(...) => single flight -> {} received result from cluster", name);
+            }
+            return result.value;
+        }
+        if (log.isDebugEnabled()) {
+            log.debug("proceedInCluster(...) => single flight -> {} got no result from cluster, proceed locally", name);
+        }
+        return joinPoint.proceed();
+    }
+
+    /**
+     * 执行方法并发布结果；失败时发布失败标记，使等待者自行执行
+     * <p>
+     * 结束后以 compare-and-delete 删除执行者标记（{@link RBucket#compareAndSet} 的 update 为 null 时原子地比较并删除）
+     */
+    private Object lead(ProceedingJoinPoint joinPoint, RBucket<String> running, RBucket<Result> resultBucket, RTopic topic) throws Throwable {
+        Result result = Result.FAILED;
+        try {
+            Object value = joinPoint.proceed();
+            result = new Result(false, value);
+            return value;
+        } finally {
+            try {
+                resultBucket.set(result, RESULT_TTL_MILLIS, TimeUnit.MILLISECONDS);
+                topic.publish(result);
+            } catch (RuntimeException e) {
+                log.warn("lead(...) => single flight -> {} publish result failed! e.getMessage -> {}", topic.getChannelNames(), e.getMessage());
+            } finally {
+                /*执行超过 leaseTime 后标记可能已属于其他节点，只删除仍属于本节点的标记*/
+                running.compareAndSet(redissonClient.getId(), null);
+            }
+        }
+    }
+
+    /**
+     * 等待其他节点的执行结果，超时或执行者已结束但没有结果时返回 null
+     * <p>
+     * 先订阅再检查结果 key 与执行者标记，避免错过订阅前发布的结果
+     */
+    private Result follow(LockParameter parameter, RBucket<String> running, RBucket<Result> resultBucket, RTopic topic) throws InterruptedException {
+        CompletableFuture<Result> received = new CompletableFuture<>();
+        int listenerId = topic.addListener(Result.class, (channel, message) -> received.complete(message));
+        try {
+            Result result = resultBucket.get();
+            if (result != null) {
+                return result;
+            }
+            if (!running.isExists()) {
+                return null;
+            }
+            return received.get(parameter.getWaitTime(), parameter.getTimeUnit());
+        } catch (ExecutionException | TimeoutException e) {
+            return null;
+        } finally {
+            topic.removeListenerAsync(listenerId);
+        }
+    }
+
+    /**
+     * 经 redis 发布的执行结果
+     */
+    static final class Result implements Serializable {
+
+        private static final long serialVersionUID = 4184870612376401187L;
+
+        static final Result FAILED = new Result(true, null);
+
+        private boolean failed;
+        private Object value;
+
+        Result() {
+        }
+
+        Result(boolean failed, Object value) {
+            this.failed = failed;
+            this.value = value;
+        }
+
+    }
+
+}
@@ -25,7 +25,7 @@ public @interface RedLock {
     /**
      * 锁的 key
      * <p>
-     * key 中只能存在一个 spEl 表达式
+     * key 以 ":" 分段，以 '#' 开头的段为 spEl 表达式，其余为字面量，表达式的个数不限
      * <p>
      * 类似于：
      * <p>
@@ -34,6 +34,8 @@ public @interface RedLock {
      * #user.userId:password
      * <p>
      * user:#user.userId:password
+     * <p>
+     * tenant:#tenant.id:user:#user.userId
      */
     String key();
 
@@ -58,4 +60,25 @@ public @interface RedLock {
      */
     long waitTime() default 500L;
 
+    /**
+     * 方法正常结束后锁继续持有的时间（单位 {@link RedLock#timeUnit()}）
+     * <p>
+     * 大于 0 时，方法返回后不立即解锁，而是再持有 holdAfterReturn 后才解锁，可用于限制同一 key 的执行频率；
+     * 方法抛出异常时立即解锁
+     * <p>
+     * 注：持有期间同一线程再次加锁会因可重入而直接成功
+     */
+    long holdAfterReturn() default 0L;
+
+    /**
+     * 是否先获取本地锁
+     * <p>
+     * 开启后，同一个 JVM 内竞争同一个 key 的线程先在本地排队，只有拿到本地锁的线程才去竞争分布式锁，
+     * 减少热点 key 对 redis 的请求与锁释放通知；本地锁与分布式锁共用 waitTime
+     * <p>
+     * 注：方法返回 {@link java.util.concurrent.CompletableFuture}、Mono、Flux 时异步加锁，不支持 localFirst
+     * 注：方法返回 {@link java.util.concurrent.CompletableFuture}、Mono、Flux 时，方法体在加锁成功后于 redLockAsyncExecutor 线程池中执行，不在调用线程中执行
+     */
+    boolean localFirst() default false;
+
 }
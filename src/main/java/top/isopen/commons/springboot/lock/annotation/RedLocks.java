@@ -28,7 +28,7 @@ public @interface RedLocks {
     /**
      * 锁的 key
      * <p>
-     * 一条 key 中只能存在一个 spEl 表达式
+     * 一条 key 以 ":" 分段，以 '#' 开头的段为 spEl 表达式，其余为字面量，表达式的个数不限
      * <p>
      * 类似于：
      * <p>
@@ -37,6 +37,11 @@ public @interface RedLocks {
      * #user.userId:password
      * <p>
      * user:#user.userId:password
+     * <p>
+     * tenant:#tenant.id:user:#user.userId
+     * <p>
+     * 表达式的值为集合或数组时按元素展开为多个 key，如 order:#orderIds 对每个 orderId 各加一把锁；
+     * 所有 key 去重后按字典序加锁，展开后没有 key 时抛出异常，见 {@link #allowEmptyKeys()}
      */
     String[] keys();
 
@@ -61,4 +66,45 @@ public @interface RedLocks {
      */
     long waitTime() default 500L;
 
+    /**
+     * 方法正常结束后锁继续持有的时间（单位 {@link RedLocks#timeUnit()}）
+     * <p>
+     * 大于 0 时，方法返回后不立即解锁，而是再持有 holdAfterReturn 后才解锁，可用于限制同一 key 的执行频率；
+     * 方法抛出异常时立即解锁
+     * <p>
+     * 注：持有期间同一线程再次加锁会因可重入而直接成功
+     */
+    long holdAfterReturn() default 0L;
+
+    /**
+     * 是否先获取本地锁
+     * <p>
+     * 开启后，同一个 JVM 内竞争同一个 key 的线程先在本地排队，只有拿到本地锁的线程才去竞争分布式锁，
+     * 减少热点 key 对 redis 的请求与锁释放通知；本地锁与分布式锁共用 waitTime
+     * <p>
+     * 注：方法返回 {@link java.util.concurrent.CompletableFuture}、Mono、Flux 时异步加锁，不支持 localFirst
+     * 注：方法返回 {@link java.util.concurrent.CompletableFuture}、Mono、Flux 时，方法体在加锁成功后于 redLockAsyncExecutor 线程池中执行，不在调用线程中执行
+     */
+    boolean localFirst() default false;
+
+    /**
+     * 是否以一个 lua 脚本一次性获取全部 key 的锁
+     * <p>
+     * 开启后，每次尝试只需一次往返：全部 key 都空闲时一起加锁，否则一个也不加，释放时同样一次释放全部 key；
+     * 加锁耗时不再随 key 的个数增长，也不会出现只获取到部分 key 的情况
+     * <p>
+     * 加锁失败后按 commons.redis.lock 的 initial-backoff-millis / max-backoff-millis 退避重试，开启了锁释放通知时被通知提前唤醒
+     * <p>
+     * 注：公平锁或集群模式下 key 不在同一个 slot（可用 hash tag 使其位于同一个 slot）时不生效，仍逐个获取
+     */
+    boolean atomic() default false;
+
+    /**
+     * 展开后没有 key（如集合参数为空）时是否不加锁直接执行方法
+     * <p>
+     * 默认 false：抛出 {@link top.isopen.commons.springboot.enums.BaseErrorEnum#INVALID_RED_LOCK_ASPECT_PARAMETER_ERROR}，
+     * 避免 key 模板或参数错误时方法在没有任何锁的情况下执行
+     */
+    boolean allowEmptyKeys() default false;
+
 }
@@ -0,0 +1,65 @@
+package top.isopen.commons.springboot.lock.annotation;
+
+import top.isopen.commons.springboot.enums.LockModeEnum;
+
+import java.lang.annotation.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 分布式读写锁注解
+ * <p>
+ * 同一个 key 的读锁可被多个读者同时持有，写锁与读锁、写锁均互斥；
+ * 可重入、可 Watch Dog，底层依赖 {@link org.redisson.api.RReadWriteLock}
+ * <p>
+ * 注：方法返回 {@link java.util.concurrent.CompletableFuture}、Mono、Flux 时，方法体在加锁成功后于 redLockAsyncExecutor 线程池中执行，不在调用线程中执行
+ *
+ * @author TimeChaser
+ * @version 1.0
+ * @since 2026/10/17 21:00
+ */
+@Target({ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface RedReadWriteLock {
+
+    /**
+     * 锁的 key
+     * <p>
+     * 写法同 {@link RedLock#key()}
+     */
+    String key();
+
+    /**
+     * 加读锁还是写锁
+     */
+    LockModeEnum mode() default LockModeEnum.WRITE;
+
+    /**
+     * 加锁的时间（单位 {@link RedReadWriteLock#timeUnit()}），超过这个时间后锁便自动解锁；
+     * <p>
+     * 如果 leaseTime 为 -1，则启用 Watch Dog 机制，先加锁 30 秒，线程存货则续期
+     */
+    long leaseTime() default -1L;
+
+    /**
+     * 参数的时间单位
+     */
+    TimeUnit timeUnit() default TimeUnit.MILLISECONDS;
+
+    /**
+     * 获取锁的最大尝试时间（单位 {@link RedReadWriteLock#timeUnit()}）
+     * <p>
+     * 该值大于 0 则使用 locker.tryLock 方法加锁，在 waitTime 时间过后仍未加锁成功则抛出异常
+     * <p>
+     * 等于 -1 则使用 locker.lock 方法自旋锁循环加锁，直到加锁成功
+     */
+    long waitTime() default 500L;
+
+    /**
+     * 方法正常结束后锁继续持有的时间（单位 {@link RedReadWriteLock#timeUnit()}）
+     *
+     * @see RedLock#holdAfterReturn()
+     */
+    long holdAfterReturn() default 0L;
+
+}
@@ -0,0 +1,59 @@
+package top.isopen.commons.springboot.lock.annotation;
+
+import java.lang.annotation.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 分布式信号量注解
+ * <p>
+ * 限制同一个 key 下被注释方法在整个集群中的最大并发数，如最多同时执行 8 个导出任务；
+ * 底层依赖 {@link org.redisson.api.RPermitExpirableSemaphore}，每个许可带有租期，持有者宕机后许可到期自动归还
+
+ * <p>
+ * 方法返回 Mono / Flux 时在订阅时异步获取许可，不阻塞订阅线程；方法在 redLockAsyncExecutor 线程池中调用，结果完成、出错或被取消订阅时归还许可
+ *
+ * @author TimeChaser
+ * @version 1.0
+ * @since 2026/10/17 21:20
+ */
+@Target({ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface RedSemaphore {
+
+    /**
+     * 信号量的 key
+     * <p>
+     * 写法同 {@link RedLock#key()}
+     */
+    String key();
+
+    /**
+     * 许可数，即最大并发数
+     * <p>
+     * 注：只在信号量首次创建时生效，之后修改该值不会改变 redis 中已有信号量的许可数
+     */
+    int permits();
+
+    /**
+     * 许可的租期（单位 {@link RedSemaphore#timeUnit()}），超过这个时间后许可自动归还
+     * <p>
+     * 信号量没有 Watch Dog 机制，租期应大于方法的最长执行时间
+     */
+    long leaseTime() default 30000L;
+
+    /**
+     * 参数的时间单位
+     */
+    TimeUnit timeUnit() default TimeUnit.MILLISECONDS;
+
+    /**
+     * 获取许可的最大尝试时间（单位 {@link RedSemaphore#timeUnit()}）
+     * <p>
+     * 该值大于等于 0 则在 waitTime 时间过后仍未获取到许可时抛出异常
+     * <p>
+     * 等于 -1 则一直等待，直到获取到许可
+     */
+    long waitTime() default 500L;
+
+}
@@ -0,0 +1,57 @@
+package top.isopen.commons.springboot.lock.annotation;
+
+import java.lang.annotation.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 合并重复调用注解
+ * <p>
+ * 同一个 JVM 内 key 相同的并发调用只执行一次，其余调用等待并共享这次执行的结果（或异常），
+ * 用于代替只是为了避免重复计算同一个结果而加的 {@link RedLock}
+ * <p>
+ * 开启 cluster 后，整个集群中 key 相同的并发调用只执行一次，结果经 redis 发布给其他节点的等待者
+ * <p>
+ * 注：共享的结果是同一个对象（集群模式下其他节点为反序列化后的副本），调用方不应修改它
+ *
+ * @author TimeChaser
+ * @version 1.0
+ * @since 2026/10/17 23:05
+ */
+@Target({ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface SingleFlight {
+
+    /**
+     * 合并调用的 key
+     * <p>
+     * 写法同 {@link RedLock#key()}
+     */
+    String key();
+
+    /**
+     * 是否在整个集群内合并调用
+     * <p>
+     * 开启后结果需能被 redisson 配置的 codec 序列化；等待超时或执行者失败时，等待者自行执行方法；
+     * 方法返回 {@link java.util.concurrent.CompletableFuture} 时只在 JVM 内合并
+     */
+    boolean cluster() default false;
+
+    /**
+     * 集群模式下等待其他节点的执行结果的最长时间（单位 {@link SingleFlight#timeUnit()}）
+     */
+    long waitTime() default 5000L;
+
+    /**
+     * 集群模式下执行者标记的存活时间（单位 {@link SingleFlight#timeUnit()}），执行者宕机后标记到期，其他节点重新执行
+     * <p>
+     * 应大于方法的最长执行时间
+     */
+    long leaseTime() default 30000L;
+
+    /**
+     * 参数的时间单位
+     */
+    TimeUnit timeUnit() default TimeUnit.MILLISECONDS;
+
+}
@@ -1,24 +1,31 @@
 package top.isopen.commons.springboot.repository;
 
+import com.baomidou.mybatisplus.annotation.TableId;
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
 import lombok.SneakyThrows;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.ResolvableType;
 import top.isopen.commons.logging.Log;
 import top.isopen.commons.logging.LogFactory;
+import top.isopen.commons.springboot.bean.CursorPageResponse;
+import top.isopen.commons.springboot.enums.BaseErrorEnum;
 import top.isopen.commons.springboot.model.AbstractModel;
 import top.isopen.commons.springboot.repository.annotation.OrderByField;
 import top.isopen.commons.springboot.repository.annotation.QueryField;
-import top.isopen.commons.springboot.repository.enums.OrderByTypeEnum;
 import top.isopen.commons.springboot.repository.enums.QueryTypeEnum;
+import top.isopen.commons.springboot.repository.support.Keyset;
+import top.isopen.commons.springboot.repository.support.ModelMetadata;
+import top.isopen.commons.springboot.repository.support.QueryPlanCache;
+import top.isopen.commons.springboot.repository.support.SFunction;
 import top.isopen.commons.springboot.repository.types.OrderBy;
 import top.isopen.commons.springboot.repository.types.OrderByList;
 import top.isopen.commons.springboot.repository.types.Query;
 import top.isopen.commons.springboot.repository.types.QueryList;
 import top.isopen.commons.springboot.types.AbstractType;
+import top.isopen.commons.springboot.types.PageSize;
 import top.isopen.commons.springboot.util.FieldUtil;
-import top.isopen.commons.springboot.util.TypeUtil;
 
-import java.lang.reflect.Field;
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
@@ -26,7 +33,8 @@ import java.util.List;
 /**
  * 抽象 Repository 层
  * <p>
- * 提供基础条件注解式查询（{@link QueryField}）、复杂条件查询（{@link Query}、{@link QueryList}）以及排序查询（{@link OrderBy}、{@link OrderByList}）动态支持
+ * 提供基础条件注解式查询（{@link QueryField}）、复杂条件查询（{@link Query}、{@link QueryList}）以及排序查询（{@link OrderBy}、{@link OrderByList}）动态支持，
+ * 以及按排序列翻页的游标分页（{@link #cursorQueryWrapper}、{@link #cursorPage}）
  * <p>
  * 简化了复杂查询的组合
  *
@@ -38,6 +46,30 @@ public abstract class AbstractRepository<T extends AbstractType<T, ?>, R extends
 
     private static final Log log = LogFactory.getLog(AbstractRepository.class);
 
+    private volatile Class<?> modelClass;
+    private QueryPlanCache queryPlanCache = QueryPlanCache.getInstance();
+
+    /**
+     * 注入查询计划缓存，未注入（如不在 Spring 容器中）时使用 {@link QueryPlanCache#getInstance()}
+     */
+    @Autowired(required = false)
+    public void setQueryPlanCache(QueryPlanCache queryPlanCache) {
+        this.queryPlanCache = queryPlanCache;
+    }
+
+    /**
+     * 预先解析一批 lambda 列名，可在应用启动时调用（如在子类的 @PostConstruct 方法中），
+     * 避免首次使用 {@link Query.Builder#columnFunc}、{@link OrderBy.Builder#asc(SFunction)} 时的反射开销
+     *
+     * @param columns 如 Model::getName
+     * @author TimeChaser
+     * @since 2026/10/17 23:50
+     */
+    @SafeVarargs
+    protected final void warmUpColumns(SFunction<R, ?>... columns) {
+        FieldUtil.warmUp(columns);
+    }
+
     /**
      * 注解式条件查询与注解式排序查询的组合查询
      *
@@ -50,11 +82,10 @@ public abstract class AbstractRepository<T extends AbstractType<T, ?>, R extends
     @SuppressWarnings("unchecked")
     protected final LambdaQueryWrapper<R> queryWrapper(T query, boolean inOrder) {
         R model = query != null ? (R) query.toModel() : null;
-        Class<R> clazz = model != null ? (Class<R>) model.getClass() : null;
-        List<Field> fieldList = clazz != null ? FieldUtil.resolveDeclaredField(clazz) : null;
+        ModelMetadata metadata = model != null ? ModelMetadata.of(model.getClass()) : null;
 
-        List<Query<R>> queryList = fieldList != null ? resolveQuery(model, fieldList) : null;
-        List<OrderBy<R>> orderByList = inOrder && fieldList != null ? resolveOrderBy(fieldList) : null;
+        List<Query<R>> queryList = metadata != null ? resolveQuery(model, metadata) : null;
+        List<OrderBy<R>> orderByList = inOrder && metadata != null ? resolveOrderBy(metadata) : null;
 
         return queryWrapper(queryList, orderByList);
     }
@@ -85,15 +116,11 @@ public abstract class AbstractRepository<T extends AbstractType<T, ?>, R extends
     @SuppressWarnings("unchecked")
     protected LambdaQueryWrapper<R> queryWrapper(T query, OrderByList<T> orderByList) {
         R model = query != null ? (R) query.toModel() : null;
-        Class<R> clazz = model != null ? (Class<R>) model.getClass() : null;
-        List<Field> fieldList = clazz != null ? FieldUtil.resolveDeclaredField(clazz) : null;
+        ModelMetadata metadata = model != null ? ModelMetadata.of(model.getClass()) : null;
 
-        List<Query<R>> queryList = fieldList != null ? resolveQuery(model, fieldList) : null;
-        List<OrderBy<R>> transformedOrderByList = orderByList != null ? TypeUtil.transform(orderByList.getValue(),
-                orderBy -> OrderBy.<R>builder().asc(orderBy.isAsc(), orderBy.getColumn()).build()) :
-                null;
+        List<Query<R>> queryList = metadata != null ? resolveQuery(model, metadata) : null;
 
-        return queryWrapper(queryList, transformedOrderByList);
+        return queryWrapper(queryList, orderByList != null ? orderByList.getValue() : null);
     }
 
     /**
@@ -121,89 +148,139 @@ public abstract class AbstractRepository<T extends AbstractType<T, ?>, R extends
      * @since 2023/7/7 15:37
      */
     protected final LambdaQueryWrapper<R> queryWrapper(QueryList<T> queryList, OrderByList<T> orderByList) {
-        List<Query<R>> transformedQueryList = queryList != null ? TypeUtil.transform(queryList.getValue(),
-                query -> Query.<R>builder()
-                        .type(query.getType())
-                        .column(query.getColumn())
-                        .value(query.getValue())
-                        .subQuery(transformQueryList(query.getSubQuery()))
-                        .build()) : null;
-        List<OrderBy<R>> transformedOrderByList = orderByList != null ? TypeUtil.transform(orderByList.getValue(),
-                orderBy -> OrderBy.<R>builder().asc(orderBy.isAsc(), orderBy.getColumn()).build()) :
-                null;
-
-        return this.queryWrapper(transformedQueryList, transformedOrderByList);
-    }
-
-    private List<Query<R>> transformQueryList(List<Query<T>> queryList) {
-        if (queryList == null) {
-            return null;
-        }
-        return TypeUtil.transform(queryList, query -> Query.<R>builder()
-                .type(query.getType())
-                .column(query.getColumn())
-                .value(query.getValue())
-                .subQuery(query.getSubQuery() != null ? transformQueryList(query.getSubQuery()) : null)
-                .build());
+        return this.queryWrapper(queryList != null ? queryList.getValue() : null,
+                orderByList != null ? orderByList.getValue() : null);
+    }
+
+    /**
+     * 查询形状可缓存时使用 {@link QueryPlanCache} 中编译好的查询计划，否则逐个构造条件
+     * <p>
+     * 条件与排序只读取列、类型与值，Type 与 Model 的查询可直接使用，不再转换泛型
+     */
+    private LambdaQueryWrapper<R> queryWrapper(List<? extends Query<?>> queryList, List<? extends OrderBy<?>> orderByList) {
+        QueryWrapper<R> queryWrapper = new QueryWrapper<>();
+        fillWrapper(queryWrapper, queryList, orderByList);
+        return queryWrapper.lambda();
     }
 
-    private LambdaQueryWrapper<R> queryWrapper(List<Query<R>> queryList, List<OrderBy<R>> orderByList) {
+    /**
+     * 游标分页查询：复杂条件查询与排序查询的组合，附加上一页游标的 seek 条件，并以 LIMIT size + 1 判断是否有下一页
+     * <p>
+     * 查询结果交给 {@link #cursorPage} 截取当前页并生成下一页的游标，翻页开销与页码无关，也不统计总数；
+     * 排序列须为 Model 的属性且是 NOT NULL 的列（生成游标时遇到 null 值抛出 {@link BaseErrorEnum#INVALID_CURSOR_KEY_VALUE_ERROR}），
+     * 排序列中没有 {@link TableId} 主键列时自动追加主键列升序，保证排序唯一；Model 没有 {@link TableId} 属性时抛出 {@link BaseErrorEnum#INVALID_CURSOR_ID_ERROR}
+     *
+     * @param queryList   {@link QueryList} 复杂条件查询实体，可为 null
+     * @param orderByList {@link OrderByList} 排序查询实体，可为 null，此时只按主键列排序
+     * @param cursor      上一页的游标，为空时查询第一页
+     * @param size        页面大小，不能为 0
+     * @return {@link LambdaQueryWrapper<R>}
+     * @author TimeChaser
+     * @since 2026/10/18 00:40
+     */
+    protected final LambdaQueryWrapper<R> cursorQueryWrapper(QueryList<T> queryList, OrderByList<T> orderByList, String cursor, PageSize size) {
+        if (size.getValue() == 0) {
+            BaseErrorEnum.INVALID_PAGE_SIZE_ERROR.throwException();
+        }
+        Keyset keyset = this.keyset(orderByList);
         QueryWrapper<R> queryWrapper = new QueryWrapper<>();
 
-        if (queryList != null) {
-            if (log.isDebugEnabled()) {
+        if (queryList != null && !queryList.getValue().isEmpty()) {
+            /*条件整体嵌套后再与 seek 条件组合，避免条件中的 OR 改变 seek 条件的作用范围*/
+            queryWrapper.and(x -> fillWrapper(x, queryList.getValue(), null));
+        }
+        keyset.apply(queryWrapper, cursor);
+        queryWrapper.last("LIMIT " + (size.getValue() + 1));
+
+        return queryWrapper.lambda();
+    }
+
+    /**
+     * 由 {@link #cursorQueryWrapper} 的查询结果构造游标分页响应
+     *
+     * @param rows        {@link #cursorQueryWrapper} 的查询结果
+     * @param orderByList 与 {@link #cursorQueryWrapper} 相同的排序查询实体
+     * @param size        与 {@link #cursorQueryWrapper} 相同的页面大小
+     * @return {@link CursorPageResponse<R>}
+     * @author TimeChaser
+     * @since 2026/10/18 00:40
+     */
+    protected final CursorPageResponse<R> cursorPage(List<R> rows, OrderByList<T> orderByList, PageSize size) {
+        int pageSize = size.getValue();
+        boolean hasNext = rows.size() > pageSize;
+        List<R> data = hasNext ? new ArrayList<>(rows.subList(0, pageSize)) : rows;
+        String next = hasNext ? this.keyset(orderByList).encode(data.get(data.size() - 1)) : null;
+
+        return CursorPageResponse.of(next, (long) data.size(), hasNext, data);
+    }
+
+    private Keyset keyset(OrderByList<T> orderByList) {
+        return Keyset.of(ModelMetadata.of(this.getModelClass()), orderByList != null ? orderByList.getValue() : null);
+    }
+
+    private Class<?> getModelClass() {
+        Class<?> clazz = modelClass;
+        if (clazz == null) {
+            clazz = ResolvableType.forClass(getClass()).as(AbstractRepository.class).resolveGeneric(1);
+            if (clazz == null) {
+                throw new IllegalStateException("can not resolve model type of " + getClass());
+            }
+            modelClass = clazz;
+        }
+        return clazz;
+    }
+
+    private void fillWrapper(QueryWrapper<R> queryWrapper, List<? extends Query<?>> queryList, List<? extends OrderBy<?>> orderByList) {
+        if (log.isDebugEnabled()) {
+            if (queryList != null) {
                 log.debug("query: {}", queryList);
             }
+            if (orderByList != null) {
+                log.debug("order by: {}", orderByList);
+            }
+        }
+        if (queryPlanCache.apply(queryWrapper, queryList, orderByList)) {
+            return;
+        }
+
+        if (queryList != null) {
             fillQuery(queryWrapper, queryList);
         }
         if (orderByList != null) {
-            if (log.isDebugEnabled()) {
-                log.debug("order by: {}", orderByList);
-            }
             fillOrderBy(queryWrapper, orderByList);
         }
-
-        return queryWrapper.lambda();
     }
 
     @SneakyThrows
-    private List<Query<R>> resolveQuery(R model, List<Field> fieldList) {
-        List<Query<R>> result = new ArrayList<>();
-
-        for (Field field : fieldList) {
-            if (field.isAnnotationPresent(QueryField.class)) {
-                field.setAccessible(true);
-                Object value = field.get(model);
-                if (value != null) {
-                    QueryField queryField = field.getAnnotation(QueryField.class);
-                    QueryTypeEnum type = queryField.type();
-                    result.add(Query.<R>builder().type(type).column(field.getName()).value(value).build());
-                }
+    private List<Query<R>> resolveQuery(R model, ModelMetadata metadata) {
+        List<ModelMetadata.QueryEntry> entries = metadata.getQueryEntries();
+        List<Query<R>> result = new ArrayList<>(entries.size());
+
+        for (ModelMetadata.QueryEntry entry : entries) {
+            Object value = entry.getValue(model);
+            if (value != null) {
+                result.add(Query.<R>builder().type(entry.getType()).column(entry.getColumn()).value(value).build());
             }
         }
         return result;
     }
 
-    private List<OrderBy<R>> resolveOrderBy(List<Field> fieldList) {
-        List<OrderBy<R>> result = new ArrayList<>();
+    private List<OrderBy<R>> resolveOrderBy(ModelMetadata metadata) {
+        List<ModelMetadata.OrderByEntry> entries = metadata.getOrderByEntries();
+        List<OrderBy<R>> result = new ArrayList<>(entries.size());
 
-        for (Field field : fieldList) {
-            if (field.isAnnotationPresent(OrderByField.class)) {
-                OrderByField orderByField = field.getAnnotation(OrderByField.class);
-                OrderByTypeEnum type = orderByField.type();
-                int order = orderByField.order();
-                result.add(OrderBy.<R>builder().asc(type.isAsc(), field.getName(), order).build());
-            }
+        for (ModelMetadata.OrderByEntry entry : entries) {
+            result.add(OrderBy.<R>builder().asc(entry.isAsc(), entry.getColumn(), entry.getOrder()).build());
         }
         return result;
     }
 
-    private void fillQuery(QueryWrapper<R> queryWrapper, List<Query<R>> queryList) {
-        for (Query<R> queryEntity : queryList) {
+    private void fillQuery(QueryWrapper<R> queryWrapper, List<? extends Query<?>> queryList) {
+        for (Query<?> queryEntity : queryList) {
             QueryTypeEnum queryType = queryEntity.getType();
             String column = escapeColumn(queryEntity.getColumn());
             Object value = queryEntity.getValue();
-            List<Query<R>> subQuery = queryEntity.getSubQuery();
+            List<? extends Query<?>> subQuery = queryEntity.getSubQuery();
 
             if (queryType == QueryTypeEnum.EQ) {
                 queryWrapper.eq(column, value);
@@ -231,9 +308,10 @@ public abstract class AbstractRepository<T extends AbstractType<T, ?>, R extends
         }
     }
 
-    private void fillOrderBy(QueryWrapper<R> queryWrapper, List<OrderBy<R>> orderByList) {
-        orderByList.sort(Comparator.comparingInt(OrderBy::getOrder));
-        for (OrderBy<R> orderBy : orderByList) {
+    private void fillOrderBy(QueryWrapper<R> queryWrapper, List<? extends OrderBy<?>> orderByList) {
+        List<OrderBy<?>> sorted = new ArrayList<>(orderByList);
+        sorted.sort(Comparator.comparingInt(OrderBy::getOrder));
+        for (OrderBy<?> orderBy : sorted) {
             queryWrapper.orderBy(true, orderBy.isAsc(), escapeColumn(orderBy.getColumn()));
         }
     }
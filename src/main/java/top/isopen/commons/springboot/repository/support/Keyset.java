@@ -0,0 +1,311 @@
+package top.isopen.commons.springboot.repository.support;
+
+import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
+import top.isopen.commons.logging.Log;
+import top.isopen.commons.logging.LogFactory;
+import top.isopen.commons.springboot.enums.BaseErrorEnum;
+import top.isopen.commons.springboot.repository.types.OrderBy;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * 游标分页（keyset / seek 分页）的排序键
+ * <p>
+ * 由排序查询按 {@link OrderBy#getOrder()} 排序得到，排序列中没有 {@link com.baomidou.mybatisplus.annotation.TableId} 主键列时追加主键列升序，
+ * 保证排序唯一，Model 没有主键属性时无法保证，构造时抛出 {@link BaseErrorEnum#INVALID_CURSOR_ID_ERROR}；下一页以上一页最后一行的排序键值生成 seek 条件：
+ * <ul>
+ *     <li>排序方向一致时：(a, b) &gt; (?, ?)，全部降序时为 &lt;</li>
+ *     <li>排序方向混合时：(a &gt; ? OR a = ? AND b &lt; ?)</li>
+ * </ul>
+ * 游标是排序键值经 Base64（URL 安全）编码的不透明字符串，其中带有排序形状的指纹，排序变化后旧游标失效
+ * <p>
+ * 排序列必须是 NOT NULL 的列：SQL 中与 null 的比较不成立，null 值无法作为 seek 条件。
+ * 生成游标时遇到 null 值抛出 {@link BaseErrorEnum#INVALID_CURSOR_KEY_VALUE_ERROR}（服务端错误，并记录列名），
+ * 此时应从排序查询中去掉可为 null 的列；不支持的值类型按 {@link Object#toString()} 以字符串编码
+ *
+ * @author TimeChaser
+ * @version 1.0
+ * @since 2026/10/18 00:40
+ */
+public final class Keyset {
+
+    private static final Log log = LogFactory.getLog(Keyset.class);
+
+    private static final byte TAG_STRING = 'S';
+    private static final byte TAG_INT = 'I';
+    private static final byte TAG_LONG = 'J';
+    private static final byte TAG_SHORT = 'H';
+    private static final byte TAG_BYTE = 'b';
+    private static final byte TAG_DOUBLE = 'D';
+    private static final byte TAG_FLOAT = 'F';
+    private static final byte TAG_BOOLEAN = 'Z';
+    private static final byte TAG_BIG_DECIMAL = 'B';
+    private static final byte TAG_BIG_INTEGER = 'G';
+    private static final byte TAG_DATE = 'T';
+    private static final byte TAG_INSTANT = 'i';
+    private static final byte TAG_LOCAL_DATE_TIME = 'L';
+    private static final byte TAG_LOCAL_DATE = 'd';
+    private static final byte TAG_LOCAL_TIME = 't';
+
+    private final ModelMetadata metadata;
+    private final String[] columns;
+    private final boolean[] asc;
+    private final String seek;
+    private final int fingerprint;
+
+    private Keyset(ModelMetadata metadata, String[] columns, boolean[] asc) {
+        this.metadata = metadata;
+        this.columns = columns;
+        this.asc = asc;
+        this.seek = renderSeek(columns, asc);
+
+        StringBuilder shape = new StringBuilder();
+        for (int i = 0; i < columns.length; i++) {
+            shape.append(asc[i] ? 'a' : 'd').append(columns[i]).append(',');
+        }
+        this.fingerprint = shape.toString().hashCode();
+    }
+
+    /**
+     * 构造排序键
+     *
+     * @param metadata    Model 的查询元数据，用于读取排序列的值与主键列
+     * @param orderByList 排序查询，可为 null，此时只按主键列排序；其中的列必须是 NOT NULL 的列
+     * @return {@link Keyset}
+     * @author TimeChaser
+     * @since 2026/10/18 00:40
+     */
+    public static Keyset of(ModelMetadata metadata, List<? extends OrderBy<?>> orderByList) {
+        List<OrderBy<?>> sorted = orderByList != null ? new ArrayList<>(orderByList) : new ArrayList<>();
+        sorted.sort(Comparator.comparingInt(OrderBy::getOrder));
+
+        String idColumn = metadata.getIdColumn();
+        if (idColumn == null || !metadata.hasColumn(idColumn)) {
+            log.warn("no TableId field to break ties in cursor order");
+            BaseErrorEnum.INVALID_CURSOR_ID_ERROR.throwException();
+        }
+        List<String> columns = new ArrayList<>(sorted.size() + 1);
+        List<Boolean> asc = new ArrayList<>(sorted.size() + 1);
+        for (OrderBy<?> orderBy : sorted) {
+            String column = orderBy.getColumn();
+            if (!metadata.hasColumn(column) || columns.contains(column)) {
+                BaseErrorEnum.INVALID_ORDER_BY_COLUMN_ERROR.throwException();
+            }
+            columns.add(column);
+            asc.add(orderBy.isAsc());
+        }
+        if (!columns.contains(idColumn)) {
+            columns.add(idColumn);
+            asc.add(true);
+        }
+
+        boolean[] ascArray = new boolean[asc.size()];
+        for (int i = 0; i < ascArray.length; i++) {
+            ascArray[i] = asc.get(i);
+        }
+        return new Keyset(metadata, columns.toArray(new String[0]), ascArray);
+    }
+
+    /**
+     * 将 seek 条件与排序填入 queryWrapper
+     *
+     * @param queryWrapper 已填好查询条件的 {@link QueryWrapper}
+     * @param cursor       上一页返回的游标，为空时查询第一页
+     */
+    public void apply(QueryWrapper<?> queryWrapper, String cursor) {
+        if (cursor != null && cursor.length() > 0) {
+            queryWrapper.apply(seek, this.decode(cursor));
+        }
+        for (int i = 0; i < columns.length; i++) {
+            queryWrapper.orderBy(true, asc[i], QueryPlan.escapeColumn(columns[i]));
+        }
+    }
+
+    /**
+     * 以 model 的排序键值生成游标
+     *
+     * @param model 当前页的最后一行
+     * @return 游标
+     */
+    public String encode(Object model) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(fingerprint);
+            for (String column : columns) {
+                Object value = metadata.getColumnValue(column, model);
+                if (value == null) {
+                    log.warn("null value of cursor order by column {}, use a NOT NULL column instead", column);
+                    BaseErrorEnum.INVALID_CURSOR_KEY_VALUE_ERROR.throwException();
+                }
+                writeValue(out, value);
+            }
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException("can not encode cursor of " + model, e);
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes.toByteArray());
+    }
+
+    private Object[] decode(String cursor) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(Base64.getUrlDecoder().decode(cursor)))) {
+            if (in.readInt() != fingerprint) {
+                throw BaseErrorEnum.INVALID_CURSOR_ERROR.exception();
+            }
+            Object[] values = new Object[columns.length];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = readValue(in);
+            }
+            if (in.available() > 0) {
+                throw BaseErrorEnum.INVALID_CURSOR_ERROR.exception();
+            }
+            return values;
+        } catch (IOException | IllegalArgumentException | DateTimeParseException e) {
+            throw BaseErrorEnum.INVALID_CURSOR_ERROR.exception();
+        }
+    }
+
+    /**
+     * 方向一致时使用行值比较，否则展开为逐列比较；同一占位符可出现多次，绑定同一个值
+     */
+    private static String renderSeek(String[] columns, boolean[] asc) {
+        boolean uniform = true;
+        for (boolean value : asc) {
+            uniform &= value == asc[0];
+        }
+
+        StringBuilder sb = new StringBuilder();
+        if (uniform) {
+            StringBuilder values = new StringBuilder();
+            sb.append('(');
+            for (int i = 0; i < columns.length; i++) {
+                if (i > 0) {
+                    sb.append(", ");
+                    values.append(", ");
+                }
+                sb.append(QueryPlan.escapeColumn(columns[i]));
+                values.append('{').append(i).append('}');
+            }
+            return sb.append(asc[0] ? ") > (" : ") < (").append(values).append(')').toString();
+        }
+
+        sb.append('(');
+        for (int i = 0; i < columns.length; i++) {
+            if (i > 0) {
+                sb.append(" OR ");
+            }
+            for (int j = 0; j < i; j++) {
+                sb.append(QueryPlan.escapeColumn(columns[j])).append(" = {").append(j).append("} AND ");
+            }
+            sb.append(QueryPlan.escapeColumn(columns[i])).append(asc[i] ? " > {" : " < {").append(i).append('}');
+        }
+        return sb.append(')').toString();
+    }
+
+    private static void writeValue(DataOutputStream out, Object value) throws IOException {
+        if (value instanceof String) {
+            out.writeByte(TAG_STRING);
+            out.writeUTF((String) value);
+        } else if (value instanceof Integer) {
+            out.writeByte(TAG_INT);
+            out.writeInt((Integer) value);
+        } else if (value instanceof Long) {
+            out.writeByte(TAG_LONG);
+            out.writeLong((Long) value);
+        } else if (value instanceof Short) {
+            out.writeByte(TAG_SHORT);
+            out.writeShort((Short) value);
+        } else if (value instanceof Byte) {
+            out.writeByte(TAG_BYTE);
+            out.writeByte((Byte) value);
+        } else if (value instanceof Double) {
+            out.writeByte(TAG_DOUBLE);
+            out.writeDouble((Double) value);
+        } else if (value instanceof Float) {
+            out.writeByte(TAG_FLOAT);
+            out.writeFloat((Float) value);
+        } else if (value instanceof Boolean) {
+            out.writeByte(TAG_BOOLEAN);
+            out.writeBoolean((Boolean) value);
+        } else if (value instanceof BigDecimal) {
+            out.writeByte(TAG_BIG_DECIMAL);
+            out.writeUTF(value.toString());
+        } else if (value instanceof BigInteger) {
+            out.writeByte(TAG_BIG_INTEGER);
+            out.writeUTF(value.toString());
+        } else if (value instanceof Date) {
+            out.writeByte(TAG_DATE);
+            out.writeLong(((Date) value).getTime());
+        } else if (value instanceof Instant) {
+            out.writeByte(TAG_INSTANT);
+            out.writeUTF(value.toString());
+        } else if (value instanceof LocalDateTime) {
+            out.writeByte(TAG_LOCAL_DATE_TIME);
+            out.writeUTF(value.toString());
+        } else if (value instanceof LocalDate) {
+            out.writeByte(TAG_LOCAL_DATE);
+            out.writeUTF(value.toString());
+        } else if (value instanceof LocalTime) {
+            out.writeByte(TAG_LOCAL_TIME);
+            out.writeUTF(value.toString());
+        } else {
+            out.writeByte(TAG_STRING);
+            out.writeUTF(value.toString());
+        }
+    }
+
+    private static Object readValue(DataInputStream in) throws IOException {
+        byte tag = in.readByte();
+        switch (tag) {
+            case TAG_STRING:
+                return in.readUTF();
+            case TAG_INT:
+                return in.readInt();
+            case TAG_LONG:
+                return in.readLong();
+            case TAG_SHORT:
+                return in.readShort();
+            case TAG_BYTE:
+                return in.readByte();
+            case TAG_DOUBLE:
+                return in.readDouble();
+            case TAG_FLOAT:
+                return in.readFloat();
+            case TAG_BOOLEAN:
+                return in.readBoolean();
+            case TAG_BIG_DECIMAL:
+                return new BigDecimal(in.readUTF());
+            case TAG_BIG_INTEGER:
+                return new BigInteger(in.readUTF());
+            case TAG_DATE:
+                return new Date(in.readLong());
+            case TAG_INSTANT:
+                return Instant.parse(in.readUTF());
+            case TAG_LOCAL_DATE_TIME:
+                return LocalDateTime.parse(in.readUTF());
+            case TAG_LOCAL_DATE:
+                return LocalDate.parse(in.readUTF());
+            case TAG_LOCAL_TIME:
+                return LocalTime.parse(in.readUTF());
+            default:
+                throw new IOException("unknown cursor value tag " + tag);
+        }
+    }
+
+}
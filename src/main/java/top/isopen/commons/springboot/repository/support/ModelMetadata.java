@@ -0,0 +1,212 @@
+package top.isopen.commons.springboot.repository.support;
+
+import com.baomidou.mybatisplus.annotation.TableId;
+import top.isopen.commons.springboot.repository.annotation.OrderByField;
+import top.isopen.commons.springboot.repository.annotation.QueryField;
+import top.isopen.commons.springboot.repository.enums.QueryTypeEnum;
+import top.isopen.commons.springboot.repository.types.Column;
+import top.isopen.commons.springboot.util.FieldUtil;
+import top.isopen.commons.springboot.util.NameUtil;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Model 的查询元数据
+ * <p>
+ * 每个 Model 类只在首次使用时解析一次：预先筛选出被 {@link QueryField}、{@link OrderByField} 注解的属性，
+ * 解析好它们的列名、查询类型、排序方式，并为查询属性生成 {@link MethodHandle} 取值器；
+ * 之后每次构造查询只需遍历这些条目
+ * <p>
+ * 同时按列名登记所有实例属性的取值器与 {@link TableId} 主键列，供游标分页读取排序列的值
+ * <p>
+ * 元数据按类缓存在 {@link ClassValue} 中，随类一起卸载
+ *
+ * @author TimeChaser
+ * @version 1.0
+ * @since 2026/10/17 23:30
+ */
+public final class ModelMetadata {
+
+    private static final ClassValue<ModelMetadata> CACHE = new ClassValue<ModelMetadata>() {
+        @Override
+        protected ModelMetadata computeValue(Class<?> type) {
+            return new ModelMetadata(type);
+        }
+    };
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+
+    private final List<QueryEntry> queryEntries;
+    private final List<OrderByEntry> orderByEntries;
+    private final Map<String, MethodHandle> columnGetters;
+    private final String idColumn;
+
+    private ModelMetadata(Class<?> clazz) {
+        List<QueryEntry> queryEntries = new ArrayList<>();
+        List<OrderByEntry> orderByEntries = new ArrayList<>();
+        Map<String, MethodHandle> columnGetters = new HashMap<>();
+        String idColumn = null;
+        for (Field field : FieldUtil.resolveDeclaredField(clazz)) {
+            if (!Modifier.isStatic(field.getModifiers())) {
+                /*子类的属性在前，与父类同名时以子类为准*/
+                columnGetters.putIfAbsent(column(field).getValue(), getter(field));
+            }
+            TableId tableId = field.getAnnotation(TableId.class);
+            if (tableId != null && idColumn == null) {
+                /*与排序列、取值器一致，按属性名得到列名，不使用 TableId#value()*/
+                idColumn = column(field).getValue();
+            }
+            QueryField queryField = field.getAnnotation(QueryField.class);
+            if (queryField != null) {
+                queryEntries.add(new QueryEntry(column(field), queryField.type(), getter(field)));
+            }
+            OrderByField orderByField = field.getAnnotation(OrderByField.class);
+            if (orderByField != null) {
+                orderByEntries.add(new OrderByEntry(column(field), orderByField.type().isAsc(), orderByField.order()));
+            }
+        }
+        /*稳定排序，order 相同时保持属性的声明顺序*/
+        orderByEntries.sort(Comparator.comparingInt(OrderByEntry::getOrder));
+        this.queryEntries = Collections.unmodifiableList(queryEntries);
+        this.orderByEntries = Collections.unmodifiableList(orderByEntries);
+        this.columnGetters = columnGetters;
+        this.idColumn = idColumn;
+    }
+
+    /**
+     * 获取 Model 类的查询元数据
+     *
+     * @param clazz Model 类
+     * @return {@link ModelMetadata}
+     * @author TimeChaser
+     * @since 2026/10/17 23:30
+     */
+    public static ModelMetadata of(Class<?> clazz) {
+        return CACHE.get(clazz);
+    }
+
+    /**
+     * 被 {@link QueryField} 注解的属性，按属性的声明顺序（子类在前）
+     */
+    public List<QueryEntry> getQueryEntries() {
+        return queryEntries;
+    }
+
+    /**
+     * 被 {@link OrderByField} 注解的属性，已按 {@link OrderByField#order()} 排序
+     */
+    public List<OrderByEntry> getOrderByEntries() {
+        return orderByEntries;
+    }
+
+    /**
+     * 是否存在该列对应的实例属性
+     */
+    public boolean hasColumn(String column) {
+        return columnGetters.containsKey(column);
+    }
+
+    /**
+     * 读取 model 中列对应的属性值
+     *
+     * @param column 列名，须存在对应的实例属性
+     */
+    public Object getColumnValue(String column, Object model) throws Throwable {
+        return (Object) columnGetters.get(column).invokeExact(model);
+    }
+
+    /**
+     * 被 {@link TableId} 注解的主键属性按属性名得到的列名，没有时为 null
+     */
+    public String getIdColumn() {
+        return idColumn;
+    }
+
+    private static Column column(Field field) {
+        return new Column(NameUtil.humpToUnderline(field.getName()));
+    }
+
+    private static MethodHandle getter(Field field) {
+        field.setAccessible(true);
+        try {
+            MethodHandle getter = MethodHandles.lookup().unreflectGetter(field);
+            if (Modifier.isStatic(field.getModifiers())) {
+                getter = MethodHandles.dropArguments(getter, 0, Object.class);
+            }
+            return getter.asType(GETTER_TYPE);
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException("can not access field " + field, e);
+        }
+    }
+
+    /**
+     * 查询属性
+     */
+    public static final class QueryEntry {
+
+        private final Column column;
+        private final QueryTypeEnum type;
+        private final MethodHandle getter;
+
+        private QueryEntry(Column column, QueryTypeEnum type, MethodHandle getter) {
+            this.column = column;
+            this.type = type;
+            this.getter = getter;
+        }
+
+        public Column getColumn() {
+            return column;
+        }
+
+        public QueryTypeEnum getType() {
+            return type;
+        }
+
+        /**
+         * 读取 model 中该属性的值
+         */
+        public Object getValue(Object model) throws Throwable {
+            return (Object) getter.invokeExact(model);
+        }
+
+    }
+
+    /**
+     * 排序属性
+     */
+    public static final class OrderByEntry {
+
+        private final Column column;
+        private final boolean asc;
+        private final int order;
+
+        private OrderByEntry(Column column, boolean asc, int order) {
+            this.column = column;
+            this.asc = asc;
+            this.order = order;
+        }
+
+        public Column getColumn() {
+            return column;
+        }
+
+        public boolean isAsc() {
+            return asc;
+        }
+
+        public int getOrder() {
+            return order;
+        }
+
+    }
+
+}
@@ -0,0 +1,302 @@
+package top.isopen.commons.springboot.repository.support;
+
+import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
+import com.baomidou.mybatisplus.core.toolkit.Constants;
+import top.isopen.commons.springboot.repository.enums.QueryTypeEnum;
+import top.isopen.commons.springboot.repository.types.OrderBy;
+import top.isopen.commons.springboot.repository.types.Query;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 按查询形状编译好的查询计划
+ * <p>
+ * 查询形状由查询类型树、列、IN 列表的长度档位以及排序组成，不包含查询的值；
+ * 同一形状的查询共用一段预先渲染好的条件 SQL，其中第 i 个值渲染为参数 #{ew.paramNameValuePairs.QPVALi}，
+ * 每次查询只需将值直接放入 {@link QueryWrapper#getParamNameValuePairs()}，
+ * 不经过 {@link QueryWrapper#apply} 对每个占位符逐个替换整段 SQL 的过程
+ * <p>
+ * 渲染规则与逐个调用 {@link QueryWrapper#eq}、{@link QueryWrapper#or()}、{@link QueryWrapper#and} 的结果保持一致：
+ * 条件之间默认以 AND 连接，开头、重复以及被 AND 子查询覆盖的 OR 被忽略
+ *
+ * @author TimeChaser
+ * @version 1.0
+ * @since 2026/10/18 00:10
+ */
+public final class QueryPlan {
+
+    /**
+     * 无法缓存的形状，如包含 "{" 的列、空的 AND 子查询，使用逐个构造条件的方式
+     */
+    static final QueryPlan UNCACHEABLE = new QueryPlan(null, null, false, null, null);
+
+    private static final String AND = "AND";
+    private static final String OR = "OR";
+    /**
+     * 计划绑定的参数名前缀，与 MybatisPlus 生成的参数名（MPGENVAL1、MPGENVAL2…）区分
+     */
+    private static final String PARAM_PREFIX = "QPVAL";
+    private static final String PARAM_REFERENCE = "#{" + Constants.WRAPPER + Constants.WRAPPER_PARAM_MIDDLE + PARAM_PREFIX;
+
+    private final String where;
+    private final String[] paramNames;
+    private final boolean trailingOr;
+    private final String[] orderByColumns;
+    private final boolean[] orderByAsc;
+
+    private QueryPlan(String where, String[] paramNames, boolean trailingOr, String[] orderByColumns, boolean[] orderByAsc) {
+        this.where = where;
+        this.paramNames = paramNames;
+        this.trailingOr = trailingOr;
+        this.orderByColumns = orderByColumns;
+        this.orderByAsc = orderByAsc;
+    }
+
+    /**
+     * 将计划与本次查询的值填入 queryWrapper
+     *
+     * @param queryWrapper 新建的 {@link QueryWrapper}
+     * @param values       按占位符顺序排列的值，由 {@link #appendShape} 收集
+     */
+    void apply(QueryWrapper<?> queryWrapper, Object[] values) {
+        if (where != null) {
+            Map<String, Object> params = queryWrapper.getParamNameValuePairs();
+            for (int i = 0; i < values.length; i++) {
+                params.put(paramNames[i], values[i]);
+            }
+            String alias = queryWrapper.getParamAlias();
+            queryWrapper.apply(Constants.WRAPPER.equals(alias) ? where
+                    : where.replace(PARAM_REFERENCE, "#{" + alias + Constants.WRAPPER_PARAM_MIDDLE + PARAM_PREFIX));
+        }
+        /*末尾的 OR 在 SQL 中被忽略，但会作用于调用方之后追加的条件*/
+        if (trailingOr) {
+            queryWrapper.or();
+        }
+        if (orderByColumns != null) {
+            for (int i = 0; i < orderByColumns.length; i++) {
+                queryWrapper.orderBy(true, orderByAsc[i], orderByColumns[i]);
+            }
+        }
+    }
+
+    boolean isCacheable() {
+        return this != UNCACHEABLE;
+    }
+
+    /**
+     * 将查询的形状写入 key，同时按占位符顺序收集查询的值
+     *
+     * @return 子查询为 null 时无法确定形状，返回 false
+     */
+    static boolean appendShape(StringBuilder key, List<Object> values, List<? extends Query<?>> queryList) {
+        for (Query<?> query : queryList) {
+            QueryTypeEnum type = query.getType();
+            if (type == null) {
+                key.append('x');
+                continue;
+            }
+            key.append(type.ordinal()).append('.');
+            if (type == QueryTypeEnum.OR) {
+                continue;
+            }
+            if (type == QueryTypeEnum.AND) {
+                if (query.getSubQuery() == null) {
+                    return false;
+                }
+                key.append('(');
+                if (!appendShape(key, values, query.getSubQuery())) {
+                    return false;
+                }
+                key.append(')');
+                continue;
+            }
+            appendColumn(key, query.getColumn());
+            Object value = query.getValue();
+            if (type == QueryTypeEnum.IN || type == QueryTypeEnum.NOT_IN) {
+                List<?> list = (List<?>) value;
+                int arity = arity(list.size());
+                key.append('#').append(arity);
+                values.addAll(list);
+                for (int i = list.size(); i < arity; i++) {
+                    values.add(list.get(list.size() - 1));
+                }
+            } else if (type == QueryTypeEnum.LIKE) {
+                values.add("%" + value + "%");
+            } else {
+                values.add(value);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 将排序的形状写入 key
+     */
+    static void appendOrderByShape(StringBuilder key, List<? extends OrderBy<?>> orderByList) {
+        key.append('/');
+        for (OrderBy<?> orderBy : orderByList) {
+            key.append(orderBy.isAsc() ? 'a' : 'd').append(orderBy.getOrder()).append('.');
+            appendColumn(key, orderBy.getColumn());
+        }
+    }
+
+    /**
+     * 编译查询形状，只使用查询的类型、列与 IN 列表的长度
+     */
+    static QueryPlan compile(List<? extends Query<?>> queryList, List<? extends OrderBy<?>> orderByList) {
+        String where = null;
+        String[] paramNames = null;
+        boolean trailingOr = false;
+        if (queryList != null) {
+            List<String> segments = new ArrayList<>();
+            int[] index = new int[1];
+            if (!render(segments, queryList, index)) {
+                return UNCACHEABLE;
+            }
+            if (!segments.isEmpty() && OR.equals(segments.get(segments.size() - 1))) {
+                segments.remove(segments.size() - 1);
+                trailingOr = true;
+            }
+            where = segments.isEmpty() ? null : String.join(" ", segments);
+            paramNames = new String[index[0]];
+            for (int i = 0; i < paramNames.length; i++) {
+                paramNames[i] = PARAM_PREFIX + i;
+            }
+        }
+
+        String[] orderByColumns = null;
+        boolean[] orderByAsc = null;
+        if (orderByList != null) {
+            List<OrderBy<?>> sorted = new ArrayList<>(orderByList);
+            sorted.sort(Comparator.comparingInt(OrderBy::getOrder));
+            orderByColumns = new String[sorted.size()];
+            orderByAsc = new boolean[sorted.size()];
+            for (int i = 0; i < sorted.size(); i++) {
+                orderByColumns[i] = escapeColumn(sorted.get(i).getColumn());
+                orderByAsc[i] = sorted.get(i).isAsc();
+            }
+        }
+        return new QueryPlan(where, paramNames, trailingOr, orderByColumns, orderByAsc);
+    }
+
+    private static boolean render(List<String> segments, List<? extends Query<?>> queryList, int[] index) {
+        for (Query<?> query : queryList) {
+            QueryTypeEnum type = query.getType();
+            if (type == null) {
+                continue;
+            }
+            if (type == QueryTypeEnum.OR) {
+                connect(segments, OR);
+                continue;
+            }
+            if (type == QueryTypeEnum.AND) {
+                List<String> nested = new ArrayList<>();
+                if (!render(nested, query.getSubQuery(), index)) {
+                    return false;
+                }
+                if (!nested.isEmpty() && isConnector(nested.get(nested.size() - 1))) {
+                    nested.remove(nested.size() - 1);
+                }
+                if (nested.isEmpty()) {
+                    return false;
+                }
+                connect(segments, AND);
+                condition(segments, "(" + String.join(" ", nested) + ")");
+                continue;
+            }
+
+            String column = query.getColumn();
+            if (column.indexOf('{') >= 0) {
+                return false;
+            }
+            StringBuilder sb = new StringBuilder(escapeColumn(column)).append(operator(type));
+            if (type == QueryTypeEnum.IN || type == QueryTypeEnum.NOT_IN) {
+                int arity = arity(((List<?>) query.getValue()).size());
+                sb.append('(');
+                for (int i = 0; i < arity; i++) {
+                    if (i > 0) {
+                        sb.append(',');
+                    }
+                    sb.append(PARAM_REFERENCE).append(index[0]++).append('}');
+                }
+                sb.append(')');
+            } else {
+                sb.append(PARAM_REFERENCE).append(index[0]++).append('}');
+            }
+            condition(segments, sb.toString());
+        }
+        return true;
+    }
+
+    /**
+     * 与 MybatisPlus 一致：开头的连接词被忽略，相同的连接词不重复，不同的连接词以后者为准
+     */
+    private static void connect(List<String> segments, String connector) {
+        if (segments.isEmpty()) {
+            return;
+        }
+        int last = segments.size() - 1;
+        if (isConnector(segments.get(last))) {
+            if (segments.get(last).equals(connector)) {
+                return;
+            }
+            segments.remove(last);
+        }
+        segments.add(connector);
+    }
+
+    private static void condition(List<String> segments, String condition) {
+        if (!segments.isEmpty() && !isConnector(segments.get(segments.size() - 1))) {
+            segments.add(AND);
+        }
+        segments.add(condition);
+    }
+
+    private static boolean isConnector(String segment) {
+        return AND.equals(segment) || OR.equals(segment);
+    }
+
+    private static String operator(QueryTypeEnum type) {
+        switch (type) {
+            case EQ:
+                return " = ";
+            case LIKE:
+                return " LIKE ";
+            case NE:
+                return " <> ";
+            case LE:
+                return " <= ";
+            case GE:
+                return " >= ";
+            case LT:
+                return " < ";
+            case GT:
+                return " > ";
+            case IN:
+                return " IN ";
+            case NOT_IN:
+                return " NOT IN ";
+            default:
+                throw new IllegalArgumentException("unsupported query type " + type);
+        }
+    }
+
+    /**
+     * IN 列表的长度档位：向上取整到 2 的幂，不足的部分以最后一个值补齐，使不同长度的列表共用少量形状
+     */
+    private static int arity(int size) {
+        return size <= 1 ? size : Integer.highestOneBit(size - 1) << 1;
+    }
+
+    private static void appendColumn(StringBuilder key, String column) {
+        key.append(column.length()).append(':').append(column);
+    }
+
+    static String escapeColumn(String column) {
+        return "`" + column + "`";
+    }
+
+}
@@ -0,0 +1,127 @@
+package top.isopen.commons.springboot.repository.support;
+
+import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import top.isopen.commons.springboot.repository.types.OrderBy;
+import top.isopen.commons.springboot.repository.types.Query;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * {@link QueryPlan} 的缓存
+ * <p>
+ * 以查询形状为 key 缓存编译好的查询计划，缓存的形状数有上限，超出后按 Caffeine 的淘汰策略淘汰；
+ * Spring 环境中由 {@link top.isopen.commons.springboot.config.MybatisPlusConfig} 按配置注册为 bean 并注入每个 Repository，
+ * 未注入时 Repository 使用 {@link #getInstance()} 返回的 JVM 内共享实例
+ *
+ * @author TimeChaser
+ * @version 1.0
+ * @since 2026/10/18 00:10
+ */
+public final class QueryPlanCache {
+
+    public static final long DEFAULT_MAXIMUM_SIZE = 1024;
+
+    private static final QueryPlanCache INSTANCE = new QueryPlanCache(DEFAULT_MAXIMUM_SIZE);
+
+    private final Cache<String, QueryPlan> cache;
+    private volatile boolean enabled = true;
+
+    /**
+     * @param maximumSize 最多缓存的查询形状数
+     */
+    public QueryPlanCache(long maximumSize) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * 未注入 {@link QueryPlanCache} 的 Repository 使用的 JVM 内共享实例，不受 Spring 配置影响
+     */
+    public static QueryPlanCache getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * 以缓存的查询计划填充 queryWrapper
+     *
+     * @param queryWrapper 新建的 {@link QueryWrapper}
+     * @param queryList    条件查询，可为 null
+     * @param orderByList  排序查询，可为 null
+     * @return 未启用或形状无法缓存时返回 false，queryWrapper 不变，由调用方逐个构造条件
+     * @author TimeChaser
+     * @since 2026/10/18 00:10
+     */
+    public boolean apply(QueryWrapper<?> queryWrapper, List<? extends Query<?>> queryList, List<? extends OrderBy<?>> orderByList) {
+        if (!enabled) {
+            return false;
+        }
+        StringBuilder key = new StringBuilder();
+        List<Object> values = new ArrayList<>();
+        if (queryList != null && !QueryPlan.appendShape(key, values, queryList)) {
+            return false;
+        }
+        if (orderByList != null) {
+            QueryPlan.appendOrderByShape(key, orderByList);
+        }
+
+        QueryPlan plan = cache.get(key.toString(), k -> QueryPlan.compile(queryList, orderByList));
+        if (!plan.isCacheable()) {
+            return false;
+        }
+        plan.apply(queryWrapper, values.toArray());
+        return true;
+    }
+
+    /**
+     * 调整缓存的形状数上限
+     */
+    public void setMaximumSize(long maximumSize) {
+        cache.policy().eviction().ifPresent(eviction -> eviction.setMaximum(maximumSize));
+    }
+
+    /**
+     * 关闭后每次查询都逐个构造条件
+     */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+        if (!enabled) {
+            cache.invalidateAll();
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 当前缓存的形状数
+     */
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    /**
+     * 命中率，尚未查询过时为 1
+     */
+    public double hitRate() {
+        return cache.stats().hitRate();
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    /**
+     * 底层缓存，用于绑定缓存指标
+     */
+    public Cache<String, QueryPlan> getCache() {
+        return cache;
+    }
+
+}
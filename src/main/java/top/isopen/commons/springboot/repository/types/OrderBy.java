@@ -106,6 +106,16 @@ public class OrderBy<T> {
             return this;
         }
 
+        /**
+         * 使用已解析好的列，如 {@link top.isopen.commons.springboot.repository.support.ModelMetadata} 中预先解析的列
+         */
+        public Builder<T> asc(boolean asc, Column column, int order) {
+            orderBy.asc = asc;
+            orderBy.column = column;
+            orderBy.order = order;
+            return this;
+        }
+
         public Builder<T> desc(SFunction<T, ?> columnFunc) {
             orderBy.asc = false;
             orderBy.columnFunc = columnFunc;
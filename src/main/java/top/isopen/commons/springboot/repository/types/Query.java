@@ -94,6 +94,14 @@ public class Query<T> {
             return this;
         }
 
+        /**
+         * 使用已解析好的列，如 {@link top.isopen.commons.springboot.repository.support.ModelMetadata} 中预先解析的列
+         */
+        public Builder<T> column(Column column) {
+            query.column = column;
+            return this;
+        }
+
         public Builder<T> value(Object value) {
             query.value = value;
             return this;
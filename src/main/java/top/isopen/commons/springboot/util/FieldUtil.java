@@ -11,6 +11,7 @@ import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * 数据库字段工具类
@@ -28,7 +29,48 @@ public class FieldUtil {
     private static final String WRITE_REPLACE = "writeReplace";
     private static final String[] PREFIXES = new String[]{"is", "get"};
 
+    /**
+     * lambda 的实现类 -> 列名
+     * <p>
+     * 同一处 lambda（或方法引用）每次求值得到的对象都属于同一个实现类，因此解析结果只与实现类有关；
+     * 解析需要 lambda 对象本身，因此 {@link ClassValue} 中只存放一个容器，首次解析后再填入列名；
+     * 缓存随实现类一起卸载
+     */
+    private static final ClassValue<AtomicReference<String>> NAME_CACHE = new ClassValue<AtomicReference<String>>() {
+        @Override
+        protected AtomicReference<String> computeValue(Class<?> type) {
+            return new AtomicReference<>();
+        }
+    };
+
+    /**
+     * 解析 lambda 对应的列名，结果按 lambda 的实现类缓存，重复解析同一处 lambda 只需一次查找
+     *
+     * @param func 如 Model::getName
+     * @return 列名，如 name；解析失败返回 null
+     */
     public static <T> String resolveName(SFunction<T, ?> func) {
+        AtomicReference<String> cached = NAME_CACHE.get(func.getClass());
+        String name = cached.get();
+        if (name == null) {
+            name = doResolveName(func);
+            cached.set(name);
+        }
+        return name;
+    }
+
+    /**
+     * 预先解析一批 lambda 对应的列名，可在应用启动时调用，避免首次查询时的反射开销
+     *
+     * @param funcs 如 Model::getName
+     */
+    public static void warmUp(SFunction<?, ?>... funcs) {
+        for (SFunction<?, ?> func : funcs) {
+            resolveName(func);
+        }
+    }
+
+    private static String doResolveName(SFunction<?, ?> func) {
         try {
             Method method = func.getClass().getDeclaredMethod(WRITE_REPLACE);
             method.setAccessible(true);
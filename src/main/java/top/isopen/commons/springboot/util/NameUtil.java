@@ -1,10 +1,19 @@
 package top.isopen.commons.springboot.util;
 
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 /**
  * 命名工具类
+ * <p>
+ * 转换只遍历一次字符串，结果写入预估好容量的 {@link StringBuilder}；
+ * 不需要转换的字符串原样返回，转换结果缓存在有界的缓存中，重复转换同一个标识符（列名、属性名）时不再分配对象
+ * <p>
+ * 结果与逐个字符 replaceAll 的原实现完全一致：单次遍历只处理可以证明结果相同的字符串（普通标识符），
+ * 其余字符串（连续的 "_"、"_" 后跟正则元字符等）仍交给原实现
  *
  * @author TimeChaser
  * @version 1.0
@@ -12,31 +21,130 @@ import java.util.regex.Pattern;
  */
 public class NameUtil {
 
+    /**
+     * 每个方向最多缓存的标识符数，超过后清空重建，避免外部输入（如查询请求中的列名）无限占用内存
+     */
+    private static final int MAX_CACHE_SIZE = 4096;
+    private static final char UNDERLINE = '_';
+    private static final Pattern UPPER_PATTERN = Pattern.compile("([A-Z])");
+    private static final Pattern UNDERLINE_PATTERN = Pattern.compile("_(.)");
+
+    private static final ConcurrentMap<String, String> HUMP_TO_UNDERLINE_CACHE = new ConcurrentHashMap<>();
+    private static final ConcurrentMap<String, String> UNDERLINE_TO_HUMP_CACHE = new ConcurrentHashMap<>();
+
     /**
      * 驼峰转下划线
+     * <p>
+     * 每个大写字母 A-Z 转换为 "_" + 对应的小写字母（{@link String#toLowerCase()}），其余字符不变，如 userId -> user_id，userID -> user_i_d
      *
      * @param str 目标字符串
      * @return java.lang.String
      */
     public static String humpToUnderline(String str) {
-        String regex = "([A-Z])";
-        Matcher matcher = Pattern.compile(regex).matcher(str);
-        while (matcher.find()) {
-            String target = matcher.group();
-            str = str.replaceAll(target, "_" + target.toLowerCase());
+        String cached = HUMP_TO_UNDERLINE_CACHE.get(str);
+        if (cached != null) {
+            return cached;
         }
-        return str;
+        return cache(HUMP_TO_UNDERLINE_CACHE, str, doHumpToUnderline(str));
     }
 
     /**
      * 下划线转驼峰
+     * <p>
+     * 对原字符串中每个 "_x"，将当前结果中所有的 "_x" 替换为 x 的大写，如 user_id -> userId；
+     * "_" 后的字符作为正则与替换串使用，因此 "_a__a" -> "A_A"，"a_.b_c" -> "a.b."
      *
      * @param str 目标字符串
      * @return java.lang.String
      */
     public static String underlineToHump(String str) {
-        String regex = "_(.)";
-        Matcher matcher = Pattern.compile(regex).matcher(str);
+        String cached = UNDERLINE_TO_HUMP_CACHE.get(str);
+        if (cached != null) {
+            return cached;
+        }
+        return cache(UNDERLINE_TO_HUMP_CACHE, str, doUnderlineToHump(str));
+    }
+
+    private static String doHumpToUnderline(String str) {
+        int length = str.length();
+        int upperCount = 0;
+        boolean dottedI = isDottedILocale();
+        for (int i = 0; i < length; i++) {
+            char c = str.charAt(i);
+            if (isAsciiUpper(c)) {
+                if (c == 'I' && dottedI) {
+                    return replaceHumpToUnderline(str);
+                }
+                upperCount++;
+            }
+        }
+        if (upperCount == 0) {
+            return str;
+        }
+
+        StringBuilder sb = new StringBuilder(length + upperCount);
+        for (int i = 0; i < length; i++) {
+            char c = str.charAt(i);
+            if (isAsciiUpper(c)) {
+                sb.append(UNDERLINE).append((char) (c + ('a' - 'A')));
+            } else {
+                sb.append(c);
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * "_" 后只跟 ASCII 字母、数字（或行终止符、位于末尾）时，原实现中每次替换只作用于原字符串中的 "_x"，
+     * 替换后也不会产生新的 "_x"，与单次遍历的结果相同；否则交给原实现
+     */
+    private static String doUnderlineToHump(String str) {
+        int length = str.length();
+        int index = str.indexOf(UNDERLINE);
+        if (index < 0 || index == length - 1) {
+            return str;
+        }
+
+        boolean dottedI = isDottedILocale();
+        for (int i = index; i < length - 1; i++) {
+            if (str.charAt(i) == UNDERLINE) {
+                char next = str.charAt(i + 1);
+                if (!isAsciiLetterOrDigit(next) && !isLineTerminator(next) || next == 'i' && dottedI) {
+                    return replaceUnderlineToHump(str);
+                }
+            }
+        }
+
+        StringBuilder sb = new StringBuilder(length);
+        sb.append(str, 0, index);
+        for (int i = index; i < length; i++) {
+            char c = str.charAt(i);
+            if (c == UNDERLINE && i + 1 < length && !isLineTerminator(str.charAt(i + 1))) {
+                sb.append(Character.toUpperCase(str.charAt(++i)));
+            } else {
+                sb.append(c);
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * 原实现，处理单次遍历无法保证结果一致的字符串
+     */
+    private static String replaceHumpToUnderline(String str) {
+        Matcher matcher = UPPER_PATTERN.matcher(str);
+        while (matcher.find()) {
+            String target = matcher.group();
+            str = str.replaceAll(target, "_" + target.toLowerCase());
+        }
+        return str;
+    }
+
+    /**
+     * 原实现，处理单次遍历无法保证结果一致的字符串
+     */
+    private static String replaceUnderlineToHump(String str) {
+        Matcher matcher = UNDERLINE_PATTERN.matcher(str);
         while (matcher.find()) {
             String target = matcher.group(1);
             str = str.replaceAll("_" + target, target.toUpperCase());
@@ -44,4 +152,35 @@ public class NameUtil {
         return str;
     }
 
+    private static String cache(ConcurrentMap<String, String> cache, String str, String result) {
+        if (cache.size() >= MAX_CACHE_SIZE) {
+            cache.clear();
+        }
+        cache.put(str, result);
+        return result;
+    }
+
+    private static boolean isAsciiUpper(char c) {
+        return c >= 'A' && c <= 'Z';
+    }
+
+    private static boolean isAsciiLetterOrDigit(char c) {
+        return c >= 'a' && c <= 'z' || c >= 'A' && c <= 'Z' || c >= '0' && c <= '9';
+    }
+
+    /**
+     * 默认语言为土耳其语、阿塞拜疆语时，{@link String#toUpperCase()} 与 {@link String#toLowerCase()} 对 i / I 的转换不同于 ASCII
+     */
+    private static boolean isDottedILocale() {
+        String language = Locale.getDefault().getLanguage();
+        return "tr".equals(language) || "az".equals(language);
+    }
+
+    /**
+     * 与正则中 "." 不匹配的行终止符保持一致
+     */
+    private static boolean isLineTerminator(char c) {
+        return c == '\n' || c == '\r' || c == 0x0085 || c == 0x2028 || c == 0x2029;
+    }
+
 }
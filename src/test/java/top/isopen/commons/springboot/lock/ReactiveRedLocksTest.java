@@ -0,0 +1,155 @@
+package top.isopen.commons.springboot.lock;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.redisson.api.RLock;
+import org.redisson.api.RedissonClient;
+import org.redisson.misc.CompletableFutureWrapper;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+import top.isopen.commons.springboot.lock.annotation.RedLock;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * {@link ReactiveRedLocks} 的测试
+ *
+ * @author TimeChaser
+ * @version 1.0
+ * @since 2026/10/18 15:10
+ */
+class ReactiveRedLocksTest {
+
+    private static final String ASYNC_THREAD = "red-lock-async-test";
+
+    private final CompletableFuture<Boolean> granted = new CompletableFuture<>();
+    private final List<Long> unlocked = new CopyOnWriteArrayList<>();
+    private final List<String> invokedOn = new CopyOnWriteArrayList<>();
+
+    private ExecutorService executor;
+    private AbstractRedLockAspect aspect;
+    private RLock lock;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, ASYNC_THREAD);
+            thread.setDaemon(true);
+            return thread;
+        });
+        RedissonClient redissonClient = proxy(RedissonClient.class, (method, args) -> "test");
+        aspect = new RedLockAspect(redissonClient, new RedLockObserver(), executor);
+        lock = proxy(RLock.class, (method, args) -> {
+            switch (method.getName()) {
+                case "tryLockAsync":
+                    return new CompletableFutureWrapper<>(granted);
+                case "unlockAsync":
+                    unlocked.add((Long) args[0]);
+                    return new CompletableFutureWrapper<>((Void) null);
+                default:
+                    throw new UnsupportedOperationException(method.getName());
+            }
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void monoCancelledBeforeLockGrantedReleasesLock() throws Exception {
+        Disposable subscription = ((Mono<?>) proceed("locked", Mono.class)).subscribe();
+        subscription.dispose();
+
+        granted.complete(true);
+
+        assertEquals(1, unlocked.size());
+        assertTrue(invokedOn.isEmpty());
+    }
+
+    @Test
+    void fluxCancelledBeforeLockGrantedReleasesLock() throws Exception {
+        Disposable subscription = ((Flux<?>) proceed("lockedMany", Flux.class)).subscribe();
+        subscription.dispose();
+
+        granted.complete(true);
+
+        assertEquals(1, unlocked.size());
+        assertTrue(invokedOn.isEmpty());
+    }
+
+    @Test
+    void methodRunsOnAsyncExecutorAndReleasesOnComplete() throws Exception {
+        @SuppressWarnings("unchecked")
+        Mono<Object> mono = (Mono<Object>) proceed("locked", Mono.class);
+
+        StepVerifier.create(mono)
+                .then(() -> new Thread(() -> granted.complete(true), "redisson-netty-test").start())
+                .expectNext(ASYNC_THREAD)
+                .expectComplete()
+                .verify(Duration.ofSeconds(5));
+
+        assertEquals(1, unlocked.size());
+        assertEquals(1, invokedOn.size());
+    }
+
+    @RedLock(key = "test:lock")
+    Mono<String> locked() {
+        return Mono.fromSupplier(() -> Thread.currentThread().getName());
+    }
+
+    @RedLock(key = "test:lock")
+    Flux<String> lockedMany() {
+        return Flux.just(Thread.currentThread().getName());
+    }
+
+    private Object proceed(String methodName, Class<?> returnType) throws NoSuchMethodException {
+        Method method = ReactiveRedLocksTest.class.getDeclaredMethod(methodName);
+        MethodSignature signature = proxy(MethodSignature.class, (m, args) -> method);
+        ProceedingJoinPoint joinPoint = proxy(ProceedingJoinPoint.class, (m, args) -> {
+            switch (m.getName()) {
+                case "getSignature":
+                    return signature;
+                case "getArgs":
+                    return new Object[0];
+                case "proceed":
+                    invokedOn.add(Thread.currentThread().getName());
+                    return method.invoke(this);
+                default:
+                    throw new UnsupportedOperationException(m.getName());
+            }
+        });
+        LockParameter parameter = new LockParameter(method.getAnnotation(RedLock.class), joinPoint);
+        return ReactiveRedLocks.proceed(aspect, joinPoint, lock, parameter, returnType);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, Handler handler) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type},
+                (proxy, method, args) -> handler.handle(method, args));
+    }
+
+    @FunctionalInterface
+    private interface Handler {
+
+        Object handle(Method method, Object[] args) throws Exception;
+
+    }
+
+}
@@ -0,0 +1,191 @@
+package top.isopen.commons.springboot.lock;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.redisson.api.RPermitExpirableSemaphore;
+import org.redisson.api.RedissonClient;
+import org.redisson.misc.CompletableFutureWrapper;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import top.isopen.commons.springboot.lock.annotation.RedSemaphore;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.DoubleSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * {@link RedSemaphoreAspect} 的测试
+ *
+ * @author TimeChaser
+ * @version 1.0
+ * @since 2026/10/18 17:00
+ */
+class RedSemaphoreAspectTest {
+
+    private final List<String> acquires = new CopyOnWriteArrayList<>();
+    private final List<String> holds = new CopyOnWriteArrayList<>();
+    private final List<String> released = new CopyOnWriteArrayList<>();
+    private final AtomicInteger permits = new AtomicInteger(1);
+    private final Map<LockSite, DoubleSupplier> gauges = new ConcurrentHashMap<>();
+    private final CompletableFuture<String> granted = new CompletableFuture<>();
+
+    private RedLockObserver observer;
+    private RedSemaphoreAspect aspect;
+
+    @BeforeEach
+    void setUp() {
+        LockMetrics metrics = new LockMetrics() {
+
+            @Override
+            public void recordAcquire(LockSite site, long waitNanos, String result) {
+                acquires.add(site.getType() + ":" + result);
+            }
+
+            @Override
+            public void recordHold(LockSite site, long holdNanos) {
+                holds.add(site.getType());
+            }
+
+            @Override
+            public void registerPermits(LockSite site, DoubleSupplier availablePermits) {
+                gauges.put(site, availablePermits);
+            }
+
+        };
+        observer = new RedLockObserver(metrics, 0, 1000, 1, 16);
+        RPermitExpirableSemaphore semaphore = proxy(RPermitExpirableSemaphore.class, (method, args) -> {
+            switch (method.getName()) {
+                case "trySetPermits":
+                    return true;
+                case "tryAcquire":
+                    return permits.getAndDecrement() > 0 ? "permit" : null;
+                case "tryRelease":
+                    released.add((String) args[0]);
+                    permits.incrementAndGet();
+                    return true;
+                case "tryReleaseAsync":
+                    released.add((String) args[0]);
+                    permits.incrementAndGet();
+                    return new CompletableFutureWrapper<>(true);
+                case "tryAcquireAsync":
+                    return new CompletableFutureWrapper<>(granted);
+                case "getName":
+                    return "test:semaphore";
+                case "availablePermitsAsync":
+                    return new CompletableFutureWrapper<>(permits.get());
+                default:
+                    throw new UnsupportedOperationException(method.getName());
+            }
+        });
+        RedissonClient redissonClient = proxy(RedissonClient.class, (method, args) -> {
+            switch (method.getName()) {
+                case "getPermitExpirableSemaphore":
+                    return semaphore;
+                case "getId":
+                    return "test";
+                default:
+                    throw new UnsupportedOperationException(method.getName());
+            }
+        });
+        aspect = new RedSemaphoreAspect(redissonClient, observer, Runnable::run, 60000L);
+    }
+
+    @Test
+    void recordsAcquireAndHold() throws Throwable {
+        assertEquals("done", process("limited"));
+
+        assertEquals(1, acquires.size());
+        assertEquals("RedSemaphore:" + RedLockObserver.ACQUIRED, acquires.get(0));
+        assertEquals(1, holds.size());
+        assertEquals(1, released.size());
+        assertEquals(0, observer.getHeldLockCount());
+    }
+
+    @Test
+    void recordsTimeout() {
+        permits.set(0);
+
+        assertThrows(RuntimeException.class, () -> process("limited"));
+
+        assertEquals(1, acquires.size());
+        assertEquals("RedSemaphore:" + RedLockObserver.TIMEOUT, acquires.get(0));
+        assertEquals(0, holds.size());
+    }
+
+    @Test
+    void monoCancelledBeforePermitGrantedReleasesPermit() throws Throwable {
+        Disposable subscription = ((Mono<?>) process("limitedAsync")).subscribe();
+        subscription.dispose();
+
+        granted.complete("permit");
+
+        assertEquals(Collections.singletonList("permit"), released);
+        assertEquals(0, observer.getHeldLockCount());
+    }
+
+    @Test
+    void permitsGaugeReadsRefreshedValue() throws Throwable {
+        process("limited");
+
+        assertEquals(1, gauges.size());
+        assertEquals(1.0, gauges.values().iterator().next().getAsDouble());
+        assertEquals(Collections.singletonMap("test:semaphore", 1), aspect.getAvailablePermits());
+    }
+
+    @RedSemaphore(key = "test:semaphore", permits = 1)
+    String limited() {
+        return "done";
+    }
+
+    @RedSemaphore(key = "test:semaphore", permits = 1, waitTime = 1000)
+    Mono<String> limitedAsync() {
+        return Mono.just("done");
+    }
+
+    private Object process(String methodName) throws Throwable {
+        Method method = RedSemaphoreAspectTest.class.getDeclaredMethod(methodName);
+        return aspect.process(joinPoint(method), method.getAnnotation(RedSemaphore.class));
+    }
+
+    private ProceedingJoinPoint joinPoint(Method method) {
+        MethodSignature signature = proxy(MethodSignature.class, (m, args) -> m.getName().equals("getReturnType") ? method.getReturnType() : method);
+        return proxy(ProceedingJoinPoint.class, (m, args) -> {
+            switch (m.getName()) {
+                case "getSignature":
+                    return signature;
+                case "getArgs":
+                    return new Object[0];
+                case "proceed":
+                    return method.invoke(this);
+                default:
+                    throw new UnsupportedOperationException(m.getName());
+            }
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, Handler handler) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type},
+                (proxy, method, args) -> handler.handle(method, args));
+    }
+
+    @FunctionalInterface
+    private interface Handler {
+
+        Object handle(Method method, Object[] args) throws Exception;
+
+    }
+
+}
@@ -0,0 +1,128 @@
+package top.isopen.commons.springboot.lock;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.redisson.api.RLock;
+import org.redisson.api.RScript;
+import org.redisson.api.RedissonClient;
+import org.redisson.config.Config;
+import top.isopen.commons.springboot.helper.RedisLockNotifier;
+import top.isopen.commons.springboot.helper.RedisLockWaitStrategy;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * {@link RedissonBatchLock} 的测试
+ *
+ * @author TimeChaser
+ * @version 1.0
+ * @since 2026/10/18 16:05
+ */
+class RedissonBatchLockTest {
+
+    private final AtomicInteger attempts = new AtomicInteger();
+    private final List<Object[]> releases = new CopyOnWriteArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        Thread.interrupted();
+    }
+
+    @Test
+    void lockIsNotInterruptible() {
+        RedissonBatchLock lock = newLock(3, new RedisLockWaitStrategy());
+
+        Thread.currentThread().interrupt();
+        lock.lock(-1L, TimeUnit.MILLISECONDS);
+
+        assertEquals(3, attempts.get());
+        assertTrue(Thread.interrupted());
+    }
+
+    @Test
+    void lockInterruptiblyThrowsWhenInterrupted() {
+        RedissonBatchLock lock = newLock(3, new RedisLockWaitStrategy());
+
+        Thread.currentThread().interrupt();
+
+        assertThrows(InterruptedException.class, () -> lock.lockInterruptibly(-1L, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    void waitsWithConfiguredBackoff() throws InterruptedException {
+        RedissonBatchLock lock = newLock(2, new RedisLockWaitStrategy(300, 300, null));
+
+        long start = System.nanoTime();
+        assertTrue(lock.tryLock(1000, -1L, TimeUnit.MILLISECONDS));
+
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) >= 150);
+    }
+
+    @Test
+    void releasePublishesToNotifierChannel() {
+        RedissonBatchLock lock = newLock(1, new RedisLockWaitStrategy(5, 200, new RedisLockNotifier("notify")));
+
+        lock.lock(1000, TimeUnit.MILLISECONDS);
+        lock.unlock();
+
+        assertEquals(1, releases.size());
+        assertEquals("notify", releases.get(0)[3]);
+    }
+
+    /**
+     * 前 acquiredAt - 1 次加锁返回 key b 被占用（剩余 1s），之后加锁成功
+     */
+    private RedissonBatchLock newLock(int acquiredAt, RedisLockWaitStrategy waitStrategy) {
+        RScript script = proxy(RScript.class, (method, args) -> {
+            if (!"eval".equals(method.getName())) {
+                throw new UnsupportedOperationException(method.getName());
+            }
+            String lua = (String) args[2];
+            if (lua.contains("hincrby', KEYS[i], ARGV[2], 1")) {
+                return attempts.incrementAndGet() < acquiredAt ? Arrays.asList(2L, 1000L) : null;
+            }
+            releases.add((Object[]) args[5]);
+            return 0L;
+        });
+        Config config = new Config();
+        RedissonClient redissonClient = proxy(RedissonClient.class, (method, args) -> {
+            switch (method.getName()) {
+                case "getConfig":
+                    return config;
+                case "getId":
+                    return "test";
+                case "getScript":
+                    return script;
+                case "getLock":
+                    return proxy(RLock.class, (m, a) -> null);
+                default:
+                    throw new UnsupportedOperationException(method.getName());
+            }
+        });
+        return new RedissonBatchLock(redissonClient, new String[]{"a", "b"}, waitStrategy);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, Handler handler) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type},
+                (proxy, method, args) -> handler.handle(method, args));
+    }
+
+    @FunctionalInterface
+    private interface Handler {
+
+        Object handle(Method method, Object[] args) throws Exception;
+
+    }
+
+}
@@ -0,0 +1,101 @@
+package top.isopen.commons.springboot.repository.support;
+
+import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import top.isopen.commons.springboot.repository.enums.QueryTypeEnum;
+import top.isopen.commons.springboot.repository.types.OrderBy;
+import top.isopen.commons.springboot.repository.types.Query;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link QueryPlanCache} 与逐个构造条件的对比
+ * <p>
+ * 两者都构造一个 {@link QueryWrapper} 并渲染出 MyBatis 使用的 customSqlSegment；
+ * 查询为 eq、like、ge、IN（长度为 inSize）四个条件加一个排序
+ * <p>
+ * 运行：以 test classpath 执行 main 方法
+ *
+ * @author TimeChaser
+ * @version 1.0
+ * @since 2026/10/18 16:30
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class QueryPlanBenchmark {
+
+    @Param({"3", "16", "200"})
+    private int inSize;
+
+    private final QueryPlanCache queryPlanCache = new QueryPlanCache(QueryPlanCache.DEFAULT_MAXIMUM_SIZE);
+
+    private List<Query<Object>> queryList;
+    private List<OrderBy<Object>> orderByList;
+    private List<Object> ids;
+
+    @Setup
+    public void setUp() {
+        ids = new ArrayList<>(inSize);
+        for (int i = 0; i < inSize; i++) {
+            ids.add((long) i);
+        }
+        queryList = Arrays.asList(
+                Query.builder().type(QueryTypeEnum.EQ).column("tenantId").value(1L).build(),
+                Query.builder().type(QueryTypeEnum.LIKE).column("name").value("chaser").build(),
+                Query.builder().type(QueryTypeEnum.GE).column("createTime").value(20231017L).build(),
+                Query.builder().type(QueryTypeEnum.IN).column("id").value(ids).build());
+        orderByList = Collections.singletonList(OrderBy.builder().asc(false, "createTime", 0).build());
+    }
+
+    @Benchmark
+    public String plan() {
+        QueryWrapper<Object> queryWrapper = new QueryWrapper<>();
+        if (!queryPlanCache.apply(queryWrapper, queryList, orderByList)) {
+            return fill(queryWrapper);
+        }
+        return queryWrapper.getCustomSqlSegment();
+    }
+
+    @Benchmark
+    public String fill() {
+        return fill(new QueryWrapper<>());
+    }
+
+    /**
+     * 与 AbstractRepository 逐个构造条件的方式一致
+     */
+    private String fill(QueryWrapper<Object> queryWrapper) {
+        queryWrapper.eq("`tenant_id`", 1L)
+                .like("`name`", "chaser")
+                .ge("`create_time`", 20231017L)
+                .in("`id`", ids)
+                .orderBy(true, false, "`create_time`");
+        return queryWrapper.getCustomSqlSegment();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(QueryPlanBenchmark.class.getSimpleName()).build()).run();
+    }
+
+}
@@ -0,0 +1,104 @@
+package top.isopen.commons.springboot.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.UnaryOperator;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * {@link NameUtil} 的测试：结果与原先逐个字符 replaceAll 的实现完全一致
+ *
+ * @author TimeChaser
+ * @version 1.0
+ * @since 2026/10/18 17:40
+ */
+class NameUtilTest {
+
+    /**
+     * 固定语料：常见的列名、属性名，以及原实现中替换相互影响的输入
+     */
+    private static final List<String> CORPUS = Arrays.asList(
+            "", "_", "__", "a", "A", "id", "userId", "userID", "user_id", "create_time", "_id", "id_",
+            "tenant_id_", "URL", "aB_c", "user_i_d", "_a__a", "a_.b_c", "a__b", "a___b", "_a_a", "__a_b",
+            "a_1", "a_B", "a_\nb", "a_\n", "a_*", "a_+b", "a_?b", "a_|b", "a_.", "a_ß", "a_é", "a_$",
+            "a_\\", "a_(", "a_[b", "a_{b");
+
+    /**
+     * 穷举的字符集：普通字母、数字、"_"、正则元字符与行终止符
+     */
+    private static final char[] ALPHABET = {'a', 'b', 'I', 'Z', '1', '_', '.', '*', '\n'};
+    private static final int MAX_LENGTH = 5;
+
+    @Test
+    void underlineToHumpMatchesLegacy() {
+        assertEquals("A_A", NameUtil.underlineToHump("_a__a"));
+        assertEquals("a.b.", NameUtil.underlineToHump("a_.b_c"));
+        assertSameAsLegacy(NameUtil::underlineToHump, NameUtilTest::legacyUnderlineToHump);
+    }
+
+    @Test
+    void humpToUnderlineMatchesLegacy() {
+        assertEquals("user_id", NameUtil.humpToUnderline("userId"));
+        assertEquals("user_i_d", NameUtil.humpToUnderline("userID"));
+        assertSameAsLegacy(NameUtil::humpToUnderline, NameUtilTest::legacyHumpToUnderline);
+    }
+
+    private static void assertSameAsLegacy(UnaryOperator<String> actual, UnaryOperator<String> legacy) {
+        List<String> inputs = new ArrayList<>(CORPUS);
+        generate("", inputs);
+        for (String input : inputs) {
+            // 两次调用，第二次命中缓存
+            assertEquals(outcome(legacy, input), outcome(actual, input), input);
+            assertEquals(outcome(legacy, input), outcome(actual, input), input);
+        }
+    }
+
+    private static void generate(String prefix, List<String> inputs) {
+        if (prefix.length() == MAX_LENGTH) {
+            return;
+        }
+        for (char c : ALPHABET) {
+            String input = prefix + c;
+            inputs.add(input);
+            generate(input, inputs);
+        }
+    }
+
+    /**
+     * 转换结果，原实现对部分输入抛出异常（如 "_$"），此时比较异常类型
+     */
+    private static String outcome(UnaryOperator<String> operator, String input) {
+        try {
+            return operator.apply(input);
+        } catch (RuntimeException e) {
+            return e.getClass().getName();
+        }
+    }
+
+    private static String legacyHumpToUnderline(String str) {
+        String regex = "([A-Z])";
+        Matcher matcher = Pattern.compile(regex).matcher(str);
+        while (matcher.find()) {
+            String target = matcher.group();
+            str = str.replaceAll(target, "_" + target.toLowerCase());
+        }
+        return str;
+    }
+
+    private static String legacyUnderlineToHump(String str) {
+        String regex = "_(.)";
+        Matcher matcher = Pattern.compile(regex).matcher(str);
+        while (matcher.find()) {
+            String target = matcher.group(1);
+            str = str.replaceAll("_" + target, target.toUpperCase());
+        }
+        return str;
+    }
+
+}